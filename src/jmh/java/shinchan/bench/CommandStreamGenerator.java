@@ -0,0 +1,199 @@
+package shinchan.bench;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible streams of user commands for load testing.
+ *
+ * <p>Commands are drawn at random according to a weighted {@link Kind} mix. The generator
+ * tracks how many tasks the stream has added and deleted, so {@code mark} and
+ * {@code delete} always refer to a task that exists when the command runs.</p>
+ */
+public class CommandStreamGenerator {
+    private static final DateTimeFormatter DATE_TIME_INPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+
+    /**
+     * Kinds of command in a stream.
+     */
+    public enum Kind {
+        TODO, DEADLINE, EVENT, MARK, DELETE, FIND, ON;
+
+        /**
+         * Returns the kind whose name matches a command word, such as {@code todo}.
+         *
+         * @param word Command word in any case.
+         * @return The matching kind.
+         * @throws IllegalArgumentException If no kind matches.
+         */
+        public static Kind fromWord(String word) {
+            return valueOf(word.trim().toUpperCase());
+        }
+    }
+
+    private final TaskGenerator tasks;
+    private final Random random;
+    private final Kind[] kinds;
+    private final int[] cumulativeWeights;
+    private int size;
+
+    /**
+     * Creates a generator.
+     *
+     * @param mix Relative weight of each kind; kinds left out are never generated.
+     * @param initialSize Number of tasks already in the list the stream will run against.
+     * @param seed Random seed, so that runs are comparable.
+     */
+    public CommandStreamGenerator(Map<Kind, Integer> mix, int initialSize, long seed) {
+        this.tasks = new TaskGenerator(seed);
+        this.random = new Random(seed);
+        this.size = initialSize;
+
+        List<Kind> weighted = new ArrayList<>();
+        List<Integer> totals = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Kind, Integer> entry : new EnumMap<>(mix).entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                totals.add(total);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The command mix must give at least one kind a positive weight.");
+        }
+        this.kinds = weighted.toArray(new Kind[0]);
+        this.cumulativeWeights = totals.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the default mix, weighted towards adding and looking up tasks.
+     *
+     * @return Weights of 25 todo, 15 deadline, 10 event, 15 mark, 10 delete, 15 find and 10 on.
+     */
+    public static Map<Kind, Integer> defaultMix() {
+        Map<Kind, Integer> mix = new EnumMap<>(Kind.class);
+        mix.put(Kind.TODO, 25);
+        mix.put(Kind.DEADLINE, 15);
+        mix.put(Kind.EVENT, 10);
+        mix.put(Kind.MARK, 15);
+        mix.put(Kind.DELETE, 10);
+        mix.put(Kind.FIND, 15);
+        mix.put(Kind.ON, 10);
+        return mix;
+    }
+
+    /**
+     * Parses a mix such as {@code todo:30,find:20,on:10}.
+     *
+     * @param text Comma-separated {@code kind:weight} pairs.
+     * @return The weights.
+     * @throws IllegalArgumentException If a kind or weight is invalid.
+     */
+    public static Map<Kind, Integer> parseMix(String text) {
+        Map<Kind, Integer> mix = new EnumMap<>(Kind.class);
+        for (String pair : text.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like kind:weight, not " + pair);
+            }
+            mix.put(Kind.fromWord(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private Kind nextKind() {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < kinds.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        throw new AssertionError("Draw should be below the total weight");
+    }
+
+    /**
+     * Generates the next command.
+     *
+     * @return A command line together with its kind.
+     */
+    public GeneratedCommand next() {
+        Kind kind = nextKind();
+        // Commands that need an existing task become todos while the list is empty
+        if (size == 0 && (kind == Kind.MARK || kind == Kind.DELETE)) {
+            kind = Kind.TODO;
+        }
+
+        String input;
+        switch (kind) {
+        case TODO:
+            input = "todo " + tasks.nextDescription();
+            size++;
+            break;
+        case DEADLINE:
+            input = "deadline " + tasks.nextDescription() + " /by " + tasks.nextDateTime().format(DATE_TIME_INPUT);
+            size++;
+            break;
+        case EVENT:
+            LocalDateTime start = tasks.nextDateTime();
+            input = "event " + tasks.nextDescription() + " /from " + start.format(DATE_TIME_INPUT)
+                    + " /to " + start.plusHours(1 + random.nextInt(4)).format(DATE_TIME_INPUT);
+            size++;
+            break;
+        case MARK:
+            input = "mark " + (1 + random.nextInt(size));
+            break;
+        case DELETE:
+            input = "delete " + (1 + random.nextInt(size));
+            size--;
+            break;
+        case FIND:
+            input = "find " + TaskGenerator.WORDS[random.nextInt(TaskGenerator.WORDS.length)];
+            break;
+        default:
+            input = "on " + tasks.nextDate();
+            break;
+        }
+        return new GeneratedCommand(kind, input);
+    }
+
+    /**
+     * Generates a number of commands.
+     *
+     * @param count Number of commands.
+     * @return The commands in order.
+     */
+    public List<GeneratedCommand> generate(int count) {
+        List<GeneratedCommand> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(next());
+        }
+        return commands;
+    }
+
+    /**
+     * A generated command line and the kind of command it is.
+     */
+    public static final class GeneratedCommand {
+        private final Kind kind;
+        private final String input;
+
+        GeneratedCommand(Kind kind, String input) {
+            this.kind = kind;
+            this.input = input;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getInput() {
+            return input;
+        }
+    }
+}
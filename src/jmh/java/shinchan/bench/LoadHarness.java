@@ -0,0 +1,346 @@
+package shinchan.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import shinchan.Shinchan;
+import shinchan.bench.CommandStreamGenerator.GeneratedCommand;
+import shinchan.bench.CommandStreamGenerator.Kind;
+import shinchan.exception.ShinchanException;
+import shinchan.metrics.LatencyHistogram;
+
+/**
+ * Replays generated command streams end to end and reports throughput, latency
+ * percentiles, GC pauses and peak heap use.
+ *
+ * <p>The same stream is replayed through {@link Shinchan#getResponse(String)}, timing
+ * each command, and through the CLI loop with standard input and output redirected,
+ * timing the whole run. Each replay starts from a fresh data file holding the same
+ * generated tasks, after a warm-up stream that is not measured.</p>
+ *
+ * <p>Options are given as {@code --name=value}: {@code commands} (default 20000),
+ * {@code warmup} (5000), {@code initial} tasks (1000), {@code seed} (42),
+ * {@code mode} ({@code response}, {@code cli} or {@code both}) and {@code mix}
+ * (e.g. {@code todo:30,find:20,on:10}; see {@link CommandStreamGenerator#defaultMix()}).</p>
+ */
+public class LoadHarness {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final long NANOS_PER_MICRO = 1_000;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+    // GC notifications arrive on another thread shortly after each collection
+    private static final long GC_NOTIFICATION_DELAY_MILLIS = 200;
+
+    private final int commandCount;
+    private final int warmupCount;
+    private final int initialSize;
+    private final long seed;
+    private final Map<Kind, Integer> mix;
+
+    private LoadHarness(int commandCount, int warmupCount, int initialSize, long seed, Map<Kind, Integer> mix) {
+        this.commandCount = commandCount;
+        this.warmupCount = warmupCount;
+        this.initialSize = initialSize;
+        this.seed = seed;
+        this.mix = mix;
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args Options in {@code --name=value} form.
+     * @throws Exception If a data file cannot be prepared.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String mixText = options.remove("mix");
+        LoadHarness harness = new LoadHarness(
+                Integer.parseInt(options.getOrDefault("commands", "20000")),
+                Integer.parseInt(options.getOrDefault("warmup", "5000")),
+                Integer.parseInt(options.getOrDefault("initial", "1000")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                mixText == null ? CommandStreamGenerator.defaultMix() : CommandStreamGenerator.parseMix(mixText));
+        String mode = options.getOrDefault("mode", "both");
+
+        System.out.println(harness.describe());
+        if (!"cli".equals(mode)) {
+            System.out.println(harness.runResponses());
+        }
+        if (!"response".equals(mode)) {
+            System.out.println(harness.runCli());
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Options must look like --name=value, not " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private String describe() {
+        return String.format("Load harness: %d commands after %d warm-up, %d initial tasks, seed %d, mix %s",
+                commandCount, warmupCount, initialSize, seed, mix);
+    }
+
+    /**
+     * Replays the stream through {@link Shinchan#getResponse(String)}, timing each command.
+     */
+    private String runResponses() throws IOException, ShinchanException {
+        Path directory = Files.createTempDirectory("shinchan-load");
+        try {
+            Shinchan shinchan = new Shinchan(prepareDataFile(directory));
+            CommandStreamGenerator generator = new CommandStreamGenerator(mix, initialSize, seed);
+            for (GeneratedCommand command : generator.generate(warmupCount)) {
+                shinchan.getResponse(command.getInput());
+            }
+
+            List<GeneratedCommand> commands = generator.generate(commandCount);
+            LatencyHistogram overall = new LatencyHistogram();
+            Map<Kind, LatencyHistogram> byKind = new EnumMap<>(Kind.class);
+
+            ResourceMonitor monitor = ResourceMonitor.start();
+            long start = System.nanoTime();
+            for (GeneratedCommand command : commands) {
+                long commandStart = System.nanoTime();
+                shinchan.getResponse(command.getInput());
+                long nanos = System.nanoTime() - commandStart;
+                overall.record(nanos);
+                byKind.computeIfAbsent(command.getKind(), kind -> new LatencyHistogram()).record(nanos);
+            }
+            long elapsed = System.nanoTime() - start;
+            String resources = monitor.stop();
+
+            StringBuilder report = new StringBuilder("[response] ")
+                    .append(formatThroughput(commands.size(), elapsed)).append('\n')
+                    .append("  all       ").append(formatLatencies(overall)).append('\n');
+            for (Map.Entry<Kind, LatencyHistogram> entry : byKind.entrySet()) {
+                String name = entry.getKey().name().toLowerCase(Locale.ROOT);
+                report.append(String.format("  %-9s ", name)).append(formatLatencies(entry.getValue())).append('\n');
+            }
+            return report.append("  ").append(resources).toString();
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Replays the stream through the CLI loop with redirected standard streams, timing the whole run.
+     * Per-command latencies are not visible from outside the loop, so only throughput is reported.
+     */
+    private String runCli() throws IOException, ShinchanException {
+        Path directory = Files.createTempDirectory("shinchan-load");
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        String originalDataFile = System.getProperty("shinchan.dataFile");
+        try {
+            CommandStreamGenerator generator = new CommandStreamGenerator(mix, initialSize, seed);
+            String warmup = toScript(generator.generate(warmupCount));
+            List<GeneratedCommand> commands = generator.generate(commandCount);
+            String script = toScript(commands);
+
+            // The warm-up run uses its own copy of the data so the measured run starts from the same tasks
+            runCliScript(prepareDataFile(directory.resolve("warmup")), warmup,
+                    new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+
+            String dataFile = prepareDataFile(directory.resolve("measured"));
+            CountingOutputStream output = new CountingOutputStream();
+            ResourceMonitor monitor = ResourceMonitor.start();
+            long start = System.nanoTime();
+            runCliScript(dataFile, script, new PrintStream(output, false, StandardCharsets.UTF_8));
+            long elapsed = System.nanoTime() - start;
+            String resources = monitor.stop();
+
+            return "[cli] " + formatThroughput(commands.size(), elapsed)
+                    + String.format(", %.1f MB of output", (double) output.count.get() / BYTES_PER_MEGABYTE)
+                    + "\n  " + resources;
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+            if (originalDataFile == null) {
+                System.clearProperty("shinchan.dataFile");
+            } else {
+                System.setProperty("shinchan.dataFile", originalDataFile);
+            }
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void runCliScript(String dataFile, String script, PrintStream output) {
+        System.setProperty("shinchan.dataFile", dataFile);
+        System.setIn(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+        System.setOut(output);
+        Shinchan.main(new String[0]);
+        System.out.flush();
+    }
+
+    private String prepareDataFile(Path directory) throws IOException, ShinchanException {
+        Files.createDirectories(directory);
+        String dataFile = directory.resolve("shinchan.txt").toString();
+        new TaskGenerator(seed).writeDataFile(dataFile, initialSize);
+        return dataFile;
+    }
+
+    private static String toScript(List<GeneratedCommand> commands) {
+        StringBuilder script = new StringBuilder();
+        for (GeneratedCommand command : commands) {
+            script.append(command.getInput()).append('\n');
+        }
+        return script.append("bye\n").toString();
+    }
+
+    private static String formatThroughput(int count, long nanos) {
+        double seconds = nanos / 1e9;
+        return String.format("%d commands in %.2f s: %.0f commands/s", count, seconds, count / seconds);
+    }
+
+    private static String formatLatencies(LatencyHistogram histogram) {
+        StringBuilder line = new StringBuilder(String.format("n=%-7d", histogram.getCount()));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" p%s=%dus", formatPercentile(percentile),
+                    histogram.getPercentile(percentile) / NANOS_PER_MICRO));
+        }
+        return line.append(String.format(" max=%dus", histogram.getMax() / NANOS_PER_MICRO)).toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Counts bytes written without keeping them.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void write(int b) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count.addAndGet(length);
+        }
+    }
+
+    /**
+     * Records stop-the-world GC pauses and peak heap use between {@link #start()} and {@link #stop()}.
+     */
+    private static final class ResourceMonitor implements NotificationListener {
+        private final List<Long> pauseMillis = new ArrayList<>();
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+        static ResourceMonitor start() {
+            System.gc();
+            ResourceMonitor monitor = new ResourceMonitor();
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    NotificationEmitter emitter = (NotificationEmitter) collector;
+                    emitter.addNotificationListener(monitor, null, null);
+                    monitor.emitters.add(emitter);
+                }
+            }
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+            return monitor;
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            // Concurrent cycles run alongside the application and do not pause it
+            if (info.getGcAction().contains("concurrent")) {
+                return;
+            }
+            synchronized (pauseMillis) {
+                pauseMillis.add(info.getGcInfo().getDuration());
+            }
+        }
+
+        /**
+         * Stops monitoring and returns a summary.
+         *
+         * <p>Peak heap is the sum of each heap pool's peak, an upper bound on the true
+         * peak since the pools need not peak at the same moment.</p>
+         */
+        String stop() {
+            long peakBytes = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peakBytes += pool.getPeakUsage().getUsed();
+                }
+            }
+
+            try {
+                Thread.sleep(GC_NOTIFICATION_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Already removed
+                }
+            }
+
+            long total = 0;
+            long max = 0;
+            int count;
+            synchronized (pauseMillis) {
+                count = pauseMillis.size();
+                for (long pause : pauseMillis) {
+                    total += pause;
+                    max = Math.max(max, pause);
+                }
+            }
+            return String.format("GC: %d pauses, %d ms total, %d ms max; peak heap at most %d MB",
+                    count, total, max, peakBytes / BYTES_PER_MEGABYTE);
+        }
+    }
+}
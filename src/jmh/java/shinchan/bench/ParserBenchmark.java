@@ -0,0 +1,43 @@
+package shinchan.bench;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import shinchan.command.Command;
+import shinchan.exception.ShinchanException;
+import shinchan.parser.Parser;
+
+/**
+ * Benchmarks for {@link Parser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+
+    private String deadlineInput = "deadline submit report /by 2026-01-10 1800";
+    private String deleteInput = "delete 2";
+    private String dateTime = "2026-01-10 1800";
+
+    @Benchmark
+    public Command parse() throws ShinchanException {
+        return Parser.parse(deadlineInput);
+    }
+
+    @Benchmark
+    public Command parseDelete() throws ShinchanException {
+        return Parser.parse(deleteInput);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() throws ShinchanException {
+        return Parser.parseDateTime(dateTime, "error");
+    }
+}
@@ -0,0 +1,38 @@
+package shinchan.bench;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+
+/**
+ * Benchmarks for the {@code toString} rendering of dated tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RenderBenchmark {
+
+    private final Deadlines deadline =
+            new Deadlines("submit report", LocalDateTime.of(2026, 1, 15, 18, 30));
+    private final Events event = new Events("camp",
+            LocalDateTime.of(2026, 1, 10, 9, 0), LocalDateTime.of(2026, 1, 12, 18, 0));
+
+    @Benchmark
+    public String deadlineToString() {
+        return deadline.toString();
+    }
+
+    @Benchmark
+    public String eventToString() {
+        return event.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package shinchan.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import shinchan.Shinchan;
+import shinchan.exception.ShinchanException;
+
+/**
+ * End-to-end benchmarks for {@link Shinchan#getResponse(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Path directory;
+    private Shinchan shinchan;
+    private String onCommand;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ShinchanException {
+        directory = Files.createTempDirectory("shinchan-bench");
+        String dataFile = directory.resolve("shinchan.txt").toString();
+
+        TaskGenerator generator = new TaskGenerator(42);
+        generator.writeDataFile(dataFile, size);
+        onCommand = "on " + generator.nextDate();
+        shinchan = new Shinchan(dataFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String find() {
+        return shinchan.getResponse("find report");
+    }
+
+    @Benchmark
+    public String on() {
+        return shinchan.getResponse(onCommand);
+    }
+
+    /**
+     * Adds and then removes a task, so each invocation pays for two saves
+     * while leaving the list at its original size.
+     */
+    @Benchmark
+    public String addAndDelete() {
+        shinchan.getResponse("todo benchmark task");
+        return shinchan.getResponse("delete " + (size + 1));
+    }
+}
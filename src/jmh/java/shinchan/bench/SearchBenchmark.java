@@ -0,0 +1,57 @@
+package shinchan.bench;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import shinchan.TaskList;
+import shinchan.search.FuzzyIndex;
+import shinchan.task.Task;
+
+/**
+ * Benchmarks for {@link TaskList#find(String)}, fuzzy search and the {@code on} date scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TaskList tasks;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() {
+        TaskGenerator generator = new TaskGenerator(42);
+        tasks = new TaskList(generator.generate(size));
+        date = generator.nextDate();
+        // Build the fuzzy index outside the measured calls
+        tasks.findFuzzy("report", FuzzyIndex.AUTO);
+    }
+
+    @Benchmark
+    public List<Task> find() {
+        return tasks.find("report");
+    }
+
+    @Benchmark
+    public List<Task> findFuzzy() {
+        return tasks.findFuzzy("reprot", FuzzyIndex.AUTO);
+    }
+
+    @Benchmark
+    public List<Task> findOn() {
+        return tasks.findOn(date);
+    }
+}
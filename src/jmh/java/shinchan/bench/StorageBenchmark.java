@@ -0,0 +1,68 @@
+package shinchan.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.Storage;
+import shinchan.task.Task;
+
+/**
+ * Benchmarks for {@link Storage#load()} and {@link Storage#save(List)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ShinchanException {
+        directory = Files.createTempDirectory("shinchan-bench");
+        tasks = new TaskGenerator(42).generate(size);
+
+        loadStorage = new Storage(directory.resolve("load.txt").toString());
+        loadStorage.save(tasks);
+        saveStorage = new Storage(directory.resolve("save.txt").toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Task> load() throws ShinchanException {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() throws ShinchanException {
+        saveStorage.save(tasks);
+    }
+}
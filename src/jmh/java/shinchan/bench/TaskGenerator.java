@@ -0,0 +1,123 @@
+package shinchan.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.Storage;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Generates reproducible synthetic task lists for benchmarks.
+ */
+public class TaskGenerator {
+    /** First day that generated deadlines and events may fall on. */
+    public static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+    /** Number of days that generated deadlines and events are spread over. */
+    public static final int DAY_SPAN = 365;
+
+    /** Words that generated descriptions are made of. */
+    public static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "submit", "report", "buy",
+        "milk", "call", "mom", "review", "code", "lecture", "tutorial", "gym",
+        "plan", "trip", "pay", "bills", "clean", "room", "write", "essay",
+    };
+
+    private final Random random;
+
+    /**
+     * Creates a generator with a fixed seed so that runs are comparable.
+     *
+     * @param seed Random seed.
+     */
+    public TaskGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a mix of roughly 40% todos, 30% deadlines and 30% events,
+     * about half of which are marked as done.
+     *
+     * @param count Number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public List<Task> generate(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(nextTask());
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates tasks and saves them to the given data file.
+     *
+     * @param filePath Data file to write.
+     * @param count Number of tasks to generate.
+     * @throws ShinchanException If the file cannot be written.
+     */
+    public void writeDataFile(String filePath, int count) throws ShinchanException {
+        new Storage(filePath).save(generate(count));
+    }
+
+    /**
+     * Returns a random date within the generated range.
+     *
+     * @return A date between {@link #FIRST_DAY} and {@link #DAY_SPAN} days later.
+     */
+    public LocalDate nextDate() {
+        return FIRST_DAY.plusDays(random.nextInt(DAY_SPAN));
+    }
+
+    private Task nextTask() {
+        String description = nextDescription();
+        int kind = random.nextInt(10);
+
+        Task task;
+        if (kind < 4) {
+            task = new Todos(description);
+        } else if (kind < 7) {
+            task = new Deadlines(description, nextDateTime());
+        } else {
+            LocalDateTime start = nextDateTime();
+            task = new Events(description, start, start.plusHours(1 + random.nextInt(48)));
+        }
+
+        if (random.nextBoolean()) {
+            task.markAsDone(nextDate());
+        }
+        return task;
+    }
+
+    /**
+     * Returns a random date-time within the generated range, on a quarter hour.
+     *
+     * @return A date-time on a day returned by {@link #nextDate()}.
+     */
+    public LocalDateTime nextDateTime() {
+        return nextDate().atTime(random.nextInt(24), random.nextInt(4) * 15);
+    }
+
+    /**
+     * Returns a random description of two to five common words.
+     *
+     * @return A description such as {@code submit project report}.
+     */
+    public String nextDescription() {
+        int length = 2 + random.nextInt(4);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+}
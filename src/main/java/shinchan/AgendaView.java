@@ -0,0 +1,202 @@
+package shinchan;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Keeps the deadlines and events of each day from today over a fixed number of days,
+ * ordered by start time, ties in insertion order.
+ *
+ * <p>Each change to the list patches only the days the changed task falls on, so reading a
+ * day is a walk over its own tasks. When the date moves on, days that have passed are
+ * dropped and only the newly visible days are filled from the list. Entries for plain
+ * tasks are the tasks themselves and show their current status; recurring tasks contribute
+ * copies of their occurrences, which are rebuilt when an occurrence or the tags change.</p>
+ */
+class AgendaView implements TaskListListener {
+
+    /**
+     * A task shown on one day, with the start and sequence number it is ordered by.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final Task shown;
+        private final LocalDateTime start;
+        private final long sequence;
+
+        Entry(Task shown, LocalDateTime start, long sequence) {
+            this.shown = shown;
+            this.start = start;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final List<Task> tasks;
+    private final int dayCount;
+    private final List<TreeSet<Entry>> days;
+    private final Map<Task, Long> sequenceOf = new IdentityHashMap<>();
+    private LocalDate firstDay;
+    private long nextSequence;
+
+    /**
+     * Creates a view of the given tasks.
+     *
+     * @param tasks The live list of tasks, read again only when the date moves on.
+     * @param firstDay The first day to show, normally today.
+     * @param dayCount Number of days to keep.
+     */
+    AgendaView(List<Task> tasks, LocalDate firstDay, int dayCount) {
+        this.tasks = tasks;
+        this.dayCount = dayCount;
+        this.days = new ArrayList<>(dayCount);
+        this.firstDay = firstDay;
+        for (int i = 0; i < dayCount; i++) {
+            days.add(new TreeSet<>());
+        }
+        for (Task task : tasks) {
+            sequenceOf.put(task, nextSequence++);
+        }
+        fill(0, dayCount);
+    }
+
+    /**
+     * Returns the tasks of each day, starting with {@code today}.
+     *
+     * @param today The current date; if it has moved on, the view moves with it.
+     * @param count Number of days to return, at most the number kept.
+     * @return One list per day, each ordered by start time.
+     */
+    List<List<Task>> getDays(LocalDate today, int count) {
+        assert count <= dayCount : "Cannot return more days than are kept";
+        moveTo(today);
+        List<List<Task>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Task> day = new ArrayList<>(days.get(i).size());
+            for (Entry entry : days.get(i)) {
+                day.add(entry.shown);
+            }
+            result.add(day);
+        }
+        return result;
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        long sequence = nextSequence++;
+        sequenceOf.put(task, sequence);
+        place(task, sequence, 0, dayCount, true);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        Long sequence = sequenceOf.remove(task);
+        if (sequence != null) {
+            place(task, sequence, 0, dayCount, false);
+        }
+    }
+
+    @Override
+    public void occurrenceStatusChanged(int index, Recurring task, int occurrence) {
+        refresh(task);
+    }
+
+    @Override
+    public void taskTagsChanged(int index, Task task) {
+        refresh(task);
+    }
+
+    /**
+     * Rebuilds the occurrence copies of a recurring task, keeping its place among ties.
+     */
+    private void refresh(Task task) {
+        Long sequence = sequenceOf.get(task);
+        if (task instanceof Recurring && sequence != null) {
+            place(task, sequence, 0, dayCount, false);
+            place(task, sequence, 0, dayCount, true);
+        }
+    }
+
+    private void moveTo(LocalDate today) {
+        long shift = ChronoUnit.DAYS.between(firstDay, today);
+        if (shift == 0) {
+            return;
+        }
+        firstDay = today;
+        if (shift < 0 || shift >= dayCount) {
+            for (TreeSet<Entry> day : days) {
+                day.clear();
+            }
+            fill(0, dayCount);
+            return;
+        }
+        for (int i = 0; i < shift; i++) {
+            days.remove(0);
+            days.add(new TreeSet<>());
+        }
+        fill(dayCount - (int) shift, dayCount);
+    }
+
+    /**
+     * Adds every task in the list to the days with offsets from {@code from} to {@code to}.
+     */
+    private void fill(int from, int to) {
+        for (Task task : tasks) {
+            place(task, sequenceOf.get(task), from, to, true);
+        }
+    }
+
+    /**
+     * Adds a task to, or removes it from, the days with offsets from {@code from} to {@code to}.
+     */
+    private void place(Task task, long sequence, int from, int to, boolean isAdding) {
+        LocalDate first = firstDay.plusDays(from);
+        LocalDate last = firstDay.plusDays(to - 1);
+        if (task instanceof Recurring) {
+            for (Task occurrence : ((Recurring) task).getOccurrencesBetween(first, last)) {
+                placeSingle(occurrence, sequence, first, last, isAdding);
+            }
+        } else if (task instanceof Deadlines || task instanceof Events) {
+            placeSingle(task, sequence, first, last, isAdding);
+        }
+    }
+
+    private void placeSingle(Task task, long sequence, LocalDate first, LocalDate last, boolean isAdding) {
+        LocalDateTime start;
+        LocalDate end;
+        if (task instanceof Events) {
+            start = ((Events) task).getStartDateTime();
+            end = ((Events) task).getEndDateTime().toLocalDate();
+        } else {
+            start = ((Deadlines) task).getDueDateTime();
+            end = start.toLocalDate();
+        }
+
+        LocalDate day = start.toLocalDate().isBefore(first) ? first : start.toLocalDate();
+        LocalDate stop = end.isAfter(last) ? last : end;
+        Entry entry = new Entry(task, start, sequence);
+        for (; !day.isAfter(stop); day = day.plusDays(1)) {
+            TreeSet<Entry> entries = days.get((int) ChronoUnit.DAYS.between(firstDay, day));
+            if (isAdding) {
+                entries.add(entry);
+            } else {
+                entries.remove(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package shinchan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Loads tasks from storage on a background thread.
+ *
+ * <p>While loading is in progress, {@link #snapshot()} returns a copy of the tasks
+ * parsed so far, which is safe for read-only commands. {@link #await()} blocks
+ * until the whole file has been read.</p>
+ */
+class AsyncTaskLoader {
+
+    /**
+     * Streams tasks to a consumer, such as {@code Storage::load}.
+     */
+    interface TaskSource {
+        void load(Consumer<Task> consumer) throws ShinchanException;
+    }
+
+    private final List<Task> loaded = new ArrayList<>();
+    private final CompletableFuture<TaskList> result = new CompletableFuture<>();
+
+    /**
+     * Starts loading tasks from the given source.
+     *
+     * @param source Source to load from.
+     */
+    AsyncTaskLoader(TaskSource source) {
+        Thread thread = new Thread(() -> load(source), "shinchan-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load(TaskSource source) {
+        try {
+            source.load(this::addLoaded);
+            synchronized (this) {
+                result.complete(new TaskList(loaded));
+                loaded.clear();
+            }
+        } catch (ShinchanException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private synchronized void addLoaded(Task task) {
+        loaded.add(task);
+    }
+
+    /**
+     * Returns a copy of the tasks loaded so far, if loading is still in progress.
+     *
+     * @return A task list holding a prefix of the tasks on disk, or {@code null}
+     *         if loading has finished and {@link #await()} should be used instead.
+     */
+    synchronized TaskList snapshot() {
+        if (result.isDone()) {
+            return null;
+        }
+        return new TaskList(loaded);
+    }
+
+    /**
+     * Waits for loading to finish.
+     *
+     * @return The fully loaded task list.
+     * @throws ShinchanException If the tasks could not be loaded.
+     */
+    TaskList await() throws ShinchanException {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ShinchanException) {
+                throw (ShinchanException) e.getCause();
+            }
+            throw new ShinchanException("Error loading data from file.");
+        }
+    }
+}
@@ -2,11 +2,14 @@ package shinchan;
 
 import javafx.application.Application;
 
+import shinchan.metrics.FlightRecording;
+
 /**
  * A launcher class to workaround classpath issues.
  */
 public class Launcher {
     public static void main(String[] args) {
+        FlightRecording.startIfRequested();
         Application.launch(Main.class, args);
     }
 }
@@ -3,15 +3,19 @@ package shinchan;
 import java.io.IOException;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
+import shinchan.metrics.StartupTimer;
+
 /**
  * A GUI for Duke using FXML.
  */
 public class Main extends Application {
+    private static final String exitAfterStartupProperty = "shinchan.exitAfterStartup";
 
     private Shinchan shinchan = new Shinchan();
 
@@ -24,6 +28,12 @@ public class Main extends Application {
             stage.setScene(scene);
             fxmlLoader.<MainWindow>getController().setShinchan(shinchan);
             stage.show();
+            StartupTimer.report("first frame");
+
+            // Used by training runs that only need the startup path to be exercised
+            if (Boolean.getBoolean(exitAfterStartupProperty)) {
+                Platform.runLater(Platform::exit);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -1,5 +1,6 @@
 package shinchan;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -7,6 +8,9 @@ import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+
+import shinchan.metrics.RenderEvent;
+
 /**
  * Controller for the main GUI.
  */
@@ -22,17 +26,22 @@ public class MainWindow extends AnchorPane {
 
     private Shinchan shinchan;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.png"));
-    private Image shinchanImage = new Image(this.getClass().getResourceAsStream("/images/shinchan.png"));
+    // Created on first use and decoded in the background, so neither holds up the first frame
+    private Image userImage;
+    private Image shinchanImage;
 
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
     }
 
-    /** Injects the Duke instance */
+    /** Injects the Duke instance and shows its welcome message */
     public void setShinchan(Shinchan d) {
         shinchan = d;
+        dialogContainer.getChildren().add(
+                DialogBox.getShinchanDialog(shinchan.getWelcomeMessage(), getShinchanImage()));
+        shinchan.startReminders(message -> Platform.runLater(() -> dialogContainer.getChildren().add(
+                DialogBox.getShinchanDialog(message, getShinchanImage()))));
     }
 
     /**
@@ -41,12 +50,43 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     private void handleUserInput() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+
         String input = userInput.getText();
         String response = shinchan.getResponse(input);
         dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getShinchanDialog(response, shinchanImage)
+                DialogBox.getUserDialog(input, getUserImage()),
+                DialogBox.getShinchanDialog(response, getShinchanImage())
         );
         userInput.clear();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.inputLength = input.length();
+            event.responseLength = response.length();
+            event.commit();
+        }
+    }
+
+    private Image getUserImage() {
+        if (userImage == null) {
+            userImage = loadInBackground("/images/user.png");
+        }
+        return userImage;
+    }
+
+    private Image getShinchanImage() {
+        if (shinchanImage == null) {
+            shinchanImage = loadInBackground("/images/shinchan.png");
+        }
+        return shinchanImage;
+    }
+
+    /**
+     * Starts decoding an image on a background thread; image views show it once it is ready.
+     */
+    private Image loadInBackground(String resource) {
+        return new Image(this.getClass().getResource(resource).toExternalForm(), true);
     }
 }
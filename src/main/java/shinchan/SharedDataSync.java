@@ -0,0 +1,461 @@
+package shinchan;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.Journal;
+import shinchan.storage.JournalEntry;
+import shinchan.storage.Storage;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Lets several processes share one data file.
+ *
+ * <p>Writes happen under an exclusive {@link FileLock} on a {@code .lock} file next to
+ * the data file. File locks are held by the whole JVM, so instances in the same JVM also
+ * take an in-process lock for the file first. Every change is also appended to a {@link Journal}, and a
+ * {@link WatchService} thread applies changes journalled by other processes to the
+ * in-memory {@link TaskList} as they arrive. The data file itself is only reloaded
+ * when another process compacts the journal.</p>
+ *
+ * <p>Errors while applying other processes' changes do not stop the caller, so they are
+ * kept as warnings for the command thread to show through {@link #takeWarnings()}.</p>
+ */
+class SharedDataSync implements TaskListListener {
+    private static final long COMPACT_THRESHOLD_BYTES = 1024 * 1024;
+    private static final Map<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * An action that may fail with a {@link ShinchanException}.
+     */
+    interface Action {
+        void run() throws ShinchanException;
+    }
+
+    /**
+     * The in-process and file locks on the data file, released together.
+     */
+    private static final class DataFileLock implements AutoCloseable {
+        private final ReentrantLock processLock;
+        private final FileChannel channel;
+        private final FileLock fileLock;
+
+        private DataFileLock(ReentrantLock processLock, FileChannel channel, FileLock fileLock) {
+            this.processLock = processLock;
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        boolean isValid() {
+            return processLock.isHeldByCurrentThread() && fileLock.isValid();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                // Closing the channel releases the file lock
+                channel.close();
+            } finally {
+                processLock.unlock();
+            }
+        }
+    }
+
+    private final Storage storage;
+    private final Journal journal;
+    private final Path lockPath;
+    private final List<JournalEntry> pending = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    private TaskList tasks;
+    private long generation;
+    private long offset;
+    private boolean isReplaying;
+    private WatchService watchService;
+    private boolean isClosed;
+
+    /**
+     * Creates a sync for the given data file.
+     *
+     * @param storage Storage for the data file.
+     * @param dataFilePath Path to the data file; the journal and lock file are placed next to it.
+     */
+    SharedDataSync(Storage storage, String dataFilePath) {
+        this.storage = storage;
+        this.journal = new Journal(dataFilePath + ".journal");
+        this.lockPath = Path.of(dataFilePath + ".lock");
+    }
+
+    /**
+     * Loads the data file under the file lock and remembers the matching journal position,
+     * so that only later changes are replayed.
+     *
+     * @param consumer Receives each loaded task in file order.
+     * @throws ShinchanException If the data file or journal cannot be read.
+     */
+    void load(Consumer<Task> consumer) throws ShinchanException {
+        try (DataFileLock lock = lockDataFile(true)) {
+            assert lock.isValid() : "Data file lock should be held while loading";
+            loadOrPreserve(consumer);
+            long loadedGeneration = journal.open();
+            long loadedOffset = journal.size();
+            synchronized (this) {
+                generation = loadedGeneration;
+                offset = loadedOffset;
+            }
+        } catch (IOException e) {
+            throw new ShinchanException("Error locking data file.");
+        }
+    }
+
+    /**
+     * Loads the data file, renaming it out of the way if it cannot be read so that the
+     * empty task list started in its place does not overwrite it on the next save.
+     */
+    private void loadOrPreserve(Consumer<Task> consumer) throws ShinchanException {
+        try {
+            storage.load(consumer);
+        } catch (ShinchanException e) {
+            String keptAs = storage.preserveUnreadable();
+            if (keptAs == null) {
+                throw e;
+            }
+            throw new ShinchanException(e.getMessage() + " It was kept as " + keptAs
+                    + " and a new task list was started.");
+        }
+    }
+
+    /**
+     * Starts tracking the loaded task list and watching for changes from other processes.
+     *
+     * @param loadedTasks The task list returned by {@link #load(Consumer)}.
+     */
+    synchronized void attach(TaskList loadedTasks) {
+        tasks = loadedTasks;
+        tasks.addListener(this);
+
+        Thread watcher = new Thread(this::watch, "shinchan-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching for changes from other processes. The task list is not changed again.
+     *
+     * @throws ShinchanException If the watch cannot be closed.
+     */
+    synchronized void close() throws ShinchanException {
+        isClosed = true;
+        tasks = null;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                throw new ShinchanException("Error closing the watch on the data file.");
+            }
+        }
+    }
+
+    /**
+     * Returns the errors met while applying changes from other processes since the last call.
+     *
+     * @return Error messages, oldest first.
+     */
+    synchronized List<String> takeWarnings() {
+        List<String> taken = new ArrayList<>(warnings);
+        warnings.clear();
+        return taken;
+    }
+
+    /**
+     * Runs a read-only action, first applying any changes from other processes.
+     *
+     * @param action The action to run.
+     * @throws ShinchanException If the action fails.
+     */
+    synchronized void runShared(Action action) throws ShinchanException {
+        catchUpQuietly();
+        action.run();
+    }
+
+    /**
+     * Runs a mutating action while holding the file lock. Changes from other processes
+     * are applied first, and the action's own changes are journalled afterwards. If no task
+     * list is attached, e.g. because loading failed, the lock is still taken so the action
+     * cannot overwrite another process's save.
+     *
+     * @param action The action to run; it is expected to save the data file itself.
+     * @throws ShinchanException If the action fails or the data file cannot be locked.
+     */
+    synchronized void runExclusive(Action action) throws ShinchanException {
+        try (DataFileLock lock = lockDataFile(true)) {
+            assert lock.isValid() : "Data file lock should be held while writing";
+            if (tasks == null) {
+                action.run();
+                return;
+            }
+            catchUp(true);
+            try {
+                action.run();
+            } finally {
+                flushPending();
+            }
+        } catch (IOException e) {
+            throw new ShinchanException("Error locking data file.");
+        }
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        record(JournalEntry.add(index, task));
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        record(JournalEntry.remove(index));
+    }
+
+    @Override
+    public void taskStatusChanged(int index, Task task) {
+        record(JournalEntry.statusChanged(index, task));
+    }
+
+    @Override
+    public void occurrenceStatusChanged(int index, Recurring task, int occurrence) {
+        record(JournalEntry.occurrenceChanged(index, occurrence, task.isOccurrenceDone(occurrence)));
+    }
+
+    @Override
+    public void taskTagsChanged(int index, Task task) {
+        record(JournalEntry.tagsChanged(index, task.getTags()));
+    }
+
+    private void record(JournalEntry entry) {
+        if (!isReplaying) {
+            pending.add(entry);
+        }
+    }
+
+    private void flushPending() throws ShinchanException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<JournalEntry> entries = new ArrayList<>(pending);
+        pending.clear();
+        offset = journal.append(entries);
+
+        // The data file was saved by the action, so it already holds every journalled change
+        if (offset > COMPACT_THRESHOLD_BYTES) {
+            generation = journal.reset();
+            offset = journal.size();
+        }
+    }
+
+    /**
+     * Applies changes journalled by other processes since the last read.
+     * Reloads the whole data file only if the journal was compacted in the meantime, or if
+     * an entry cannot be read; the failure is then reported once as a warning.
+     *
+     * @param hasLock Whether the caller already holds the file lock.
+     */
+    private void catchUp(boolean hasLock) throws ShinchanException {
+        if (journal.readGeneration() != generation) {
+            if (hasLock) {
+                reloadLocked();
+            } else {
+                reload(false);
+            }
+            return;
+        }
+
+        isReplaying = true;
+        try {
+            offset = journal.readFrom(offset, this::apply);
+        } catch (ShinchanException e) {
+            // Every journalled change is also in the data file, so reloading skips past the bad entry
+            if (hasLock) {
+                reloadLocked();
+            } else {
+                reload(true);
+            }
+            warnings.add(e.getMessage() + " The task list was reloaded from the data file.");
+        } finally {
+            isReplaying = false;
+        }
+    }
+
+    private void catchUpQuietly() {
+        if (tasks == null) {
+            return;
+        }
+        try {
+            catchUp(false);
+        } catch (ShinchanException e) {
+            warnings.add(e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the data file while holding the file lock.
+     *
+     * @param isWaiting Whether to wait for the lock; otherwise nothing is reloaded if it is held.
+     */
+    private void reload(boolean isWaiting) throws ShinchanException {
+        try (DataFileLock lock = lockDataFile(isWaiting)) {
+            // If another process is mid-write, its journal update will trigger another catch-up
+            if (lock != null) {
+                reloadLocked();
+            }
+        } catch (IOException e) {
+            throw new ShinchanException("Error locking data file.");
+        }
+    }
+
+    private void reloadLocked() throws ShinchanException {
+        List<Task> reloaded = new ArrayList<>();
+        storage.load(reloaded::add);
+        generation = journal.open();
+        offset = journal.size();
+
+        isReplaying = true;
+        try {
+            tasks.replaceAll(reloaded);
+        } finally {
+            isReplaying = false;
+        }
+    }
+
+    private void apply(JournalEntry entry) {
+        int index = entry.getIndex();
+        boolean isValidIndex = index >= 0 && index < tasks.size();
+
+        switch (entry.getType()) {
+        case ADD:
+            tasks.add(entry.getTask());
+            break;
+        case REMOVE:
+            if (isValidIndex) {
+                tasks.remove(index);
+            }
+            break;
+        case MARK:
+            if (isValidIndex && !tasks.get(index).isDone()) {
+                tasks.markAsDone(index, entry.getDoneDate());
+            }
+            break;
+        case UNMARK:
+            if (isValidIndex && tasks.get(index).isDone()) {
+                tasks.markAsUndone(index);
+            }
+            break;
+        case OCCURRENCE:
+            if (isValidIndex && tasks.get(index) instanceof Recurring) {
+                tasks.markOccurrence(index, entry.getOccurrence(), entry.isOccurrenceDone());
+            }
+            break;
+        case TAGS:
+            if (isValidIndex) {
+                tasks.setTags(index, entry.getTags());
+            }
+            break;
+        default:
+            assert false : "Unknown journal entry type";
+        }
+    }
+
+    private void watch() {
+        Path journalPath = journal.getPath().toAbsolutePath();
+        Path directory = journalPath.getParent();
+        Path journalName = journalPath.getFileName();
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            synchronized (this) {
+                if (isClosed) {
+                    return;
+                }
+                this.watchService = watchService;
+            }
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isJournalChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    isJournalChanged |= journalName.equals(event.context());
+                }
+                if (isJournalChanged) {
+                    synchronized (this) {
+                        catchUpQuietly();
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (IOException | ClosedWatchServiceException e) {
+            synchronized (this) {
+                if (!isClosed) {
+                    warnings.add("Stopped watching for changes from other instances.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes the in-process lock and then the file lock on the data file.
+     *
+     * @param isWaiting Whether to wait for the locks if another instance holds them.
+     * @return The held locks, or {@code null} if not waiting and either lock is held elsewhere.
+     */
+    private DataFileLock lockDataFile(boolean isWaiting) throws IOException {
+        ReentrantLock processLock = PROCESS_LOCKS.computeIfAbsent(lockPath.toAbsolutePath().normalize(),
+                path -> new ReentrantLock());
+        if (isWaiting) {
+            processLock.lock();
+        } else if (!processLock.tryLock()) {
+            return null;
+        }
+
+        FileChannel channel = null;
+        try {
+            Path parent = lockPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                parent.toFile().mkdirs();
+            }
+            channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fileLock = isWaiting ? channel.lock() : channel.tryLock();
+            if (fileLock != null) {
+                return new DataFileLock(processLock, channel, fileLock);
+            }
+            channel.close();
+            processLock.unlock();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            processLock.unlock();
+            throw e;
+        }
+    }
+}
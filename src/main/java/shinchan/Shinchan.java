@@ -1,17 +1,21 @@
 package shinchan;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
+import shinchan.command.Archive;
+import shinchan.command.Command;
+import shinchan.command.CommandContext;
 import shinchan.exception.ShinchanException;
+import shinchan.metrics.CommandEvent;
+import shinchan.metrics.FlightRecording;
+import shinchan.metrics.Metrics;
+import shinchan.metrics.StartupTimer;
 import shinchan.parser.Parser;
 import shinchan.storage.Storage;
-import shinchan.task.Deadlines;
-import shinchan.task.Events;
-import shinchan.task.Task;
-import shinchan.task.Todos;
 import shinchan.ui.Ui;
 
 /**
@@ -22,355 +26,358 @@ public class Shinchan {
 
     private boolean isExit = false;
 
-    private static final String dataFilePath = "./data/shinchan.txt";
-
-    private static final String messageEmptyInput =
-            "Input cannot be empty. Please enter a valid command.";
-    private static final String messageUnknownCommand =
-            "I'm sorry, but I don't know what that means.";
-    private static final String messageInvalidTaskNumber =
-            "Invalid task number.";
-    private static final String messageTodoEmpty =
-            "The description of a todo cannot be empty.";
-    private static final String messageDeadlineEmpty =
-            "The description of a deadline cannot be empty.";
-    private static final String messageDeadlineMissingBy =
-            "The deadline command must include '/by' followed by the due date/time.";
-    private static final String messageEventEmpty =
-            "The description of an event cannot be empty.";
-    private static final String messageEventMissingTime =
-            "The event command must include '/from' and '/to' followed by the respective date/time.";
-    private static final String messageDateTimeBad =
-            "Date/time must be in yyyy-MM-dd HHmm format.";
-    private static final String messageDeleteInvalid =
-            "Invalid task number for deletion.";
-    private static final String messageOnMissingDate =
-            "The on command must include a date in yyyy-MM-dd format.";
-    private static final String messageNoTasksOnDate =
-            "No deadlines/events on that date.";
-
-    private final TaskList tasks;
-    private final Storage storage;
+    private static final String defaultDataFilePath = "./data/shinchan.txt";
+    private static final String dataFileProperty = "shinchan.dataFile";
+    private static final String workspaceFileSuffix = ".txt";
+    private static final String workspaceCacheTasksProperty = "shinchan.workspaceCacheTasks";
+    private static final int defaultWorkspaceCacheTasks = 100_000;
+    private static final String archiveAfterDaysProperty = "shinchan.archiveAfterDays";
+    private static final String reminderLeadMinutesProperty = "shinchan.reminderLeadMinutes";
+    private static final String conflictWarningsProperty = "shinchan.conflictWarnings";
+    private static final String workingHoursProperty = "shinchan.workingHours";
+    private static final long defaultReminderLeadMinutes = 15;
+    private static final long reminderTickMillis = 1000;
+    private static final String messageRecovered = "The last save was interrupted. %d bytes of incomplete "
+            + "records were discarded from the end of the data file; every task before them was recovered.";
+
+    private final Metrics metrics;
     private final Ui ui;
+    private final Path dataDirectory;
+    private final Duration reminderLead;
+    private final boolean isConflictWarningOn;
+    private final WorkingHours workingHours;
+    private final WorkspaceCache workspaces;
+    private volatile Workspace workspace;
 
     /**
-     * Creates a Shinchan chatbot instance and loads tasks from disk.
+     * Creates a Shinchan chatbot instance backed by the data file given by the
+     * {@code shinchan.dataFile} system property, or {@code ./data/shinchan.txt}.
      */
     public Shinchan() {
-        storage = new Storage(dataFilePath);
-        ui = new Ui();
-
-        TaskList loadedTasks;
-        try {
-            loadedTasks = new TaskList(storage.load());
-        } catch (ShinchanException e) {
-            ui.showError(e.getMessage());
-            loadedTasks = new TaskList();
-        }
-
-        tasks = loadedTasks;
+        this(System.getProperty(dataFileProperty, defaultDataFilePath));
     }
 
     /**
-     * Starts the chatbot application.
+     * Creates a Shinchan chatbot instance backed by the given data file.
+     * Completed tasks are archived next to it, e.g. {@code shinchan-archive.gz}.
      *
-     * @param args Command-line arguments (not used).
+     * <p>Tasks are loaded from disk on a background thread, so the welcome
+     * message can be shown straight away. Other instances using the same data
+     * file see each other's changes.</p>
+     *
+     * <p>The data file is the first workspace. Other workspaces are kept in files next
+     * to it, e.g. {@code work.txt}. Recently used workspaces stay in memory up to a
+     * total of 100,000 tasks, which the {@code shinchan.workspaceCacheTasks} system
+     * property can change.</p>
+     *
+     * @param dataFilePath Path to the data file.
      */
-    public static void main(String[] args) {
-        Shinchan shinchan = new Shinchan();
-        shinchan.run();
+    public Shinchan(String dataFilePath) {
+        metrics = new Metrics();
+        ui = new Ui();
+        Path parent = Path.of(dataFilePath).getParent();
+        dataDirectory = parent == null ? Path.of("") : parent;
+        long leadMinutes = Long.getLong(reminderLeadMinutesProperty, defaultReminderLeadMinutes);
+        reminderLead = Duration.ofMinutes(leadMinutes);
+        isConflictWarningOn = Boolean.parseBoolean(System.getProperty(conflictWarningsProperty, "true"));
+        workingHours = loadWorkingHours();
+        int maxTasks = Integer.getInteger(workspaceCacheTasksProperty, defaultWorkspaceCacheTasks);
+        workspaces = new WorkspaceCache(maxTasks, this::openWorkspace);
+        workspace = workspaces.get(dataFilePath);
     }
 
-    public String getWelcomeMessage() {
-        // reuse existing Ui output format by capturing it
-        return capturePrintedOutput(() -> ui.showWelcome());
+    private Workspace openWorkspace(String dataFilePath) {
+        String fileName = Path.of(dataFilePath).getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        String name = extension > 0 ? fileName.substring(0, extension) : fileName;
+        return new Workspace(name, dataFilePath, metrics, reminderLead);
     }
 
-    public String getResponse(String input) {
-        if (input == null) {
-            input = "";
+    /**
+     * Returns the context to execute a command in.
+     *
+     * <p>While tasks are still loading, read-only commands run against the tasks
+     * loaded so far. Mutating commands, and those that need every task such as
+     * {@code export}, wait for loading to finish.</p>
+     *
+     * @param workspace The workspace the command runs in.
+     * @param command The command about to be executed.
+     * @return The context for executing the command.
+     */
+    private CommandContext getContext(Workspace workspace, Command command) {
+        CommandContext current = workspace.getContext();
+        if (current != null) {
+            return current;
         }
-        String trimmed = input.trim();
-
-        return capturePrintedOutput(() -> {
-            try {
-                boolean shouldExit = handleInput(trimmed);
-                isExit = shouldExit;
-            } catch (ShinchanException e) {
-                ui.showError(e.getMessage());
-            }
-        });
-    }
-
-    public boolean isExit() {
-        return isExit;
-    }
 
-    private String capturePrintedOutput(Runnable action) {
-        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-        java.io.PrintStream oldOut = System.out;
-        try {
-            System.setOut(new java.io.PrintStream(baos));
-            action.run();
-        } finally {
-            System.out.flush();
-            System.setOut(oldOut);
+        boolean needsAllTasks = command.isMutating() || command.needsAllTasks();
+        TaskList partial = needsAllTasks ? null : workspace.getLoader().snapshot();
+        if (partial != null) {
+            ui.showLoadingNotice(partial.size());
+            return newContext(workspace, partial);
         }
-        return baos.toString().trim();
+
+        return loadContext(workspace);
     }
 
     /**
-     * Runs the main input-processing loop of the chatbot.
+     * Waits for a workspace's tasks to finish loading and builds the context shared by all
+     * later commands in it.
+     *
+     * @param workspace The workspace to load.
+     * @return The loaded context.
      */
-    private void run() {
-        ui.showWelcome();
-
-        while (true) {
-            String input = ui.readCommand().trim();
+    private CommandContext loadContext(Workspace workspace) {
+        synchronized (workspace.getContextLock()) {
+            if (workspace.getContext() != null) {
+                return workspace.getContext();
+            }
 
+            Storage storage = workspace.getStorage();
+            TaskList tasks;
             try {
-                boolean shouldExit = handleInput(input);
-                if (shouldExit) {
-                    return;
+                tasks = workspace.getLoader().await();
+                if (storage.getDiscardedBytes() > 0) {
+                    ui.showMessage(String.format(messageRecovered, storage.getDiscardedBytes()));
                 }
+                // Attach before other instances' changes can start arriving
+                workspace.attachReminders(tasks);
+                workspace.getSync().attach(tasks);
             } catch (ShinchanException e) {
                 ui.showError(e.getMessage());
+                tasks = new TaskList();
+                workspace.attachReminders(tasks);
             }
+
+            workspace.setContext(newContext(workspace, tasks));
+            applyArchivePolicy(workspace);
+            return workspace.getContext();
         }
     }
 
+    private CommandContext newContext(Workspace workspace, TaskList tasks) {
+        return new CommandContext(tasks, workspace.getStorage(), workspace.getArchive(), metrics, ui,
+                isConflictWarningOn, workingHours);
+    }
+
     /**
-     * Processes a single user input command.
+     * Makes a workspace the current one, waiting for its tasks to load if it was not in
+     * memory, then saves and drops the least recently used workspaces if those in memory
+     * hold too many tasks.
      *
-     * @param input Raw user input
-     * @return {@code true} if the chatbot should terminate
-     * @throws ShinchanException If the command is invalid
+     * @param name Name of the workspace; its tasks are kept in a file of that name.
      */
-    private boolean handleInput(String input) throws ShinchanException {
-        if (input.isEmpty()) {
-            throw new ShinchanException(messageEmptyInput);
-        }
+    private void useWorkspace(String name) {
+        workspace = workspaces.get(dataDirectory.resolve(name + workspaceFileSuffix).toString());
+        loadContext(workspace);
+        trimWorkspaces();
+    }
 
-        String command = Parser.getCommandWord(input);
-
-        switch (command) {
-        case "todo":
-            handleTodo(input);
-            break;
-        case "deadline":
-            handleDeadline(input);
-            break;
-        case "event":
-            handleEvent(input);
-            break;
-        case "find":
-            handleFind(input);
-            break;
-        case "on":
-            handleOn(input);
-            break;
-        case "list":
-            ui.showTaskList(tasks.asUnmodifiableList());
-            break;
-        case "mark":
-            handleMark(input);
-            break;
-        case "unmark":
-            handleUnmark(input);
-            break;
-        case "delete":
-            handleDelete(input);
-            break;
-        case "bye":
-            ui.showBye();
-            return true;
-        default:
-            throw new ShinchanException(messageUnknownCommand);
+    private void trimWorkspaces() {
+        for (Workspace evicted : workspaces.trim()) {
+            try {
+                evicted.close();
+            } catch (ShinchanException e) {
+                ui.showError(e.getMessage());
+            }
         }
-
-        return false;
     }
 
     /**
-     * Handles the creation of a todo task.
+     * Starts delivering reminders for upcoming deadlines and events.
+     *
+     * <p>A daemon thread waits for tasks to load, then checks for due reminders in
+     * every workspace in memory once a second. The lead time defaults to 15 minutes
+     * and can be changed with the {@code shinchan.reminderLeadMinutes} system property.
+     * The thread never writes to the {@link Ui}; building the context, and reporting
+     * load errors, is left to the thread running commands.</p>
      *
-     * @param input User input
-     * @throws ShinchanException If the description is missing
+     * @param handler Receives each reminder message on the reminder thread.
      */
-    private void handleTodo(String input) throws ShinchanException {
-        String description = Parser.getRemainder(input);
-        if (description.isEmpty()) {
-            throw new ShinchanException(messageTodoEmpty);
-        }
-
-        Task task = new Todos(description);
-        tasks.add(task);
-        storage.save(tasks.asMutableList());
-        ui.showTaskAdded(task, tasks.size());
+    public void startReminders(Consumer<String> handler) {
+        Workspace first = workspace;
+        Thread ticker = new Thread(() -> {
+            try {
+                first.attachReminders(first.getLoader().await());
+            } catch (ShinchanException e) {
+                // The command thread reports this when it loads the tasks
+            }
+            try {
+                while (true) {
+                    LocalDateTime now = LocalDateTime.now();
+                    for (Workspace cached : workspaces.getAll()) {
+                        for (String message : cached.getReminders().advance(now)) {
+                            handler.accept(message);
+                        }
+                    }
+                    Thread.sleep(reminderTickMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "shinchan-reminders");
+        ticker.setDaemon(true);
+        ticker.start();
     }
 
     /**
-     * Handles the creation of a deadline task.
-     *
-     * @param input User input
-     * @throws ShinchanException If required fields are missing or invalid
+     * Reads the working hours from the {@code shinchan.workingHours} system property,
+     * falling back to the defaults if it is missing or malformed.
      */
-    private void handleDeadline(String input) throws ShinchanException {
-        if (!input.contains(" /by ")) {
-            throw new ShinchanException(messageDeadlineMissingBy);
+    private WorkingHours loadWorkingHours() {
+        String hours = System.getProperty(workingHoursProperty);
+        if (hours == null) {
+            return WorkingHours.DEFAULT;
         }
 
-        String remainder = Parser.getRemainder(input);
-        String[] parts = remainder.split(" /by ", 2);
-
-        String description = parts[0].trim();
-        String by = parts[1].trim();
-
-        if (description.isEmpty()) {
-            throw new ShinchanException(messageDeadlineEmpty);
+        try {
+            return WorkingHours.parse(hours);
+        } catch (ShinchanException e) {
+            ui.showError(e.getMessage());
+            return WorkingHours.DEFAULT;
         }
-
-        LocalDateTime dueDateTime = Parser.parseDateTime(by, messageDateTimeBad);
-        Task task = new Deadlines(description, dueDateTime);
-        tasks.add(task);
-        storage.save(tasks.asMutableList());
-        ui.showTaskAdded(task, tasks.size());
     }
 
     /**
-     * Handles the creation of an event task.
-     *
-     * @param input User input
-     * @throws ShinchanException If required fields are missing or invalid
+     * Archives old completed tasks if an automatic archive policy is configured
+     * through the {@code shinchan.archiveAfterDays} system property.
      */
-    private void handleEvent(String input) throws ShinchanException {
-        String remainder = Parser.getRemainder(input);
-        if (!remainder.contains("/from") || !remainder.contains("/to")) {
-            throw new ShinchanException(messageEventMissingTime);
+    private void applyArchivePolicy(Workspace workspace) {
+        String days = System.getProperty(archiveAfterDaysProperty);
+        if (days == null) {
+            return;
         }
 
-        String[] fromParts = remainder.split("/from", 2);
-
-        String description = fromParts[0].trim();
-        if (description.isEmpty()) {
-            throw new ShinchanException(messageEventEmpty);
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(Integer.parseInt(days.trim()));
+            workspace.getSync().runExclusive(() -> Archive.archiveCompleted(workspace.getContext(), cutoff));
+        } catch (NumberFormatException e) {
+            ui.showError("The " + archiveAfterDaysProperty + " property must be a number of days.");
+        } catch (ShinchanException e) {
+            ui.showError(e.getMessage());
         }
-
-        String timing = fromParts[1].trim();
-        String[] toParts = timing.split("/to", 2);
-
-        LocalDateTime start = Parser.parseDateTime(toParts[0].trim(), messageDateTimeBad);
-        LocalDateTime end = Parser.parseDateTime(toParts[1].trim(), messageDateTimeBad);
-
-        Task task = new Events(description, start, end);
-        tasks.add(task);
-        storage.save(tasks.asMutableList());
-        ui.showTaskAdded(task, tasks.size());
     }
 
     /**
-     * Displays deadlines and events occurring on a specific date.
+     * Starts the chatbot application.
      *
-     * @param input User input
-     * @throws ShinchanException If the date is missing or invalid
+     * @param args Command-line arguments (not used).
      */
-    private void handleOn(String input) throws ShinchanException {
-        String dateText = Parser.getRemainder(input);
-        if (dateText.isEmpty()) {
-            throw new ShinchanException(messageOnMissingDate);
-        }
-
-        LocalDate date = Parser.parseDate(dateText, messageOnMissingDate);
-
-        List<Task> matching = new ArrayList<>();
-        for (Task task : tasks.asUnmodifiableList()) {
-            if (task instanceof Deadlines && ((Deadlines) task).getDueDate().equals(date)) {
-                matching.add(task);
-            }
-            if (task instanceof Events && ((Events) task).occursOn(date)) {
-                matching.add(task);
-            }
-        }
+    public static void main(String[] args) {
+        FlightRecording.startIfRequested();
+        Shinchan shinchan = new Shinchan();
+        shinchan.run();
+    }
 
-        ui.showTasksOnDate(date, matching, messageNoTasksOnDate);
+    public String getWelcomeMessage() {
+        // reuse existing Ui output format by capturing it
+        return captureOutput(() -> ui.showWelcome());
     }
 
-    /**
-     * Marks a task as completed.
-     *
-     * @param input User input
-     * @throws ShinchanException If the task index is invalid
-     */
-    private void handleMark(String input) throws ShinchanException {
-        int index = Parser.parseTaskIndex(input, messageInvalidTaskNumber);
-        if (!isValidIndex(index)) {
-            throw new ShinchanException(messageInvalidTaskNumber);
+    public String getResponse(String input) {
+        if (input == null) {
+            input = "";
         }
+        String trimmed = input.trim();
 
-        Task task = tasks.get(index);
-        task.markAsDone();
-        storage.save(tasks.asMutableList());
-        ui.showMessage(task.toString());
+        return captureOutput(() -> {
+            try {
+                boolean shouldExit = handleInput(trimmed);
+                isExit = shouldExit;
+            } catch (ShinchanException e) {
+                ui.showError(e.getMessage());
+            }
+        });
     }
 
-    /**
-     * Marks a task as not completed.
-     *
-     * @param input User input
-     * @throws ShinchanException If the task index is invalid
-     */
-    private void handleUnmark(String input) throws ShinchanException {
-        int index = Parser.parseTaskIndex(input, messageInvalidTaskNumber);
-        if (!isValidIndex(index)) {
-            throw new ShinchanException(messageInvalidTaskNumber);
-        }
+    public boolean isExit() {
+        return isExit;
+    }
 
-        Task task = tasks.get(index);
-        task.markAsUndone();
-        storage.save(tasks.asMutableList());
-        ui.showMessage(task.toString());
+    private String captureOutput(Runnable action) {
+        long start = System.nanoTime();
+        String output = ui.capture(action).trim();
+        metrics.recordPhase(Metrics.PHASE_OUTPUT, System.nanoTime() - start);
+        return output;
     }
 
     /**
-     * Deletes a task from the task list.
-     *
-     * @param input User input
-     * @throws ShinchanException If the task index is invalid
+     * Runs the main input-processing loop of the chatbot.
      */
-    private void handleDelete(String input) throws ShinchanException {
-        int index = Parser.parseTaskIndex(input, messageDeleteInvalid);
-        if (!isValidIndex(index)) {
-            throw new ShinchanException(messageDeleteInvalid);
-        }
+    private void run() {
+        ui.showWelcome();
+        ui.flush();
+        StartupTimer.report("first prompt");
+        // Holding the lock while a command runs keeps reminders out of its output
+        startReminders(message -> {
+            synchronized (this) {
+                ui.showReminder(message);
+                ui.flush();
+            }
+        });
 
-        Task removed = tasks.remove(index);
-        storage.save(tasks.asMutableList());
+        while (true) {
+            String input = ui.readCommand().trim();
 
-        ui.showTaskDeleted(removed, tasks.size());
+            synchronized (this) {
+                try {
+                    boolean shouldExit = handleInput(input);
+                    if (shouldExit) {
+                        return;
+                    }
+                } catch (ShinchanException e) {
+                    ui.showError(e.getMessage());
+                } finally {
+                    // One write per command, however many lines it showed
+                    ui.flush();
+                }
+            }
+        }
     }
 
     /**
-     * Checks whether an index is within the valid task list range.
+     * Parses and executes a single user input command, recording how long it took.
      *
-     * @param index Task index
-     * @return {@code true} if the index is valid
+     * @param input Raw user input
+     * @return {@code true} if the chatbot should terminate
+     * @throws ShinchanException If the command is invalid
      */
-    private boolean isValidIndex(int index) {
-        return index >= 0 && index < tasks.size();
-    }
+    private boolean handleInput(String input) throws ShinchanException {
+        String commandType = "invalid";
+        boolean isSuccessful = false;
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long start = System.nanoTime();
 
-    /**
-     * Finds and displays tasks that match the keyword.
-     *
-     * @param input User input.
-     * @throws ShinchanException If the keyword is missing.
-     */
-    private void handleFind(String input) throws ShinchanException {
-        String keyword = Parser.getRemainder(input); // or your method to get the rest of the line
-        if (keyword.trim().isEmpty()) {
-            throw new ShinchanException("The find command must include a keyword.");
+        try {
+            Command command = Parser.parse(input);
+            commandType = command.getCommandWord();
+            if (command.getWorkspace() != null) {
+                useWorkspace(command.getWorkspace());
+            }
+            Workspace current = workspace;
+            CommandContext commandContext = getContext(current, command);
+            if (command.isMutating()) {
+                current.markDirty();
+                current.getSync().runExclusive(() -> command.execute(commandContext));
+                trimWorkspaces();
+            } else {
+                current.getSync().runShared(() -> command.execute(commandContext));
+            }
+            for (String warning : current.getSync().takeWarnings()) {
+                ui.showError(warning);
+            }
+            isSuccessful = true;
+            return command.isExit();
+        } finally {
+            metrics.recordCommand(commandType, System.nanoTime() - start, input);
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = commandType;
+                event.inputLength = input.length();
+                event.isSuccessful = isSuccessful;
+                event.commit();
+            }
         }
-
-        ui.showFindResults(tasks.find(keyword));
     }
 }
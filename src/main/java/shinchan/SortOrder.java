@@ -0,0 +1,61 @@
+package shinchan;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Orders in which the task list can be shown.
+ */
+public enum SortOrder {
+    /** By due date or start, earliest first; todos last. Recurring tasks use their first occurrence. */
+    DATE("date"),
+    /** Todos, then deadlines, events and recurring tasks. */
+    TYPE("type"),
+    /** Pending tasks before completed ones. */
+    STATUS("status");
+
+    private final String keyword;
+
+    SortOrder(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the sort key of a task in this order; smaller keys come first.
+     *
+     * @param task The task.
+     * @return The task's key.
+     */
+    long keyOf(Task task) {
+        switch (this) {
+        case DATE:
+            LocalDateTime start = getStart(task);
+            return start == null ? Long.MAX_VALUE : start.toEpochSecond(ZoneOffset.UTC);
+        case TYPE:
+            return task instanceof Todos ? 0 : task instanceof Deadlines ? 1 : task instanceof Events ? 2 : 3;
+        default:
+            return task.isDone() ? 1 : 0;
+        }
+    }
+
+    private static LocalDateTime getStart(Task task) {
+        if (task instanceof Recurring) {
+            return getStart(((Recurring) task).getTemplate());
+        } else if (task instanceof Deadlines) {
+            return ((Deadlines) task).getDueDateTime();
+        } else if (task instanceof Events) {
+            return ((Events) task).getStartDateTime();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package shinchan;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import shinchan.task.Task;
+
+/**
+ * Keeps the tasks of a {@link TaskList} ordered by one {@link SortOrder}, ties in insertion order.
+ *
+ * <p>Each task's key is captured when it is inserted, so a task can still be found and
+ * removed after its status changes. Additions, removals and status changes each cost
+ * O(log n), and reading the sorted tasks is a linear walk.</p>
+ */
+class SortedView implements TaskListListener {
+
+    /**
+     * A task with the key and sequence number it was inserted with.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final Task task;
+        private final long key;
+        private final long sequence;
+
+        Entry(Task task, long key, long sequence) {
+            this.task = task;
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = Long.compare(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final SortOrder order;
+    private final TreeSet<Entry> entries = new TreeSet<>();
+    private final Map<Task, Entry> entryOf = new IdentityHashMap<>();
+    private long nextSequence;
+
+    /**
+     * Creates a view of the given tasks.
+     *
+     * @param order The order to keep.
+     * @param tasks The tasks currently in the list, in list order.
+     */
+    SortedView(SortOrder order, List<Task> tasks) {
+        this.order = order;
+        for (Task task : tasks) {
+            insert(task, nextSequence++);
+        }
+    }
+
+    /**
+     * Returns the tasks in this view's order.
+     *
+     * @return A new list of the tasks.
+     */
+    List<Task> getTasks() {
+        List<Task> sorted = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            sorted.add(entry.task);
+        }
+        return sorted;
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        insert(task, nextSequence++);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        Entry entry = entryOf.remove(task);
+        if (entry != null) {
+            entries.remove(entry);
+        }
+    }
+
+    @Override
+    public void taskStatusChanged(int index, Task task) {
+        if (order != SortOrder.STATUS) {
+            return;
+        }
+
+        Entry entry = entryOf.remove(task);
+        if (entry != null) {
+            entries.remove(entry);
+            // Keep the original sequence so ties stay in insertion order
+            insert(task, entry.sequence);
+        }
+    }
+
+    private void insert(Task task, long sequence) {
+        Entry entry = new Entry(task, order.keyOf(task), sequence);
+        entries.add(entry);
+        entryOf.put(task, entry);
+    }
+}
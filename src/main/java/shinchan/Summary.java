@@ -0,0 +1,77 @@
+package shinchan;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts describing a task list at one moment, as shown by the {@code summary} command.
+ */
+public class Summary {
+    private final int total;
+    private final Map<String, Integer> typeCounts;
+    private final int doneCount;
+    private final int overdueCount;
+    private final LocalDate firstWeek;
+    private final List<Integer> weekCounts;
+
+    /**
+     * Creates a summary.
+     *
+     * @param total Number of tasks.
+     * @param typeCounts Number of tasks per type code.
+     * @param doneCount Number of completed tasks.
+     * @param overdueCount Number of pending deadlines that are past due, counting a recurring deadline
+     *     once if its earliest pending occurrence is.
+     * @param firstWeek Monday of the first week counted.
+     * @param weekCounts Number of pending deadlines, events and occurrences starting in each week.
+     */
+    public Summary(int total, Map<String, Integer> typeCounts, int doneCount, int overdueCount,
+            LocalDate firstWeek, List<Integer> weekCounts) {
+        this.total = total;
+        this.typeCounts = Map.copyOf(typeCounts);
+        this.doneCount = doneCount;
+        this.overdueCount = overdueCount;
+        this.firstWeek = firstWeek;
+        this.weekCounts = List.copyOf(weekCounts);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of tasks of one type.
+     *
+     * @param typeCode One of {@link shinchan.search.TaskFilter#TYPE_CODES}.
+     * @return Number of tasks of that type.
+     */
+    public int getTypeCount(String typeCode) {
+        return typeCounts.getOrDefault(typeCode, 0);
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public int getPendingCount() {
+        return total - doneCount;
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    public LocalDate getFirstWeek() {
+        return firstWeek;
+    }
+
+    /**
+     * Returns how many pending deadlines, events and recurring occurrences start in each week.
+     *
+     * @return Counts for consecutive weeks, starting with the week of {@link #getFirstWeek()}.
+     */
+    public List<Integer> getWeekCounts() {
+        return weekCounts;
+    }
+}
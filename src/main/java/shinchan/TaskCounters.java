@@ -0,0 +1,201 @@
+package shinchan;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import shinchan.search.TaskFilter;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Keeps the counts behind a {@link Summary} up to date as a {@link TaskList} changes.
+ *
+ * <p>Type, status and per-week counts are adjusted in O(1) on every addition, removal and
+ * status change, so summarizing does not depend on the size of the list. Whether a deadline
+ * is overdue depends on the clock, so pending deadlines are kept ordered by due time on
+ * either side of the moment of the last summary; the next summary only moves the deadlines
+ * that fell due in between. Recurring tasks have no end, so their occurrences are counted
+ * into weeks when summarizing, which costs time per recurring task rather than per task. A
+ * recurring deadline counts as one overdue task while its earliest pending occurrence is
+ * past due, which takes a single lookup per recurring task.</p>
+ */
+class TaskCounters implements TaskListListener {
+    private static final int DAYS_PER_WEEK = 7;
+    // 1970-01-01 was a Thursday, so shifting by three days starts weeks on Mondays
+    private static final int EPOCH_WEEK_SHIFT = 3;
+
+    private final Map<String, Integer> typeCounts = new HashMap<>();
+    private final Map<Long, Integer> pendingByWeek = new HashMap<>();
+    private final TreeMap<LocalDateTime, Integer> pastDue = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Integer> notYetDue = new TreeMap<>();
+    private final Set<Recurring> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+    private LocalDateTime cutoff = LocalDateTime.MIN;
+    private int total;
+    private int doneCount;
+    private int overdueCount;
+
+    /**
+     * Creates counters for the given tasks.
+     *
+     * @param tasks The tasks currently in the list.
+     */
+    TaskCounters(List<Task> tasks) {
+        for (Task task : tasks) {
+            taskAdded(total, task);
+        }
+    }
+
+    /**
+     * Summarizes the list.
+     *
+     * @param now Current time, which decides which deadlines are overdue.
+     * @param weeks Number of weeks to count, starting with the week of {@code now}.
+     * @return The summary.
+     */
+    Summary summarize(LocalDateTime now, int weeks) {
+        moveCutoff(now);
+
+        LocalDate firstWeek = now.toLocalDate().with(DayOfWeek.MONDAY);
+        long firstWeekNumber = getWeek(firstWeek);
+        int[] counts = new int[weeks];
+        for (int i = 0; i < weeks; i++) {
+            counts[i] = pendingByWeek.getOrDefault(firstWeekNumber + i, 0);
+        }
+        LocalDate end = firstWeek.plusWeeks(weeks);
+        int overdue = overdueCount;
+        for (Recurring task : recurring) {
+            if (isOverdue(task, now)) {
+                overdue++;
+            }
+            Iterator<Task> pending = task.getPendingFrom(firstWeek);
+            while (pending.hasNext()) {
+                LocalDate start = getStartDate(pending.next());
+                if (!start.isBefore(end)) {
+                    break;
+                }
+                counts[(int) (getWeek(start) - firstWeekNumber)]++;
+            }
+        }
+
+        List<Integer> weekCounts = new ArrayList<>(weeks);
+        for (int count : counts) {
+            weekCounts.add(count);
+        }
+        return new Summary(total, typeCounts, doneCount, overdue, firstWeek, weekCounts);
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        total++;
+        typeCounts.merge(TaskFilter.getTypeCode(task), 1, Integer::sum);
+        if (task instanceof Recurring) {
+            recurring.add((Recurring) task);
+        } else if (task.isDone()) {
+            doneCount++;
+        } else {
+            addPending(task, 1);
+        }
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        total--;
+        typeCounts.merge(TaskFilter.getTypeCode(task), -1, TaskCounters::sumOrRemove);
+        if (task instanceof Recurring) {
+            recurring.remove(task);
+        } else if (task.isDone()) {
+            doneCount--;
+        } else {
+            addPending(task, -1);
+        }
+    }
+
+    @Override
+    public void taskStatusChanged(int index, Task task) {
+        if (task instanceof Recurring) {
+            return;
+        }
+        if (task.isDone()) {
+            doneCount++;
+            addPending(task, -1);
+        } else {
+            doneCount--;
+            addPending(task, 1);
+        }
+    }
+
+    /**
+     * Counts a pending task into, or with a negative change out of, its week and due times.
+     */
+    private void addPending(Task task, int change) {
+        if (!(task instanceof Deadlines || task instanceof Events)) {
+            return;
+        }
+        pendingByWeek.merge(getWeek(getStartDate(task)), change, TaskCounters::sumOrRemove);
+        if (task instanceof Deadlines) {
+            LocalDateTime due = ((Deadlines) task).getDueDateTime();
+            boolean isOverdue = due.isBefore(cutoff);
+            (isOverdue ? pastDue : notYetDue).merge(due, change, TaskCounters::sumOrRemove);
+            if (isOverdue) {
+                overdueCount += change;
+            }
+        }
+    }
+
+    /**
+     * Moves the boundary between overdue and pending deadlines to a new time, visiting only
+     * the due times between the old and new boundaries.
+     */
+    private void moveCutoff(LocalDateTime now) {
+        while (!notYetDue.isEmpty() && notYetDue.firstKey().isBefore(now)) {
+            Map.Entry<LocalDateTime, Integer> entry = notYetDue.pollFirstEntry();
+            pastDue.put(entry.getKey(), entry.getValue());
+            overdueCount += entry.getValue();
+        }
+        // The clock may have been set back since the last summary
+        while (!pastDue.isEmpty() && !pastDue.lastKey().isBefore(now)) {
+            Map.Entry<LocalDateTime, Integer> entry = pastDue.pollLastEntry();
+            notYetDue.put(entry.getKey(), entry.getValue());
+            overdueCount -= entry.getValue();
+        }
+        cutoff = now;
+    }
+
+    /**
+     * Returns whether the earliest pending occurrence of a recurring deadline is past due.
+     */
+    private static boolean isOverdue(Recurring task, LocalDateTime now) {
+        if (!(task.getTemplate() instanceof Deadlines)) {
+            return false;
+        }
+        int earliest = task.getNextPending(((Deadlines) task.getTemplate()).getDueDate());
+        return earliest >= 0 && ((Deadlines) task.getOccurrence(earliest)).getDueDateTime().isBefore(now);
+    }
+
+    private static Integer sumOrRemove(Integer count, Integer change) {
+        int sum = count + change;
+        return sum == 0 ? null : sum;
+    }
+
+    private static long getWeek(LocalDate date) {
+        return Math.floorDiv(date.toEpochDay() + EPOCH_WEEK_SHIFT, DAYS_PER_WEEK);
+    }
+
+    private static LocalDate getStartDate(Task task) {
+        return task instanceof Events
+                ? ((Events) task).getStartDateTime().toLocalDate()
+                : ((Deadlines) task).getDueDate();
+    }
+}
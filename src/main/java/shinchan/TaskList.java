@@ -1,16 +1,48 @@
 package shinchan;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
+import shinchan.query.Condition;
+import shinchan.query.QueryPlan;
+import shinchan.query.QueryPlanner;
+import shinchan.search.BitmapIndex;
+import shinchan.search.DateIndex;
+import shinchan.search.FuzzyIndex;
+import shinchan.search.IntervalIndex;
+import shinchan.search.TaskFilter;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
 import shinchan.task.Task;
 
 /**
  * Encapsulates a list of tasks and provides operations on the list.
  */
 public class TaskList {
+    /** Number of days, from today, that {@link #getAgenda(LocalDate, int)} keeps ready. */
+    public static final int AGENDA_DAYS = 7;
+
     private final List<Task> tasks;
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private final Map<SortOrder, SortedView> sortedViews = new EnumMap<>(SortOrder.class);
+    private FuzzyIndex fuzzyIndex;
+    private BitmapIndex bitmapIndex;
+    private DateIndex dateIndex;
+    private IntervalIndex intervalIndex;
+    private TaskCounters counters;
+    private AgendaView agenda;
 
     /**
      * Creates an empty task list.
@@ -28,6 +60,15 @@ public class TaskList {
         this.tasks = new ArrayList<>(initialTasks);
     }
 
+    /**
+     * Registers a listener to be notified of changes to this list.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Adds a task.
      *
@@ -35,6 +76,9 @@ public class TaskList {
      */
     public void add(Task task) {
         tasks.add(task);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(tasks.size() - 1, task);
+        }
     }
 
     /**
@@ -44,7 +88,110 @@ public class TaskList {
      * @return The removed task.
      */
     public Task remove(int index) {
-        return tasks.remove(index);
+        Task removed = tasks.remove(index);
+        for (TaskListListener listener : listeners) {
+            listener.taskRemoved(index, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Marks the task at the given index as done today.
+     *
+     * @param index Index of the task (0-based).
+     * @return The marked task.
+     */
+    public Task markAsDone(int index) {
+        return markAsDone(index, LocalDate.now());
+    }
+
+    /**
+     * Marks the task at the given index as done on the given date. A task that is already
+     * done keeps its completion date, and listeners are not told of it.
+     *
+     * @param index Index of the task (0-based).
+     * @param doneDate Date the task was completed, or {@code null} if unknown.
+     * @return The marked task.
+     */
+    public Task markAsDone(int index, LocalDate doneDate) {
+        Task task = tasks.get(index);
+        if (task.isDone()) {
+            return task;
+        }
+        task.markAsDone(doneDate);
+        for (TaskListListener listener : listeners) {
+            listener.taskStatusChanged(index, task);
+        }
+        return task;
+    }
+
+    /**
+     * Marks the task at the given index as not done. Listeners are not told of a task that
+     * is already not done.
+     *
+     * @param index Index of the task (0-based).
+     * @return The unmarked task.
+     */
+    public Task markAsUndone(int index) {
+        Task task = tasks.get(index);
+        if (!task.isDone()) {
+            return task;
+        }
+        task.markAsUndone();
+        for (TaskListListener listener : listeners) {
+            listener.taskStatusChanged(index, task);
+        }
+        return task;
+    }
+
+    /**
+     * Marks one occurrence of the recurring task at the given index as done or not done.
+     *
+     * @param index Index of the task (0-based).
+     * @param occurrence Occurrence number.
+     * @param isDone Whether the occurrence is done.
+     * @return The occurrence in its new state.
+     */
+    public Task markOccurrence(int index, int occurrence, boolean isDone) {
+        Recurring task = (Recurring) tasks.get(index);
+        if (task.isOccurrenceDone(occurrence) == isDone) {
+            return task.getOccurrence(occurrence);
+        }
+        task.setOccurrenceDone(occurrence, isDone);
+        for (TaskListListener listener : listeners) {
+            listener.occurrenceStatusChanged(index, task, occurrence);
+        }
+        return task.getOccurrence(occurrence);
+    }
+
+    /**
+     * Replaces the tags of the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     * @param tags New tags, lowercase, without a leading {@code #} and without duplicates.
+     * @return The changed task.
+     */
+    public Task setTags(int index, List<String> tags) {
+        Task task = tasks.get(index);
+        task.setTags(tags);
+        for (TaskListListener listener : listeners) {
+            listener.taskTagsChanged(index, task);
+        }
+        return task;
+    }
+
+    /**
+     * Replaces the contents of this list, notifying listeners of every removal and addition.
+     *
+     * @param replacement The tasks the list should hold afterwards.
+     */
+    public void replaceAll(List<Task> replacement) {
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            remove(i);
+        }
+        for (Task task : replacement) {
+            add(task);
+        }
     }
 
     /**
@@ -75,6 +222,25 @@ public class TaskList {
         return Collections.unmodifiableList(tasks);
     }
 
+    /**
+     * Returns the tasks in the given order, ties in the order they were added.
+     *
+     * <p>Each order is kept in a sorted view that is built on first use and then
+     * updated as tasks are added, removed or marked, so no sorting happens here.</p>
+     *
+     * @param order The order to return tasks in.
+     * @return A new list of the tasks in that order.
+     */
+    public List<Task> getSorted(SortOrder order) {
+        SortedView view = sortedViews.get(order);
+        if (view == null) {
+            view = new SortedView(order, tasks);
+            sortedViews.put(order, view);
+            addListener(view);
+        }
+        return view.getTasks();
+    }
+
     /**
      * Returns the underlying mutable list, used by Storage for saving.
      *
@@ -102,4 +268,391 @@ public class TaskList {
         }
         return matches;
     }
+
+    /**
+     * Returns tasks whose description words are within an edit distance of the query words.
+     *
+     * <p>The index is built on first use and then kept up to date as the list changes.</p>
+     *
+     * @param query Words to search for.
+     * @param maxDistance Largest edit distance per word, or {@link FuzzyIndex#AUTO}.
+     * @return Matching tasks, closest first.
+     */
+    public List<Task> findFuzzy(String query, int maxDistance) {
+        return getFuzzyIndex().find(query, maxDistance);
+    }
+
+    /**
+     * Returns the positions of the tasks matching a filter on type, status and tags.
+     *
+     * <p>The index is built on first use and then kept up to date as the list changes.</p>
+     *
+     * @param filter Filter to apply.
+     * @return Indexes (0-based) of the matching tasks, in list order.
+     */
+    public List<Integer> filter(TaskFilter filter) {
+        return getBitmapIndex().filter(filter);
+    }
+
+    /**
+     * Plans a query over the text, date and bitmap indexes, building any that are missing.
+     *
+     * @param query Condition the results must satisfy.
+     * @return A plan that can be run until the list next changes.
+     */
+    public QueryPlan planQuery(Condition query) {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex(tasks);
+            addListener(dateIndex);
+        }
+        return new QueryPlanner(getBitmapIndex(), getFuzzyIndex(), dateIndex).plan(query);
+    }
+
+    /**
+     * Summarizes the list by type, status and workload per week.
+     *
+     * <p>The counts are gathered on first use and then kept up to date as the list changes,
+     * so later summaries cost the same however long the list is.</p>
+     *
+     * @param now Current time, which decides which deadlines are overdue.
+     * @param weeks Number of weeks to count pending work for, starting with the week of {@code now}.
+     * @return The summary.
+     */
+    public Summary summarize(LocalDateTime now, int weeks) {
+        if (counters == null) {
+            counters = new TaskCounters(tasks);
+            addListener(counters);
+        }
+        return counters.summarize(now, weeks);
+    }
+
+    /**
+     * Returns the deadlines and events of each day from today, ordered by start time.
+     * Recurring tasks contribute their occurrences.
+     *
+     * <p>The days are gathered on first use and then patched as the list changes, and only
+     * the days that come into view are gathered when the date moves on.</p>
+     *
+     * @param today The current date.
+     * @param days Number of days to return, at most {@link #AGENDA_DAYS}.
+     * @return One list per day, starting with {@code today}; ties are in the order tasks were added.
+     */
+    public List<List<Task>> getAgenda(LocalDate today, int days) {
+        if (agenda == null) {
+            agenda = new AgendaView(tasks, today, AGENDA_DAYS);
+            addListener(agenda);
+        }
+        return agenda.getDays(today, days);
+    }
+
+    /**
+     * Returns deadlines due on, and events occurring on, the given date.
+     * Recurring tasks contribute their occurrences on that date.
+     *
+     * @param date Date to search for.
+     * @return List of matching tasks in list order.
+     */
+    public List<Task> findOn(LocalDate date) {
+        List<Task> matching = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task instanceof Deadlines && ((Deadlines) task).getDueDate().equals(date)) {
+                matching.add(task);
+            }
+            if (task instanceof Events && ((Events) task).occursOn(date)) {
+                matching.add(task);
+            }
+            if (task instanceof Recurring) {
+                matching.addAll(((Recurring) task).getOccurrencesBetween(date, date));
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Returns deadlines due, and events occurring, on any day between two dates.
+     * Recurring tasks contribute each of their occurrences in the range.
+     *
+     * @param from First date of the range, inclusive.
+     * @param to Last date of the range, inclusive.
+     * @return List of matching tasks ordered by start, ties in list order.
+     */
+    public List<Task> findBetween(LocalDate from, LocalDate to) {
+        List<Task> matching = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task instanceof Recurring) {
+                matching.addAll(((Recurring) task).getOccurrencesBetween(from, to));
+            } else if (task instanceof Deadlines || task instanceof Events) {
+                LocalDate start = getStart(task).toLocalDate();
+                LocalDate end = task instanceof Events ? ((Events) task).getEndDateTime().toLocalDate() : start;
+                if (!start.isAfter(to) && !end.isBefore(from)) {
+                    matching.add(task);
+                }
+            }
+        }
+        matching.sort(Comparator.comparing(TaskList::getStart));
+        return matching;
+    }
+
+    /**
+     * Returns the pending one-off events that overlap a period, other than those that only
+     * touch it at either end.
+     *
+     * <p>The index is built on first use and then kept up to date as the list changes.</p>
+     *
+     * @param start Start of the period.
+     * @param end End of the period.
+     * @return Overlapping events ordered by start, ties in list order.
+     */
+    public List<Events> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<Events> overlapping = getIntervalIndex().findOverlapping(start, end);
+        overlapping.removeIf(Task::isDone);
+        return overlapping;
+    }
+
+    /**
+     * Returns groups of pending events that overlap one another, directly or through
+     * other events in the group.
+     *
+     * <p>Events are sorted by start and swept in order, extending the current group while
+     * the next event starts before every event so far in the group has ended. Recurring
+     * events contribute their pending occurrences only when a range is given, as they may
+     * repeat forever.</p>
+     *
+     * @param from First date of the range, or {@code null} for every one-off event.
+     * @param to Last date of the range, or {@code null} for every one-off event.
+     * @return Groups of at least two events, each ordered by start.
+     */
+    public List<List<Task>> findConflicts(LocalDate from, LocalDate to) {
+        List<Task> events = new ArrayList<>();
+        if (from == null) {
+            events.addAll(findOverlapping(LocalDateTime.MIN, LocalDateTime.MAX));
+        } else {
+            events.addAll(findOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+            events.addAll(getRecurringEventsBetween(from, to));
+            events.sort(Comparator.comparing(TaskList::getStart));
+        }
+
+        List<List<Task>> groups = new ArrayList<>();
+        List<Task> group = new ArrayList<>();
+        LocalDateTime groupEnd = LocalDateTime.MIN;
+        for (Task task : events) {
+            Events event = (Events) task;
+            if (!event.getStartDateTime().isBefore(groupEnd)) {
+                if (group.size() > 1) {
+                    groups.add(group);
+                }
+                group = new ArrayList<>();
+            }
+            group.add(event);
+            if (event.getEndDateTime().isAfter(groupEnd)) {
+                groupEnd = event.getEndDateTime();
+            }
+        }
+        if (group.size() > 1) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the free periods within working hours on each day between two dates.
+     *
+     * <p>Each day reads only the pending events overlapping its working hours from the
+     * interval index, plus the occurrences of recurring events on that day. The events are
+     * merged in start order into busy blocks, and the gaps between blocks are free.</p>
+     *
+     * @param from First date to search, inclusive.
+     * @param to Last date to search, inclusive.
+     * @param hours The part of each day to search.
+     * @param minLength Shortest free period to return.
+     * @return Free periods in time order.
+     */
+    public List<TimeSlot> findFreeSlots(LocalDate from, LocalDate to, WorkingHours hours, Duration minLength) {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime dayStart = day.atTime(hours.getStart());
+            LocalDateTime dayEnd = day.atTime(hours.getEnd());
+            List<Task> busy = new ArrayList<>(findOverlapping(dayStart, dayEnd));
+            busy.addAll(getRecurringEventsBetween(day, day));
+            busy.sort(Comparator.comparing(TaskList::getStart));
+
+            LocalDateTime free = dayStart;
+            for (Task task : busy) {
+                Events event = (Events) task;
+                addSlot(slots, free, event.getStartDateTime().isBefore(dayEnd) ? event.getStartDateTime() : dayEnd,
+                        minLength);
+                if (event.getEndDateTime().isAfter(free)) {
+                    free = event.getEndDateTime();
+                }
+            }
+            addSlot(slots, free, dayEnd, minLength);
+        }
+        return slots;
+    }
+
+    private static void addSlot(List<TimeSlot> slots, LocalDateTime start, LocalDateTime end, Duration minLength) {
+        if (start.isBefore(end) && Duration.between(start, end).compareTo(minLength) >= 0) {
+            slots.add(new TimeSlot(start, end));
+        }
+    }
+
+    /**
+     * Returns the earliest pending deadlines and events starting on or after a date.
+     *
+     * <p>Recurring tasks generate occurrences lazily, so only as many occurrences are
+     * created as are needed to fill the result.</p>
+     *
+     * @param from Date to start from.
+     * @param limit Maximum number of tasks to return.
+     * @return Up to {@code limit} tasks ordered by start, ties in list order.
+     */
+    public List<Task> findUpcoming(LocalDate from, int limit) {
+        // Each source is a (head, rest) pair; ties are broken by list position
+        PriorityQueue<Upcoming> queue = new PriorityQueue<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task instanceof Recurring) {
+                Iterator<Task> pending = ((Recurring) task).getPendingFrom(from);
+                if (pending.hasNext()) {
+                    queue.add(new Upcoming(pending.next(), pending, i));
+                }
+            } else if ((task instanceof Deadlines || task instanceof Events) && !task.isDone()
+                    && !getStart(task).toLocalDate().isBefore(from)) {
+                queue.add(new Upcoming(task, Collections.emptyIterator(), i));
+            }
+        }
+
+        List<Task> upcoming = new ArrayList<>();
+        while (upcoming.size() < limit && !queue.isEmpty()) {
+            Upcoming head = queue.poll();
+            upcoming.add(head.task);
+            if (head.rest.hasNext()) {
+                queue.add(new Upcoming(head.rest.next(), head.rest, head.position));
+            }
+        }
+        return upcoming;
+    }
+
+    /**
+     * Returns completed tasks, optionally limited to those completed before a date.
+     *
+     * <p>Tasks with an unknown completion date only match when no cutoff is given.</p>
+     *
+     * @param completedBefore Exclusive cutoff date, or {@code null} for all completed tasks.
+     * @return List of completed tasks in list order.
+     */
+    public List<Task> getCompleted(LocalDate completedBefore) {
+        List<Task> completed = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!task.isDone()) {
+                continue;
+            }
+            LocalDate doneDate = task.getDoneDate();
+            if (completedBefore == null || (doneDate != null && doneDate.isBefore(completedBefore))) {
+                completed.add(task);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Removes all of the given tasks.
+     *
+     * <p>The list is compacted in a single pass. Listeners are then told of each removal
+     * from the back, so each reported index is valid as if the tasks were removed one by one.</p>
+     *
+     * @param toRemove Tasks to remove, compared by identity.
+     */
+    public void removeAll(List<Task> toRemove) {
+        Set<Task> removing = Collections.newSetFromMap(new IdentityHashMap<>());
+        removing.addAll(toRemove);
+
+        List<Integer> removedIndexes = new ArrayList<>();
+        List<Task> removedTasks = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (removing.contains(task)) {
+                removedIndexes.add(i);
+                removedTasks.add(task);
+            } else {
+                tasks.set(kept++, task);
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+
+        for (int i = removedTasks.size() - 1; i >= 0; i--) {
+            for (TaskListListener listener : listeners) {
+                listener.taskRemoved(removedIndexes.get(i), removedTasks.get(i));
+            }
+        }
+    }
+
+    private FuzzyIndex getFuzzyIndex() {
+        if (fuzzyIndex == null) {
+            fuzzyIndex = new FuzzyIndex(tasks);
+            addListener(fuzzyIndex);
+        }
+        return fuzzyIndex;
+    }
+
+    private BitmapIndex getBitmapIndex() {
+        if (bitmapIndex == null) {
+            bitmapIndex = new BitmapIndex(tasks);
+            addListener(bitmapIndex);
+        }
+        return bitmapIndex;
+    }
+
+    /**
+     * Returns the pending occurrences of recurring events on any day between two dates.
+     */
+    private List<Task> getRecurringEventsBetween(LocalDate from, LocalDate to) {
+        List<Task> occurrences = new ArrayList<>();
+        for (Recurring task : getIntervalIndex().getRecurringEvents()) {
+            for (Task occurrence : task.getOccurrencesBetween(from, to)) {
+                if (!occurrence.isDone()) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    private IntervalIndex getIntervalIndex() {
+        if (intervalIndex == null) {
+            intervalIndex = new IntervalIndex(tasks);
+            addListener(intervalIndex);
+        }
+        return intervalIndex;
+    }
+
+    private static LocalDateTime getStart(Task task) {
+        return task instanceof Events
+                ? ((Events) task).getStartDateTime()
+                : ((Deadlines) task).getDueDateTime();
+    }
+
+    /**
+     * The next task from one source in {@link #findUpcoming(LocalDate, int)}.
+     */
+    private static class Upcoming implements Comparable<Upcoming> {
+        private final Task task;
+        private final Iterator<Task> rest;
+        private final int position;
+        private final LocalDateTime start;
+
+        Upcoming(Task task, Iterator<Task> rest, int position) {
+            this.task = task;
+            this.rest = rest;
+            this.position = position;
+            this.start = getStart(task);
+        }
+
+        @Override
+        public int compareTo(Upcoming other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Integer.compare(position, other.position);
+        }
+    }
 }
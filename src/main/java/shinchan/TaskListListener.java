@@ -0,0 +1,57 @@
+package shinchan;
+
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Receives notifications about changes to a {@link TaskList}.
+ * All methods do nothing by default, so listeners only override what they need.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called after a task is added.
+     *
+     * @param index Index the task was added at (0-based).
+     * @param task The added task.
+     */
+    default void taskAdded(int index, Task task) {
+    }
+
+    /**
+     * Called after a task is removed.
+     *
+     * @param index Index the task was removed from (0-based).
+     * @param task The removed task.
+     */
+    default void taskRemoved(int index, Task task) {
+    }
+
+    /**
+     * Called after a task is marked as done or not done.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The changed task.
+     */
+    default void taskStatusChanged(int index, Task task) {
+    }
+
+    /**
+     * Called after one occurrence of a recurring task is marked as done or not done.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The changed task.
+     * @param occurrence Number of the changed occurrence.
+     */
+    default void occurrenceStatusChanged(int index, Recurring task, int occurrence) {
+    }
+
+    /**
+     * Called after the tags of a task are replaced.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The changed task.
+     */
+    default void taskTagsChanged(int index, Task task) {
+    }
+}
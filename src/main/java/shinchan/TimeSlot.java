@@ -0,0 +1,36 @@
+package shinchan;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A period of free time between scheduled events.
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Creates a slot.
+     *
+     * @param start Start of the slot.
+     * @param end End of the slot, after {@code start}.
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        assert start.isBefore(end) : "Slot should end after it starts";
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Duration getLength() {
+        return Duration.between(start, end);
+    }
+}
@@ -0,0 +1,73 @@
+package shinchan;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import shinchan.exception.ShinchanException;
+
+/**
+ * The part of each day that free time is looked for in, such as 0900-1800.
+ */
+public class WorkingHours {
+    /** Hours used when none are configured. */
+    public static final WorkingHours DEFAULT = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(18, 0));
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+    private static final String SEPARATOR = "-";
+
+    private static final String messageHoursBad =
+            "Working hours must be two times in HHmm format, earliest first, e.g. '0900-1800'.";
+
+    private final LocalTime start;
+    private final LocalTime end;
+
+    /**
+     * Creates working hours.
+     *
+     * @param start Time each working day starts.
+     * @param end Time each working day ends, after {@code start}.
+     */
+    public WorkingHours(LocalTime start, LocalTime end) {
+        assert start.isBefore(end) : "Working hours should end after they start";
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses working hours written as {@code HHmm-HHmm}.
+     *
+     * @param text Text to parse.
+     * @return The working hours.
+     * @throws ShinchanException If the text is malformed or the hours end before they start.
+     */
+    public static WorkingHours parse(String text) throws ShinchanException {
+        int separator = text.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new ShinchanException(messageHoursBad);
+        }
+        try {
+            LocalTime start = LocalTime.parse(text.substring(0, separator).trim(), TIME_FORMAT);
+            LocalTime end = LocalTime.parse(text.substring(separator + SEPARATOR.length()).trim(), TIME_FORMAT);
+            if (!start.isBefore(end)) {
+                throw new ShinchanException(messageHoursBad);
+            }
+            return new WorkingHours(start, end);
+        } catch (DateTimeParseException e) {
+            throw new ShinchanException(messageHoursBad);
+        }
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return start.format(TIME_FORMAT) + SEPARATOR + end.format(TIME_FORMAT);
+    }
+}
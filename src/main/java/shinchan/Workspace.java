@@ -0,0 +1,152 @@
+package shinchan;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import shinchan.command.CommandContext;
+import shinchan.exception.ShinchanException;
+import shinchan.metrics.Metrics;
+import shinchan.reminder.ReminderScheduler;
+import shinchan.storage.ArchiveStorage;
+import shinchan.storage.Storage;
+
+/**
+ * A named task list with its own data file, archive, sync and reminders.
+ *
+ * <p>Tasks start loading in the background as soon as a workspace is created. The
+ * {@link CommandContext} is built once loading finishes, by {@link Shinchan}.</p>
+ */
+class Workspace {
+    private static final String archiveFileSuffix = "-archive.gz";
+
+    private final String name;
+    private final String dataFilePath;
+    private final Storage storage;
+    private final ArchiveStorage archive;
+    private final SharedDataSync sync;
+    private final AsyncTaskLoader loader;
+    private final ReminderScheduler reminders;
+    private final Object contextLock = new Object();
+    private volatile CommandContext context;
+    private boolean isReminding;
+    private volatile boolean isDirty;
+
+    /**
+     * Creates a workspace and starts loading its tasks.
+     *
+     * @param name Name of the workspace.
+     * @param dataFilePath Path to its data file; the archive, journal and lock file are placed next to it.
+     * @param metrics Metrics to record storage timings in.
+     * @param reminderLead How long before a task is due or starts to remind about it.
+     */
+    Workspace(String name, String dataFilePath, Metrics metrics, Duration reminderLead) {
+        this.name = name;
+        this.dataFilePath = dataFilePath;
+        storage = new Storage(dataFilePath, metrics);
+        archive = new ArchiveStorage(toArchivePath(dataFilePath));
+        sync = new SharedDataSync(storage, dataFilePath);
+        loader = new AsyncTaskLoader(sync::load);
+        reminders = new ReminderScheduler(reminderLead, LocalDateTime.now());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getDataFilePath() {
+        return dataFilePath;
+    }
+
+    Storage getStorage() {
+        return storage;
+    }
+
+    ArchiveStorage getArchive() {
+        return archive;
+    }
+
+    SharedDataSync getSync() {
+        return sync;
+    }
+
+    AsyncTaskLoader getLoader() {
+        return loader;
+    }
+
+    ReminderScheduler getReminders() {
+        return reminders;
+    }
+
+    Object getContextLock() {
+        return contextLock;
+    }
+
+    /**
+     * Starts reminding about the loaded tasks, unless that has already started.
+     *
+     * @param tasks The fully loaded tasks.
+     */
+    void attachReminders(TaskList tasks) {
+        synchronized (contextLock) {
+            if (!isReminding) {
+                reminders.attach(tasks);
+                isReminding = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the context of the fully loaded tasks.
+     *
+     * @return The context, or {@code null} if loading has not finished.
+     */
+    CommandContext getContext() {
+        return context;
+    }
+
+    void setContext(CommandContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Records that a mutating command ran in this workspace, so it is saved when closed.
+     */
+    void markDirty() {
+        isDirty = true;
+    }
+
+    /**
+     * Returns the number of tasks held in memory.
+     *
+     * @return Number of loaded tasks, or 0 while loading.
+     */
+    int size() {
+        CommandContext current = context;
+        return current == null ? 0 : current.getTasks().size();
+    }
+
+    /**
+     * Saves the tasks if a mutating command ran since they were loaded, and stops following
+     * changes from other processes, so the workspace can be dropped from memory. Workspaces
+     * that were only read are not written again.
+     *
+     * @throws ShinchanException If the tasks cannot be saved.
+     */
+    void close() throws ShinchanException {
+        try {
+            CommandContext current = context;
+            if (current != null && isDirty) {
+                sync.runExclusive(current::save);
+                isDirty = false;
+            }
+        } finally {
+            sync.close();
+        }
+    }
+
+    private static String toArchivePath(String dataFilePath) {
+        int extension = dataFilePath.lastIndexOf('.');
+        boolean hasExtension = extension > dataFilePath.lastIndexOf('/') + 1;
+        return (hasExtension ? dataFilePath.substring(0, extension) : dataFilePath) + archiveFileSuffix;
+    }
+}
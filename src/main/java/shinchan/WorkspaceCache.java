@@ -0,0 +1,78 @@
+package shinchan;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps recently used workspaces in memory, up to a total number of tasks.
+ *
+ * <p>Workspaces are kept in least recently used order. Once the workspaces in memory hold
+ * more tasks than the budget, the least recently used ones are removed and returned, so
+ * that the caller can save and close them. The most recently used workspace is always kept,
+ * however many tasks it holds.</p>
+ */
+class WorkspaceCache {
+    private final Map<String, Workspace> workspaces = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxTasks;
+    private final Function<String, Workspace> opener;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxTasks Most tasks to keep in memory across all but the most recently used workspace.
+     * @param opener Creates the workspace for a data file path.
+     */
+    WorkspaceCache(int maxTasks, Function<String, Workspace> opener) {
+        this.maxTasks = maxTasks;
+        this.opener = opener;
+    }
+
+    /**
+     * Returns the workspace for a data file, opening it if it is not in memory, and marks it
+     * as the most recently used.
+     *
+     * @param dataFilePath Path to the workspace's data file.
+     * @return The workspace.
+     */
+    synchronized Workspace get(String dataFilePath) {
+        // Different spellings of the same path share one workspace
+        String key = Path.of(dataFilePath).toAbsolutePath().normalize().toString();
+        return workspaces.computeIfAbsent(key, path -> opener.apply(dataFilePath));
+    }
+
+    /**
+     * Removes the least recently used workspaces until the rest fit the task budget.
+     *
+     * @return The removed workspaces, least recently used first.
+     */
+    synchronized List<Workspace> trim() {
+        int total = 0;
+        for (Workspace workspace : workspaces.values()) {
+            total += workspace.size();
+        }
+
+        List<Workspace> evicted = new ArrayList<>();
+        Iterator<Workspace> leastRecent = workspaces.values().iterator();
+        while (total > maxTasks && workspaces.size() > 1) {
+            Workspace workspace = leastRecent.next();
+            total -= workspace.size();
+            evicted.add(workspace);
+            leastRecent.remove();
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the workspaces in memory.
+     *
+     * @return A copy of the workspaces, least recently used first.
+     */
+    synchronized List<Workspace> getAll() {
+        return new ArrayList<>(workspaces.values());
+    }
+}
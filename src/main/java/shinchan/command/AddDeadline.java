@@ -0,0 +1,77 @@
+package shinchan.command;
+
+import java.time.LocalDateTime;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Adds a deadline task.
+ */
+public class AddDeadline extends Command {
+    public static final String COMMAND_WORD = "deadline";
+
+    private final String description;
+    private final LocalDateTime dueDateTime;
+    private final RecurrenceRule rule;
+
+    /**
+     * Creates a command that adds a deadline.
+     *
+     * @param description Description of the deadline.
+     * @param dueDateTime Due date and time.
+     */
+    public AddDeadline(String description, LocalDateTime dueDateTime) {
+        this(description, dueDateTime, null);
+    }
+
+    /**
+     * Creates a command that adds a deadline, repeating if a rule is given.
+     *
+     * @param description Description of the deadline.
+     * @param dueDateTime Due date and time.
+     * @param rule How often the deadline repeats, or {@code null} if it does not.
+     */
+    public AddDeadline(String description, LocalDateTime dueDateTime, RecurrenceRule rule) {
+        assert !description.isEmpty() : "Deadline description should not be empty";
+        this.description = description;
+        this.dueDateTime = dueDateTime;
+        this.rule = rule;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDueDateTime() {
+        return dueDateTime;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        Task task = new Deadlines(description, dueDateTime);
+        if (rule != null) {
+            task = new Recurring(task, rule);
+        }
+        context.getTasks().add(task);
+        context.save();
+        context.getUi().showTaskAdded(task, context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package shinchan.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Adds an event task.
+ */
+public class AddEvent extends Command {
+    public static final String COMMAND_WORD = "event";
+
+    private final String description;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final RecurrenceRule rule;
+
+    /**
+     * Creates a command that adds an event.
+     *
+     * @param description Description of the event.
+     * @param startDateTime Start date and time.
+     * @param endDateTime End date and time.
+     */
+    public AddEvent(String description, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        this(description, startDateTime, endDateTime, null);
+    }
+
+    /**
+     * Creates a command that adds an event, repeating if a rule is given.
+     *
+     * @param description Description of the event.
+     * @param startDateTime Start date and time.
+     * @param endDateTime End date and time.
+     * @param rule How often the event repeats, or {@code null} if it does not.
+     */
+    public AddEvent(String description, LocalDateTime startDateTime, LocalDateTime endDateTime,
+            RecurrenceRule rule) {
+        assert !description.isEmpty() : "Event description should not be empty";
+        this.description = description;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.rule = rule;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        Task task = new Events(description, startDateTime, endDateTime);
+        if (rule != null) {
+            task = new Recurring(task, rule);
+        }
+        context.getTasks().add(task);
+        context.save();
+        context.getUi().showTaskAdded(task, context.getTasks().size());
+
+        if (rule == null && context.isConflictWarningOn()) {
+            List<Events> overlapping = context.getTasks().findOverlapping(startDateTime, endDateTime);
+            overlapping.remove(task);
+            if (!overlapping.isEmpty()) {
+                context.getUi().showConflictWarning(overlapping);
+            }
+        }
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+package shinchan.command;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Adds a todo task.
+ */
+public class AddTodo extends Command {
+    public static final String COMMAND_WORD = "todo";
+
+    private final String description;
+
+    /**
+     * Creates a command that adds a todo with the given description.
+     *
+     * @param description Description of the todo.
+     */
+    public AddTodo(String description) {
+        assert !description.isEmpty() : "Todo description should not be empty";
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        Task task = new Todos(description);
+        context.getTasks().add(task);
+        context.save();
+        context.getUi().showTaskAdded(task, context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
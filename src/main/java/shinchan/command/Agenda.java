@@ -0,0 +1,39 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+/**
+ * Displays the deadlines and events of today and the following days.
+ */
+public class Agenda extends Command {
+    public static final String COMMAND_WORD = "agenda";
+
+    private static final String messageNoTasksOnDay = "Nothing scheduled.";
+
+    private final int days;
+
+    /**
+     * Creates a command that shows the agenda.
+     *
+     * @param days Number of days to show, starting with today.
+     */
+    public Agenda(int days) {
+        assert days > 0 : "Days should be positive";
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        LocalDate today = LocalDate.now();
+        context.getUi().showAgenda(today, context.getTasks().getAgenda(today, days), messageNoTasksOnDay);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,66 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Moves completed tasks from the task list into the archive.
+ */
+public class Archive extends Command {
+    public static final String COMMAND_WORD = "archive";
+
+    private final int olderThanDays;
+
+    /**
+     * Creates a command that archives tasks completed more than the given number of days ago.
+     *
+     * @param olderThanDays Minimum age in days, or a negative value to archive all completed tasks.
+     */
+    public Archive(int olderThanDays) {
+        this.olderThanDays = olderThanDays;
+    }
+
+    public int getOlderThanDays() {
+        return olderThanDays;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        LocalDate cutoff = olderThanDays < 0 ? null : LocalDate.now().minusDays(olderThanDays);
+        int count = archiveCompleted(context, cutoff);
+        context.getUi().showArchived(count, context.getTasks().size());
+    }
+
+    /**
+     * Appends completed tasks to the archive and removes them from the task list.
+     *
+     * @param context Context holding the task list and archive.
+     * @param completedBefore Exclusive cutoff date, or {@code null} for all completed tasks.
+     * @return The number of tasks archived.
+     * @throws ShinchanException If the archive or data file cannot be written.
+     */
+    public static int archiveCompleted(CommandContext context, LocalDate completedBefore) throws ShinchanException {
+        List<Task> completed = context.getTasks().getCompleted(completedBefore);
+        if (completed.isEmpty()) {
+            return 0;
+        }
+
+        context.getArchive().append(completed);
+        context.getTasks().removeAll(completed);
+        context.save();
+        return completed.size();
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
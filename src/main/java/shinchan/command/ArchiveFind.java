@@ -0,0 +1,33 @@
+package shinchan.command;
+
+import shinchan.exception.ShinchanException;
+
+/**
+ * Searches the archive for tasks whose descriptions contain a keyword.
+ */
+public class ArchiveFind extends Command {
+    private final String keyword;
+
+    /**
+     * Creates a command that searches the archive for the given keyword.
+     *
+     * @param keyword Keyword to search for.
+     */
+    public ArchiveFind(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        context.getUi().showArchiveFindResults(context.getArchive().find(keyword));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return Archive.COMMAND_WORD;
+    }
+}
@@ -0,0 +1,45 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+/**
+ * Displays deadlines and events, including recurring occurrences, within a date range.
+ */
+public class Between extends Command {
+    public static final String COMMAND_WORD = "between";
+
+    private static final String messageNoTasksBetween = "No deadlines/events in that period.";
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Creates a command that lists tasks between two dates.
+     *
+     * @param from First date of the range, inclusive.
+     * @param to Last date of the range, inclusive.
+     */
+    public Between(LocalDate from, LocalDate to) {
+        assert !to.isBefore(from) : "Range end should not be before its start";
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showTasksBetween(from, to, context.getTasks().findBetween(from, to), messageNoTasksBetween);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,23 @@
+package shinchan.command;
+
+/**
+ * Ends the session.
+ */
+public class Bye extends Command {
+    public static final String COMMAND_WORD = "bye";
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showBye();
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isExit() {
+        return true;
+    }
+}
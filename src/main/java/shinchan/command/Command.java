@@ -0,0 +1,79 @@
+package shinchan.command;
+
+import shinchan.TaskList;
+import shinchan.exception.ShinchanException;
+
+/**
+ * Represents a fully parsed user command.
+ *
+ * <p>Commands hold only typed arguments, so they can be queued, journalled or
+ * replayed without parsing the original input again.</p>
+ */
+public abstract class Command {
+
+    /**
+     * Executes the command.
+     *
+     * @param context The task list, storage and UI to operate on.
+     * @throws ShinchanException If the command cannot be executed.
+     */
+    public abstract void execute(CommandContext context) throws ShinchanException;
+
+    /**
+     * Returns the command word, used to group commands in statistics.
+     *
+     * @return The lowercase command word.
+     */
+    public abstract String getCommandWord();
+
+    /**
+     * Returns whether executing this command changes the task list.
+     *
+     * @return {@code true} if the command modifies tasks.
+     */
+    public boolean isMutating() {
+        return false;
+    }
+
+    /**
+     * Returns whether this command needs every task, so it must wait for tasks to finish
+     * loading rather than run against those loaded so far. Mutating commands always wait.
+     *
+     * @return {@code true} if the command's result would be wrong for a partial list.
+     */
+    public boolean needsAllTasks() {
+        return false;
+    }
+
+    /**
+     * Returns the workspace to switch to before this command runs.
+     *
+     * @return The workspace name, or {@code null} to stay in the current one.
+     */
+    public String getWorkspace() {
+        return null;
+    }
+
+    /**
+     * Returns whether the chatbot should terminate after this command.
+     *
+     * @return {@code true} if the chatbot should exit.
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks whether an index is within the valid task list range.
+     *
+     * @param tasks Task list the index refers to.
+     * @param index Task index (0-based).
+     * @param invalidMessage Message to use if the index is out of range.
+     * @throws ShinchanException If the index is out of range.
+     */
+    protected static void checkIndex(TaskList tasks, int index, String invalidMessage) throws ShinchanException {
+        if (index < 0 || index >= tasks.size()) {
+            throw new ShinchanException(invalidMessage);
+        }
+    }
+}
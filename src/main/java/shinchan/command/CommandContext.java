@@ -0,0 +1,94 @@
+package shinchan.command;
+
+import shinchan.TaskList;
+import shinchan.WorkingHours;
+import shinchan.exception.ShinchanException;
+import shinchan.metrics.Metrics;
+import shinchan.storage.ArchiveStorage;
+import shinchan.storage.Storage;
+import shinchan.ui.Ui;
+
+/**
+ * Bundles the components that commands operate on.
+ */
+public class CommandContext {
+    private final TaskList tasks;
+    private final Storage storage;
+    private final ArchiveStorage archive;
+    private final Metrics metrics;
+    private final Ui ui;
+    private final boolean isConflictWarningOn;
+    private final WorkingHours workingHours;
+
+    /**
+     * Creates a context for executing commands.
+     *
+     * @param tasks The task list.
+     * @param storage Storage for the task list.
+     * @param archive Archive for completed tasks.
+     * @param metrics Metrics to report in statistics.
+     * @param ui UI to show results on.
+     */
+    public CommandContext(TaskList tasks, Storage storage, ArchiveStorage archive, Metrics metrics, Ui ui) {
+        this(tasks, storage, archive, metrics, ui, true, WorkingHours.DEFAULT);
+    }
+
+    /**
+     * Creates a context for executing commands.
+     *
+     * @param tasks The task list.
+     * @param storage Storage for the task list.
+     * @param archive Archive for completed tasks.
+     * @param metrics Metrics to report in statistics.
+     * @param ui UI to show results on.
+     * @param isConflictWarningOn Whether adding an event warns about the events it overlaps.
+     * @param workingHours The part of each day to look for free time in.
+     */
+    public CommandContext(TaskList tasks, Storage storage, ArchiveStorage archive, Metrics metrics, Ui ui,
+            boolean isConflictWarningOn, WorkingHours workingHours) {
+        this.tasks = tasks;
+        this.storage = storage;
+        this.archive = archive;
+        this.metrics = metrics;
+        this.ui = ui;
+        this.isConflictWarningOn = isConflictWarningOn;
+        this.workingHours = workingHours;
+    }
+
+    public TaskList getTasks() {
+        return tasks;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public ArchiveStorage getArchive() {
+        return archive;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Ui getUi() {
+        return ui;
+    }
+
+    public boolean isConflictWarningOn() {
+        return isConflictWarningOn;
+    }
+
+    public WorkingHours getWorkingHours() {
+        return workingHours;
+    }
+
+    /**
+     * Saves the current task list to storage.
+     *
+     * @throws ShinchanException If the file cannot be written.
+     */
+    public void save() throws ShinchanException {
+        storage.save(tasks.asMutableList());
+    }
+}
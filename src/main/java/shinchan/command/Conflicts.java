@@ -0,0 +1,44 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+/**
+ * Displays groups of pending events that overlap, optionally within a date range.
+ */
+public class Conflicts extends Command {
+    public static final String COMMAND_WORD = "conflicts";
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Creates a command that finds overlapping events.
+     *
+     * @param from First date of the range, or {@code null} for every one-off event.
+     * @param to Last date of the range, or {@code null} for every one-off event.
+     */
+    public Conflicts(LocalDate from, LocalDate to) {
+        assert (from == null) == (to == null) : "Both ends of the range should be given, or neither";
+        assert from == null || !to.isBefore(from) : "Range end should not be before its start";
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showConflicts(context.getTasks().findConflicts(from, to));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
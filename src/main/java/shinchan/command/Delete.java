@@ -0,0 +1,47 @@
+package shinchan.command;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Deletes a task from the task list.
+ */
+public class Delete extends Command {
+    public static final String COMMAND_WORD = "delete";
+
+    private static final String messageDeleteInvalid = "Invalid task number for deletion.";
+
+    private final int index;
+
+    /**
+     * Creates a command that deletes the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     */
+    public Delete(int index) {
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        checkIndex(context.getTasks(), index, messageDeleteInvalid);
+
+        Task removed = context.getTasks().remove(index);
+        context.save();
+        context.getUi().showTaskDeleted(removed, context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
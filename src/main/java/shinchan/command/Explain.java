@@ -0,0 +1,52 @@
+package shinchan.command;
+
+import java.util.List;
+
+import shinchan.TaskList;
+import shinchan.query.Condition;
+import shinchan.query.QueryPlan;
+
+/**
+ * Shows how a query would be answered, then runs it and reports how long each stage took.
+ */
+public class Explain extends Command {
+    public static final String COMMAND_WORD = "explain";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Condition condition;
+
+    /**
+     * Creates a command that explains the plan for a condition.
+     *
+     * @param condition Condition to plan.
+     */
+    public Explain(Condition condition) {
+        this.condition = condition;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        TaskList tasks = context.getTasks();
+        long start = System.nanoTime();
+        QueryPlan plan = tasks.planQuery(condition);
+        long planned = System.nanoTime();
+        int matchCount = plan.execute().size();
+        long finished = System.nanoTime();
+
+        List<String> lines = plan.describe();
+        lines.add(String.format("Found %d of %d tasks in %.3f ms (planning %.3f ms, running %.3f ms).",
+                matchCount, tasks.size(), (finished - start) / NANOS_PER_MILLI,
+                (planned - start) / NANOS_PER_MILLI, (finished - planned) / NANOS_PER_MILLI));
+        context.getUi().showQueryPlan(lines);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
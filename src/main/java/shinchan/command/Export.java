@@ -0,0 +1,50 @@
+package shinchan.command;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.TaskExporter;
+import shinchan.storage.TransferFormat;
+
+/**
+ * Exports every task in the list to a CSV or JSON Lines file.
+ */
+public class Export extends Command {
+    public static final String COMMAND_WORD = "export";
+
+    private final String filePath;
+    private final TransferFormat format;
+
+    /**
+     * Creates a command that exports the task list.
+     *
+     * @param filePath File to create or overwrite.
+     * @param format Format to write.
+     */
+    public Export(String filePath, TransferFormat format) {
+        this.filePath = filePath;
+        this.format = format;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public TransferFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        int count = new TaskExporter(filePath, format).export(context.getTasks().asUnmodifiableList());
+        context.getUi().showExported(count, filePath);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean needsAllTasks() {
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shinchan.TaskList;
+import shinchan.search.TaskFilter;
+import shinchan.task.Task;
+
+/**
+ * Lists the tasks matching a filter on type, completion status and tags.
+ */
+public class Filter extends Command {
+    public static final String COMMAND_WORD = "filter";
+
+    private final TaskFilter filter;
+
+    /**
+     * Creates a command that lists the tasks matching a filter.
+     *
+     * @param filter Filter to apply.
+     */
+    public Filter(TaskFilter filter) {
+        this.filter = filter;
+    }
+
+    public TaskFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        TaskList tasks = context.getTasks();
+        List<Integer> indexes = tasks.filter(filter);
+
+        // Tasks keep their list numbers, so they can still be marked or deleted by number
+        List<Task> matches = new ArrayList<>(indexes.size());
+        List<Integer> numbers = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            matches.add(tasks.get(index));
+            numbers.add(index + 1);
+        }
+        context.getUi().showFilterResults(matches, numbers);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
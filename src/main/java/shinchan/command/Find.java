@@ -0,0 +1,33 @@
+package shinchan.command;
+
+/**
+ * Finds tasks whose descriptions contain a keyword.
+ */
+public class Find extends Command {
+    public static final String COMMAND_WORD = "find";
+
+    private final String keyword;
+
+    /**
+     * Creates a command that searches for the given keyword.
+     *
+     * @param keyword Keyword to search for.
+     */
+    public Find(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showFindResults(context.getTasks().find(keyword));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,55 @@
+package shinchan.command;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Displays the free periods within working hours on a day or a range of days.
+ */
+public class Free extends Command {
+    public static final String COMMAND_WORD = "free";
+    public static final Duration DEFAULT_MIN_LENGTH = Duration.ofMinutes(30);
+    public static final int MAX_DAYS = 31;
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Duration minLength;
+
+    /**
+     * Creates a command that finds free time.
+     *
+     * @param from First date to search, inclusive.
+     * @param to Last date to search, inclusive.
+     * @param minLength Shortest free period to show.
+     */
+    public Free(LocalDate from, LocalDate to, Duration minLength) {
+        assert !to.isBefore(from) : "Range end should not be before its start";
+        assert from.plusDays(MAX_DAYS).isAfter(to) : "Range should not exceed " + MAX_DAYS + " days";
+        this.from = from;
+        this.to = to;
+        this.minLength = minLength;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Duration getMinLength() {
+        return minLength;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showFreeSlots(from, to, context.getWorkingHours(),
+                context.getTasks().findFreeSlots(from, to, context.getWorkingHours(), minLength));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,40 @@
+package shinchan.command;
+
+/**
+ * Finds tasks whose description words are close to the query words, tolerating typos.
+ */
+public class FuzzyFind extends Command {
+    public static final String COMMAND_WORD = "find~";
+
+    private final String query;
+    private final int maxDistance;
+
+    /**
+     * Creates a command that searches for words close to the query.
+     *
+     * @param query Words to search for.
+     * @param maxDistance Largest edit distance per word, or {@code FuzzyIndex.AUTO}.
+     */
+    public FuzzyFind(String query, int maxDistance) {
+        this.query = query;
+        this.maxDistance = maxDistance;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showFindResults(context.getTasks().findFuzzy(query, maxDistance));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,65 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.TaskImporter;
+import shinchan.storage.TransferFormat;
+import shinchan.task.Task;
+
+/**
+ * Adds the tasks in a CSV or JSON Lines file to the task list.
+ *
+ * <p>The whole file is read before any task is added, so an invalid record leaves the
+ * list unchanged, and the data file is saved once however many tasks are imported.</p>
+ */
+public class Import extends Command {
+    public static final String COMMAND_WORD = "import";
+
+    private final String filePath;
+    private final TransferFormat format;
+
+    /**
+     * Creates a command that imports tasks from a file.
+     *
+     * @param filePath File to read.
+     * @param format Format of the file.
+     */
+    public Import(String filePath, TransferFormat format) {
+        this.filePath = filePath;
+        this.format = format;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public TransferFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        List<Task> imported = new ArrayList<>();
+        new TaskImporter(filePath, format).importTasks(imported::add);
+
+        if (!imported.isEmpty()) {
+            for (Task task : imported) {
+                context.getTasks().add(task);
+            }
+            context.save();
+        }
+        context.getUi().showImported(imported.size(), context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.IcsImporter;
+import shinchan.task.Task;
+
+/**
+ * Adds the events and to-dos in an iCalendar file to the task list.
+ *
+ * <p>Entries that match a task already in the list, or an earlier entry in the file, by
+ * {@link IcsImporter#getDuplicateKey(Task)} are skipped, so importing the same calendar
+ * again adds nothing. As with {@link Import}, the whole file is read before any task is
+ * added and the data file is saved once.</p>
+ */
+public class ImportCalendar extends Command {
+    public static final String COMMAND_WORD = "import-ics";
+
+    private final String filePath;
+
+    /**
+     * Creates a command that imports tasks from an iCalendar file.
+     *
+     * @param filePath File to read.
+     */
+    public ImportCalendar(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        Set<String> keys = new HashSet<>();
+        for (Task task : context.getTasks().asUnmodifiableList()) {
+            keys.add(IcsImporter.getDuplicateKey(task));
+        }
+        List<Task> imported = new ArrayList<>();
+        int read = new IcsImporter(filePath).importTasks(task -> {
+            if (keys.add(IcsImporter.getDuplicateKey(task))) {
+                imported.add(task);
+            }
+        });
+
+        if (!imported.isEmpty()) {
+            for (Task task : imported) {
+                context.getTasks().add(task);
+            }
+            context.save();
+        }
+        context.getUi().showImportedCalendar(imported.size(), read - imported.size(), context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import shinchan.SortOrder;
+import shinchan.TaskList;
+import shinchan.task.Task;
+
+/**
+ * Displays the full task list, optionally sorted.
+ */
+public class ListTasks extends Command {
+    public static final String COMMAND_WORD = "list";
+
+    private final SortOrder order;
+
+    /**
+     * Creates a command that lists tasks in list order.
+     */
+    public ListTasks() {
+        this(null);
+    }
+
+    /**
+     * Creates a command that lists tasks in the given order.
+     *
+     * @param order The order to list tasks in, or {@code null} for list order.
+     */
+    public ListTasks(SortOrder order) {
+        this.order = order;
+    }
+
+    public SortOrder getOrder() {
+        return order;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        TaskList tasks = context.getTasks();
+        if (order == null) {
+            context.getUi().showTaskList(tasks.asUnmodifiableList());
+            return;
+        }
+
+        // Tasks keep their list numbers, so they can still be marked or deleted by number
+        Map<Task, Integer> numbers = new IdentityHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            numbers.put(tasks.get(i), i + 1);
+        }
+
+        List<Task> sorted = tasks.getSorted(order);
+        List<Integer> sortedNumbers = new ArrayList<>(sorted.size());
+        for (Task task : sorted) {
+            sortedNumbers.add(numbers.get(task));
+        }
+        context.getUi().showSortedTaskList(sorted, sortedNumbers);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,37 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+/**
+ * Displays the next pending deadlines and events, including recurring occurrences.
+ */
+public class Next extends Command {
+    public static final String COMMAND_WORD = "next";
+    public static final int DEFAULT_COUNT = 5;
+
+    private final int count;
+
+    /**
+     * Creates a command that lists the next pending tasks.
+     *
+     * @param count Maximum number of tasks to show.
+     */
+    public Next(int count) {
+        assert count > 0 : "Count should be positive";
+        this.count = count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showUpcoming(context.getTasks().findUpcoming(LocalDate.now(), count));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
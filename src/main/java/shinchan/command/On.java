@@ -0,0 +1,37 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+/**
+ * Displays deadlines and events occurring on a specific date.
+ */
+public class On extends Command {
+    public static final String COMMAND_WORD = "on";
+
+    private static final String messageNoTasksOnDate = "No deadlines/events on that date.";
+
+    private final LocalDate date;
+
+    /**
+     * Creates a command that lists tasks on the given date.
+     *
+     * @param date Date to search for.
+     */
+    public On(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showTasksOnDate(date, context.getTasks().findOn(date), messageNoTasksOnDate);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,50 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shinchan.TaskList;
+import shinchan.query.Condition;
+import shinchan.task.Task;
+
+/**
+ * Lists the tasks matching a query, read through whichever index the planner finds cheapest.
+ */
+public class Query extends Command {
+    public static final String COMMAND_WORD = "query";
+
+    private final Condition condition;
+
+    /**
+     * Creates a command that lists the tasks satisfying a condition.
+     *
+     * @param condition Condition to satisfy.
+     */
+    public Query(Condition condition) {
+        this.condition = condition;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        TaskList tasks = context.getTasks();
+        List<Integer> indexes = tasks.planQuery(condition).execute();
+
+        // Tasks keep their list numbers, so they can still be marked or deleted by number
+        List<Task> matches = new ArrayList<>(indexes.size());
+        List<Integer> numbers = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            matches.add(tasks.get(index));
+            numbers.add(index + 1);
+        }
+        context.getUi().showFilterResults(matches, numbers);
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
@@ -0,0 +1,18 @@
+package shinchan.command;
+
+/**
+ * Displays latency and storage statistics.
+ */
+public class Stats extends Command {
+    public static final String COMMAND_WORD = "stats";
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showStats(context.getMetrics().summarize());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
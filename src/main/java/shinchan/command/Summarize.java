@@ -0,0 +1,43 @@
+package shinchan.command;
+
+import java.time.LocalDateTime;
+
+/**
+ * Displays counts of tasks by type and status, overdue deadlines and pending work per week.
+ */
+public class Summarize extends Command {
+    public static final String COMMAND_WORD = "summary";
+    public static final int DEFAULT_WEEKS = 4;
+    public static final int MAX_WEEKS = 52;
+
+    private final int weeks;
+
+    /**
+     * Creates a command that summarizes the task list.
+     *
+     * @param weeks Number of weeks of pending work to show, starting with this week.
+     */
+    public Summarize(int weeks) {
+        assert weeks > 0 && weeks <= MAX_WEEKS : "Weeks should be between 1 and " + MAX_WEEKS;
+        this.weeks = weeks;
+    }
+
+    public int getWeeks() {
+        return weeks;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showSummary(context.getTasks().summarize(LocalDateTime.now(), weeks));
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean needsAllTasks() {
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package shinchan.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shinchan.TaskList;
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Adds tags to a task.
+ */
+public class Tag extends Command {
+    public static final String COMMAND_WORD = "tag";
+
+    private static final String messageInvalidTaskNumber = "Invalid task number.";
+
+    private final int index;
+    private final List<String> tags;
+
+    /**
+     * Creates a command that adds tags to the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     * @param tags Tags to add, lowercase and without a leading {@code #}.
+     */
+    public Tag(int index, List<String> tags) {
+        this.index = index;
+        this.tags = List.copyOf(tags);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        TaskList tasks = context.getTasks();
+        checkIndex(tasks, index, messageInvalidTaskNumber);
+
+        List<String> updated = new ArrayList<>(tasks.get(index).getTags());
+        for (String tag : tags) {
+            if (!updated.contains(tag)) {
+                updated.add(tag);
+            }
+        }
+        Task task = tasks.setTags(index, updated);
+
+        context.save();
+        context.getUi().showMessage(task.toString());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
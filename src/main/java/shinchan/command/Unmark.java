@@ -0,0 +1,92 @@
+package shinchan.command;
+
+import java.time.LocalDate;
+
+import shinchan.TaskList;
+import shinchan.exception.ShinchanException;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Marks a task, or one occurrence of a recurring task, as not completed.
+ */
+public class Unmark extends Command {
+    public static final String COMMAND_WORD = "unmark";
+
+    private static final String messageInvalidTaskNumber = "Invalid task number.";
+    private static final String messageNotRecurring = "Only recurring tasks can be unmarked for a date.";
+    private static final String messageNoOccurrence = "That task does not occur on that date.";
+    private static final String messageNoCompletedOccurrence = "That task has no completed occurrences.";
+
+    private final int index;
+    private final LocalDate occurrenceDate;
+
+    /**
+     * Creates a command for the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     */
+    public Unmark(int index) {
+        this(index, null);
+    }
+
+    /**
+     * Creates a command for the occurrence on a date of the recurring task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     * @param occurrenceDate Date of the occurrence, or {@code null} for the latest completed one.
+     */
+    public Unmark(int index, LocalDate occurrenceDate) {
+        this.index = index;
+        this.occurrenceDate = occurrenceDate;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    @Override
+    public void execute(CommandContext context) throws ShinchanException {
+        TaskList tasks = context.getTasks();
+        checkIndex(tasks, index, messageInvalidTaskNumber);
+
+        Task task;
+        if (tasks.get(index) instanceof Recurring) {
+            Recurring recurring = (Recurring) tasks.get(index);
+            int occurrence;
+            if (occurrenceDate != null) {
+                occurrence = recurring.findOccurrence(occurrenceDate);
+                if (occurrence < 0) {
+                    throw new ShinchanException(messageNoOccurrence);
+                }
+            } else {
+                occurrence = recurring.getLastCompleted();
+                if (occurrence < 0) {
+                    throw new ShinchanException(messageNoCompletedOccurrence);
+                }
+            }
+            task = tasks.markOccurrence(index, occurrence, false);
+        } else if (occurrenceDate != null) {
+            throw new ShinchanException(messageNotRecurring);
+        } else {
+            task = tasks.markAsUndone(index);
+        }
+
+        context.save();
+        context.getUi().showMessage(task.toString());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
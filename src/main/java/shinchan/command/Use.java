@@ -0,0 +1,36 @@
+package shinchan.command;
+
+/**
+ * Switches to another workspace, a separate task list kept in its own data file.
+ * The switch itself is made before the command runs; running it shows the new list's size.
+ */
+public class Use extends Command {
+    public static final String COMMAND_WORD = "use";
+
+    private final String workspace;
+
+    /**
+     * Creates a command that switches workspace.
+     *
+     * @param workspace Name of the workspace, lowercase letters, digits, '-' and '_'.
+     */
+    public Use(String workspace) {
+        assert !workspace.isEmpty() : "Workspace name should not be empty";
+        this.workspace = workspace;
+    }
+
+    @Override
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    @Override
+    public void execute(CommandContext context) {
+        context.getUi().showWorkspace(workspace, context.getTasks().size());
+    }
+
+    @Override
+    public String getCommandWord() {
+        return COMMAND_WORD;
+    }
+}
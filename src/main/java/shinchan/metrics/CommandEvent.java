@@ -0,0 +1,25 @@
+package shinchan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted around the dispatch of a single command.
+ */
+@Name("shinchan.Command")
+@Label("Command")
+@Category("Shinchan")
+@Description("Handling of a single user command")
+public class CommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Input Length")
+    public int inputLength;
+
+    @Label("Succeeded")
+    public boolean isSuccessful;
+}
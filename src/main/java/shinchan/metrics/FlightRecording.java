@@ -0,0 +1,54 @@
+package shinchan.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Starts a continuous Flight Recorder recording when requested through the
+ * {@code shinchan.jfr} system property, e.g. {@code -Dshinchan.jfr=shinchan.jfr}.
+ *
+ * <p>The recording keeps the last {@value #MAX_AGE_MINUTES} minutes of data and is
+ * written to the given file when the JVM exits.</p>
+ */
+public class FlightRecording {
+    private static final String jfrProperty = "shinchan.jfr";
+    private static final long MAX_AGE_MINUTES = 30;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private FlightRecording() {
+        // Utility class
+    }
+
+    /**
+     * Starts a recording if the {@code shinchan.jfr} system property is set.
+     * Failures are reported on standard error and otherwise ignored.
+     */
+    public static void startIfRequested() {
+        String destination = System.getProperty(jfrProperty);
+        if (destination == null || destination.isBlank()) {
+            return;
+        }
+
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("Shinchan");
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(MAX_AGE_MINUTES));
+            recording.setDestination(Path.of(destination));
+            recording.setDumpOnExit(true);
+            recording.enable(CommandEvent.class).withoutThreshold();
+            recording.enable(StorageEvent.class).withoutThreshold();
+            recording.enable(RenderEvent.class).withoutThreshold();
+            recording.start();
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+}
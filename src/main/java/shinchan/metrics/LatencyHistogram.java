@@ -0,0 +1,92 @@
+package shinchan.metrics;
+
+/**
+ * Records latencies into fixed log-linear buckets so that percentiles can be
+ * reported without storing individual samples.
+ *
+ * <p>Each power of two is split into eight sub-buckets, so a reported
+ * percentile is at most 12.5% above the true value. Recording a sample is a
+ * few shifts and an array increment.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long max;
+
+    /**
+     * Records a single latency.
+     *
+     * @param nanos Latency in nanoseconds; negative values are treated as zero.
+     */
+    public synchronized void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return Sample count.
+     */
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return Maximum latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns an upper bound for the given percentile.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public synchronized long getPercentile(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile should be between 0 and 100";
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + width - 1;
+    }
+}
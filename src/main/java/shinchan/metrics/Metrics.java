@@ -0,0 +1,143 @@
+package shinchan.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects per-command and per-phase latencies along with storage counters.
+ *
+ * <p>Commands slower than the {@code shinchan.slowCommandMillis} system property
+ * are also logged to standard error.</p>
+ */
+public class Metrics {
+    /** Storage phase for reading the data file. */
+    public static final String PHASE_LOAD = "load";
+    /** Storage phase for writing the data file. */
+    public static final String PHASE_SAVE = "save";
+    /** Phase for capturing a command's printed output for the GUI. */
+    public static final String PHASE_OUTPUT = "output";
+
+    private static final String slowCommandMillisProperty = "shinchan.slowCommandMillis";
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Map<String, LatencyHistogram> commands = new TreeMap<>();
+    private final Map<String, LatencyHistogram> phases = new TreeMap<>();
+    private final long slowCommandNanos;
+    private long bytesWritten;
+    private long tasksSerialised;
+
+    /**
+     * Creates a Metrics object using the slow-command threshold from the
+     * {@code shinchan.slowCommandMillis} system property, if set.
+     */
+    public Metrics() {
+        this(Long.getLong(slowCommandMillisProperty, -1L));
+    }
+
+    /**
+     * Creates a Metrics object with the given slow-command threshold.
+     *
+     * @param slowCommandMillis Threshold in milliseconds, or a negative value to disable logging.
+     */
+    public Metrics(long slowCommandMillis) {
+        this.slowCommandNanos = slowCommandMillis < 0 ? Long.MAX_VALUE : slowCommandMillis * NANOS_PER_MILLI;
+    }
+
+    /**
+     * Records how long a command took, logging it if it was slow.
+     *
+     * @param command Command word.
+     * @param nanos Elapsed time in nanoseconds.
+     * @param input The full user input, used in the slow-command log.
+     */
+    public synchronized void recordCommand(String command, long nanos, String input) {
+        commands.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        if (nanos >= slowCommandNanos) {
+            System.err.println("Slow command (" + formatMillis(nanos) + "): " + input);
+        }
+    }
+
+    /**
+     * Records how long a storage or output phase took.
+     *
+     * @param phase Phase name, such as {@link #PHASE_SAVE}.
+     * @param nanos Elapsed time in nanoseconds.
+     */
+    public synchronized void recordPhase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Adds to the storage write counters.
+     *
+     * @param bytes Number of bytes written.
+     * @param taskCount Number of tasks serialised.
+     */
+    public synchronized void recordWrite(long bytes, long taskCount) {
+        bytesWritten += bytes;
+        tasksSerialised += taskCount;
+    }
+
+    /**
+     * Returns the latency histogram for a command.
+     *
+     * @param command Command word.
+     * @return The histogram, or {@code null} if the command has not run.
+     */
+    public synchronized LatencyHistogram getCommandHistogram(String command) {
+        return commands.get(command);
+    }
+
+    /**
+     * Returns the total number of bytes written by storage.
+     *
+     * @return Bytes written.
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the total number of tasks serialised by storage.
+     *
+     * @return Tasks serialised.
+     */
+    public synchronized long getTasksSerialised() {
+        return tasksSerialised;
+    }
+
+    /**
+     * Returns one line per command and phase with its p50, p99 and max latency,
+     * followed by the storage counters.
+     *
+     * @return Summary lines for display.
+     */
+    public synchronized List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Commands:");
+        addLines(lines, commands);
+        lines.add("Phases:");
+        addLines(lines, phases);
+        lines.add("  bytes written: " + bytesWritten + ", tasks serialised: " + tasksSerialised);
+        return lines;
+    }
+
+    private static void addLines(List<String> lines, Map<String, LatencyHistogram> histograms) {
+        if (histograms.isEmpty()) {
+            lines.add("  (none yet)");
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            lines.add("  " + entry.getKey() + ": n=" + histogram.getCount()
+                    + " p50=" + formatMillis(histogram.getPercentile(50))
+                    + " p99=" + formatMillis(histogram.getPercentile(99))
+                    + " max=" + formatMillis(histogram.getMax()));
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / (double) NANOS_PER_MILLI);
+    }
+}
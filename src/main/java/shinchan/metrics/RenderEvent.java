@@ -0,0 +1,22 @@
+package shinchan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted around handling and rendering one GUI exchange.
+ */
+@Name("shinchan.Render")
+@Label("GUI Render")
+@Category("Shinchan")
+@Description("Computing a response and adding its dialog boxes to the GUI")
+public class RenderEvent extends Event {
+    @Label("Input Length")
+    public int inputLength;
+
+    @Label("Response Length")
+    public int responseLength;
+}
@@ -0,0 +1,34 @@
+package shinchan.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports how long the application took to become usable when the
+ * {@code shinchan.startupTiming} system property is set to {@code true}.
+ */
+public class StartupTimer {
+    private static final String startupTimingProperty = "shinchan.startupTiming";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private StartupTimer() {
+        // Utility class
+    }
+
+    /**
+     * Prints the time since JVM start to standard error, if startup timing is enabled.
+     *
+     * @param milestone Description of what has just become ready, e.g. "first prompt".
+     */
+    public static void report(String milestone) {
+        if (!Boolean.getBoolean(startupTimingProperty)) {
+            return;
+        }
+
+        // Only loaded when timing is requested, so normal startup does not pay for it
+        long startMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.err.println("Startup: " + milestone + " after "
+                + (System.currentTimeMillis() - startMillis) + "ms");
+    }
+}
@@ -0,0 +1,30 @@
+package shinchan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted around loading or saving the data file.
+ */
+@Name("shinchan.Storage")
+@Label("Storage I/O")
+@Category("Shinchan")
+@Description("Loading or saving the task data file")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
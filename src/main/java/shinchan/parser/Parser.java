@@ -1,63 +1,755 @@
 package shinchan.parser;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
+import shinchan.SortOrder;
+import shinchan.TaskList;
+import shinchan.command.AddDeadline;
+import shinchan.command.AddEvent;
+import shinchan.command.AddTodo;
+import shinchan.command.Agenda;
+import shinchan.command.Archive;
+import shinchan.command.ArchiveFind;
+import shinchan.command.Between;
+import shinchan.command.Bye;
+import shinchan.command.Command;
+import shinchan.command.Conflicts;
+import shinchan.command.Delete;
+import shinchan.command.Explain;
+import shinchan.command.Export;
+import shinchan.command.Filter;
+import shinchan.command.Find;
+import shinchan.command.Free;
+import shinchan.command.FuzzyFind;
+import shinchan.command.Import;
+import shinchan.command.ImportCalendar;
+import shinchan.command.ListTasks;
+import shinchan.command.Mark;
+import shinchan.command.Next;
+import shinchan.command.On;
+import shinchan.command.Query;
+import shinchan.command.Stats;
+import shinchan.command.Summarize;
+import shinchan.command.Tag;
+import shinchan.command.Unmark;
+import shinchan.command.Untag;
+import shinchan.command.Use;
 import shinchan.exception.ShinchanException;
+import shinchan.search.FuzzyIndex;
+import shinchan.search.TaskFilter;
+import shinchan.storage.TransferFormat;
+import shinchan.task.RecurrenceRule;
 
 /**
  * Parses user input into command words, arguments, and typed values.
  */
 public class Parser {
-    private static final int SPLIT_LIMIT_TWO = 2;
     private static final int USER_INDEX_OFFSET = 1;
+    private static final int NOT_FOUND = -1;
+    private static final int ARCHIVE_ALL = -1;
+
+    private static final String MARKER_BY = "/by";
+    private static final String MARKER_FROM = "/from";
+    private static final String MARKER_TO = "/to";
+    private static final String MARKER_OLDER = "/older";
+    private static final String MARKER_ON = "/on";
+    private static final String MARKER_EVERY = "/every";
+    private static final String MARKER_UNTIL = "/until";
+    private static final String MARKER_SORT = "/sort";
+    private static final String ARCHIVE_FIND = "find";
+    private static final char TAG_PREFIX = '#';
+    private static final char FILTER_NEGATION = '-';
+    private static final char FILTER_KEY_END = ':';
+    private static final char FILTER_VALUE_SEPARATOR = ',';
+    private static final List<String> TYPE_NAMES = List.of("todo", "deadline", "event", "recurring");
 
     private static final DateTimeFormatter DATE_TIME_INPUT =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
 
+    private static final String messageEmptyInput =
+            "Input cannot be empty. Please enter a valid command.";
+    private static final String messageUnknownCommand =
+            "I'm sorry, but I don't know what that means.";
+    private static final String messageInvalidTaskNumber =
+            "Invalid task number.";
+    private static final String messageTodoEmpty =
+            "The description of a todo cannot be empty.";
+    private static final String messageDeadlineEmpty =
+            "The description of a deadline cannot be empty.";
+    private static final String messageDeadlineMissingBy =
+            "The deadline command must include '/by' followed by the due date/time.";
+    private static final String messageEventEmpty =
+            "The description of an event cannot be empty.";
+    private static final String messageEventMissingTime =
+            "The event command must include '/from' and '/to' followed by the respective date/time.";
+    private static final String messageEventEndBeforeStart =
+            "The event cannot end before it starts.";
+    private static final String messageDateTimeBad =
+            "Date/time must be in yyyy-MM-dd HHmm format.";
+    private static final String messageDeleteInvalid =
+            "Invalid task number for deletion.";
+    private static final String messageFindEmpty =
+            "The find command must include a keyword.";
+    private static final String messageOnMissingDate =
+            "The on command must include a date in yyyy-MM-dd format.";
+    private static final String messageArchiveBadDays =
+            "The archive command takes '/older' followed by a number of days.";
+    private static final String messageArchiveFindEmpty =
+            "The archive find command must include a keyword.";
+    private static final String messageOccurrenceDateBad =
+            "The '/on' option must be followed by a date in yyyy-MM-dd format.";
+    private static final String messageEveryBad =
+            "The '/every' option must be followed by an optional number and day, week or month.";
+    private static final String messageUntilBad =
+            "The '/until' option must be followed by a date in yyyy-MM-dd format.";
+    private static final String messageBetweenBad =
+            "The between command must include two dates in yyyy-MM-dd format, earliest first.";
+    private static final String messageFuzzyFindBad =
+            "The find~ command must include a keyword, e.g. 'find~ meetng' or 'find~2 meetng'.";
+    private static final String messageListSortBad =
+            "The list command takes an optional '/sort' followed by date, type or status.";
+    private static final String messageNextBad =
+            "The next command takes an optional positive number of tasks.";
+    private static final String messageConflictsBad =
+            "The conflicts command takes either no dates or two dates in yyyy-MM-dd format, earliest first.";
+    private static final String messageUseBad =
+            "The use command must include a workspace name of letters, digits, '-' and '_', e.g. 'use work'.";
+    private static final String messageFreeBad =
+            "The free command must include a date, optionally an end date up to " + Free.MAX_DAYS
+            + " days later and a shortest length such as 45m or 1h30m, e.g. 'free 2026-03-02 1h'.";
+    private static final String messageAgendaBad =
+            "The agenda command takes an optional number of days from 1 to " + TaskList.AGENDA_DAYS + ".";
+    private static final String messageSummaryBad =
+            "The summary command takes an optional number of weeks from 1 to " + Summarize.MAX_WEEKS + ".";
+    private static final String messageExportEmpty =
+            "The export command must include a file name, optionally followed by csv or jsonl.";
+    private static final String messageImportEmpty =
+            "The import command must include a file name, optionally followed by csv or jsonl.";
+    private static final String messageImportCalendarEmpty =
+            "The import-ics command must include the name of an iCalendar file, e.g. 'import-ics work.ics'.";
+    private static final String messageTagBad =
+            "The tag command must include a task number followed by tags, e.g. 'tag 2 work urgent'.";
+    private static final String messageUntagBad =
+            "The untag command must include a task number followed by tags, e.g. 'untag 2 work'.";
+    private static final String messageTagNameBad =
+            "Tags may only contain letters, digits, '-' and '_'.";
+    private static final String messageFilterBad =
+            "The filter command takes terms such as 'type:D done:false tag:work,home -tag:later'.";
+
     /**
-     * Extracts the command word from a full input line.
+     * Parses a full input line into a command in a single left-to-right scan.
+     *
+     * <p>Argument markers such as {@code /by}, {@code /from} and {@code /to} are only
+     * recognised as whole words, and the last occurrence wins, so descriptions may
+     * contain them freely (e.g. {@code deadline read /by chapter /by 2026-01-10 1800}).</p>
      *
      * @param input The full user input line.
-     * @return The command word (lowercased).
+     * @return The parsed command.
+     * @throws ShinchanException If the command is unknown or its arguments are invalid.
      */
-    public static String getCommandWord(String input) {
-        String[] parts = input.split(" ", SPLIT_LIMIT_TWO);
-        return parts[0].toLowerCase(Locale.ROOT);
+    public static Command parse(String input) throws ShinchanException {
+        int length = input.length();
+        int wordStart = skipSpaces(input, 0, length);
+        if (wordStart == length) {
+            throw new ShinchanException(messageEmptyInput);
+        }
+
+        int wordEnd = wordStart;
+        while (wordEnd < length && input.charAt(wordEnd) > ' ') {
+            wordEnd++;
+        }
+        int argStart = skipSpaces(input, wordEnd, length);
+        int argEnd = trimEnd(input, argStart, length);
+
+        if (isWord(input, wordStart, wordEnd, AddTodo.COMMAND_WORD)) {
+            return parseTodo(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, AddDeadline.COMMAND_WORD)) {
+            return parseDeadline(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, AddEvent.COMMAND_WORD)) {
+            return parseEvent(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Find.COMMAND_WORD)) {
+            return new Find(requireText(input, argStart, argEnd, messageFindEmpty));
+        } else if (input.regionMatches(true, wordStart, FuzzyFind.COMMAND_WORD, 0, FuzzyFind.COMMAND_WORD.length())) {
+            return parseFuzzyFind(input, wordStart + FuzzyFind.COMMAND_WORD.length(), wordEnd, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, On.COMMAND_WORD)) {
+            String date = requireText(input, argStart, argEnd, messageOnMissingDate);
+            return new On(parseDate(date, messageOnMissingDate));
+        } else if (isWord(input, wordStart, wordEnd, Between.COMMAND_WORD)) {
+            return parseBetween(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Next.COMMAND_WORD)) {
+            return parseNext(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, ListTasks.COMMAND_WORD)) {
+            return parseList(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Mark.COMMAND_WORD)) {
+            int on = findMarker(input, argStart, argEnd, MARKER_ON);
+            int index = parseIndex(input, argStart, trimEnd(input, argStart, on), messageInvalidTaskNumber);
+            return new Mark(index, parseOccurrenceDate(input, on, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Unmark.COMMAND_WORD)) {
+            int on = findMarker(input, argStart, argEnd, MARKER_ON);
+            int index = parseIndex(input, argStart, trimEnd(input, argStart, on), messageInvalidTaskNumber);
+            return new Unmark(index, parseOccurrenceDate(input, on, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Delete.COMMAND_WORD)) {
+            return new Delete(parseIndex(input, argStart, argEnd, messageDeleteInvalid));
+        } else if (isWord(input, wordStart, wordEnd, Archive.COMMAND_WORD)) {
+            return parseArchive(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Export.COMMAND_WORD)) {
+            String filePath = parseTransferPath(input, argStart, argEnd, messageExportEmpty);
+            return new Export(filePath, parseTransferFormat(input, filePath, argStart, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Import.COMMAND_WORD)) {
+            String filePath = parseTransferPath(input, argStart, argEnd, messageImportEmpty);
+            return new Import(filePath, parseTransferFormat(input, filePath, argStart, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, ImportCalendar.COMMAND_WORD)) {
+            return new ImportCalendar(requireText(input, argStart, argEnd, messageImportCalendarEmpty));
+        } else if (isWord(input, wordStart, wordEnd, Tag.COMMAND_WORD)) {
+            int tagsStart = findWordEnd(input, argStart, argEnd);
+            int index = parseIndex(input, argStart, tagsStart, messageTagBad);
+            return new Tag(index, parseTags(input, tagsStart, argEnd, messageTagBad));
+        } else if (isWord(input, wordStart, wordEnd, Untag.COMMAND_WORD)) {
+            int tagsStart = findWordEnd(input, argStart, argEnd);
+            int index = parseIndex(input, argStart, tagsStart, messageUntagBad);
+            return new Untag(index, parseTags(input, tagsStart, argEnd, messageUntagBad));
+        } else if (isWord(input, wordStart, wordEnd, Filter.COMMAND_WORD)) {
+            return new Filter(parseFilter(input, argStart, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Query.COMMAND_WORD)) {
+            return new Query(QueryParser.parse(input, argStart, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Explain.COMMAND_WORD)) {
+            return new Explain(QueryParser.parse(input, argStart, argEnd));
+        } else if (isWord(input, wordStart, wordEnd, Conflicts.COMMAND_WORD)) {
+            return parseConflicts(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Use.COMMAND_WORD)) {
+            return new Use(parseName(input, argStart, argEnd, messageUseBad));
+        } else if (isWord(input, wordStart, wordEnd, Free.COMMAND_WORD)) {
+            return parseFree(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Agenda.COMMAND_WORD)) {
+            return parseAgenda(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Summarize.COMMAND_WORD)) {
+            return parseSummarize(input, argStart, argEnd);
+        } else if (isWord(input, wordStart, wordEnd, Stats.COMMAND_WORD)) {
+            return new Stats();
+        } else if (isWord(input, wordStart, wordEnd, Bye.COMMAND_WORD)) {
+            return new Bye();
+        }
+
+        throw new ShinchanException(messageUnknownCommand);
+    }
+
+    private static Command parseTodo(String input, int start, int end) throws ShinchanException {
+        return new AddTodo(requireText(input, start, end, messageTodoEmpty));
+    }
+
+    private static Command parseDeadline(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            throw new ShinchanException(messageDeadlineEmpty);
+        }
+
+        int by = NOT_FOUND;
+        for (int i = start; i < end; i++) {
+            if (isMarkerAt(input, i, start, end, MARKER_BY)) {
+                by = i;
+            }
+        }
+        if (by == NOT_FOUND) {
+            throw new ShinchanException(messageDeadlineMissingBy);
+        }
+
+        String description = requireText(input, start, trimEnd(input, start, by), messageDeadlineEmpty);
+        int every = findMarker(input, by, end, MARKER_EVERY);
+        int dueStart = skipSpaces(input, by + MARKER_BY.length(), every);
+        String dueText = input.substring(dueStart, trimEnd(input, dueStart, every));
+        return new AddDeadline(description, parseDateTime(dueText, messageDateTimeBad),
+                parseRecurrence(input, every, end));
+    }
+
+    private static Command parseEvent(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            throw new ShinchanException(messageEventEmpty);
+        }
+
+        int lastFrom = NOT_FOUND;
+        int from = NOT_FOUND;
+        int to = NOT_FOUND;
+        for (int i = start; i < end; i++) {
+            if (isMarkerAt(input, i, start, end, MARKER_FROM)) {
+                lastFrom = i;
+            } else if (isMarkerAt(input, i, start, end, MARKER_TO) && lastFrom != NOT_FOUND) {
+                from = lastFrom;
+                to = i;
+            }
+        }
+        if (to == NOT_FOUND) {
+            throw new ShinchanException(messageEventMissingTime);
+        }
+
+        String description = requireText(input, start, trimEnd(input, start, from), messageEventEmpty);
+        int fromStart = skipSpaces(input, from + MARKER_FROM.length(), to);
+        String startText = input.substring(fromStart, trimEnd(input, fromStart, to));
+        int every = findMarker(input, to, end, MARKER_EVERY);
+        int toStart = skipSpaces(input, to + MARKER_TO.length(), every);
+        String endText = input.substring(toStart, trimEnd(input, toStart, every));
+
+        LocalDateTime startDateTime = parseDateTime(startText, messageDateTimeBad);
+        LocalDateTime endDateTime = parseDateTime(endText, messageDateTimeBad);
+        if (endDateTime.isBefore(startDateTime)) {
+            throw new ShinchanException(messageEventEndBeforeStart);
+        }
+        return new AddEvent(description, startDateTime, endDateTime, parseRecurrence(input, every, end));
     }
 
     /**
-     * Returns the part of the input after the first word.
+     * Parses {@code /every [n] day|week|month [/until yyyy-MM-dd]} starting at a marker.
      *
-     * @param input Full user input.
-     * @return Remainder after the command word (may be empty).
+     * @return The rule, or {@code null} if {@code every} is at the end of the input.
      */
-    public static String getRemainder(String input) {
-        String trimmed = input.trim();
-        int firstSpace = trimmed.indexOf(' ');
-        return firstSpace == -1 ? "" : trimmed.substring(firstSpace + 1).trim();
+    private static RecurrenceRule parseRecurrence(String input, int every, int end) throws ShinchanException {
+        if (every == end) {
+            return null;
+        }
+
+        int until = findMarker(input, every, end, MARKER_UNTIL);
+        int ruleStart = skipSpaces(input, every + MARKER_EVERY.length(), until);
+        int ruleEnd = trimEnd(input, ruleStart, until);
+
+        int interval = 1;
+        int unitStart = ruleStart;
+        if (unitStart < ruleEnd && Character.isDigit(input.charAt(unitStart))) {
+            int numberEnd = unitStart;
+            while (numberEnd < ruleEnd && input.charAt(numberEnd) > ' ') {
+                numberEnd++;
+            }
+            interval = parseNumber(input, unitStart, numberEnd, messageEveryBad);
+            unitStart = skipSpaces(input, numberEnd, ruleEnd);
+        }
+        if (interval <= 0) {
+            throw new ShinchanException(messageEveryBad);
+        }
+
+        RecurrenceRule.Frequency frequency = null;
+        for (RecurrenceRule.Frequency candidate : RecurrenceRule.Frequency.values()) {
+            String unit = candidate.getUnit();
+            if (isWord(input, unitStart, ruleEnd, unit) || isWord(input, unitStart, ruleEnd, unit + "s")) {
+                frequency = candidate;
+            }
+        }
+        if (frequency == null) {
+            throw new ShinchanException(messageEveryBad);
+        }
+
+        LocalDate untilDate = null;
+        if (until < end) {
+            String untilText = input.substring(skipSpaces(input, until + MARKER_UNTIL.length(), end), end);
+            untilDate = parseDate(untilText, messageUntilBad);
+        }
+        return new RecurrenceRule(frequency, interval, untilDate);
+    }
+
+    private static LocalDate parseOccurrenceDate(String input, int on, int end) throws ShinchanException {
+        if (on == end) {
+            return null;
+        }
+        String dateText = input.substring(skipSpaces(input, on + MARKER_ON.length(), end), end);
+        return parseDate(dateText, messageOccurrenceDateBad);
+    }
+
+    private static Command parseBetween(String input, int start, int end) throws ShinchanException {
+        LocalDate[] range = parseDateRange(input, start, end, messageBetweenBad);
+        return new Between(range[0], range[1]);
+    }
+
+    private static Command parseConflicts(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new Conflicts(null, null);
+        }
+        LocalDate[] range = parseDateRange(input, start, end, messageConflictsBad);
+        return new Conflicts(range[0], range[1]);
+    }
+
+    /**
+     * Parses {@code free FROM [TO] [LENGTH]}.
+     */
+    private static Command parseFree(String input, int start, int end) throws ShinchanException {
+        int fromEnd = findWordEnd(input, start, end);
+        if (start == fromEnd) {
+            throw new ShinchanException(messageFreeBad);
+        }
+        LocalDate from = parseDate(input.substring(start, fromEnd), messageFreeBad);
+        LocalDate to = from;
+        Duration minLength = Free.DEFAULT_MIN_LENGTH;
+
+        int next = skipSpaces(input, fromEnd, end);
+        int nextEnd = findWordEnd(input, next, end);
+        // Dates contain dashes and lengths never do
+        if (input.substring(next, nextEnd).indexOf('-') >= 0) {
+            to = parseDate(input.substring(next, nextEnd), messageFreeBad);
+            next = skipSpaces(input, nextEnd, end);
+            nextEnd = findWordEnd(input, next, end);
+        }
+        if (next < end) {
+            minLength = parseLength(input, next, nextEnd, messageFreeBad);
+            if (skipSpaces(input, nextEnd, end) < end) {
+                throw new ShinchanException(messageFreeBad);
+            }
+        }
+        if (to.isBefore(from) || !from.plusDays(Free.MAX_DAYS).isAfter(to)) {
+            throw new ShinchanException(messageFreeBad);
+        }
+        return new Free(from, to, minLength);
+    }
+
+    /**
+     * Parses a length such as {@code 45m}, {@code 2h} or {@code 1h30m}; a bare number is minutes.
+     */
+    private static Duration parseLength(String input, int start, int end, String badMessage)
+            throws ShinchanException {
+        long minutes = 0;
+        int numberStart = start;
+        for (int i = start; i < end; i++) {
+            char c = Character.toLowerCase(input.charAt(i));
+            if (c == 'h' || c == 'm') {
+                long value = parseNumber(input, numberStart, i, badMessage);
+                minutes += c == 'h' ? value * 60 : value;
+                numberStart = i + 1;
+            }
+        }
+        if (numberStart < end) {
+            minutes += parseNumber(input, numberStart, end, badMessage);
+        }
+        return Duration.ofMinutes(minutes);
     }
 
     /**
-     * Parses a 1-based task number from user input into a 0-based index.
+     * Parses two dates separated by spaces, earliest first.
      *
-     * @param input The full user input line.
-     * @param invalidMessage The message to use if parsing fails.
-     * @return The 0-based task index.
-     * @throws ShinchanException If the index is not a valid integer.
+     * @return The first and last dates.
+     */
+    private static LocalDate[] parseDateRange(String input, int start, int end, String badMessage)
+            throws ShinchanException {
+        int fromEnd = start;
+        while (fromEnd < end && input.charAt(fromEnd) > ' ') {
+            fromEnd++;
+        }
+        int toStart = skipSpaces(input, fromEnd, end);
+        if (start == fromEnd || toStart == end) {
+            throw new ShinchanException(badMessage);
+        }
+
+        LocalDate from = parseDate(input.substring(start, fromEnd), badMessage);
+        LocalDate to = parseDate(input.substring(toStart, end), badMessage);
+        if (to.isBefore(from)) {
+            throw new ShinchanException(badMessage);
+        }
+        return new LocalDate[] {from, to};
+    }
+
+    /**
+     * Parses {@code find~[n] keywords}, where the optional {@code n} directly after the
+     * tilde is the maximum edit distance per word.
+     */
+    private static Command parseFuzzyFind(String input, int distanceStart, int wordEnd, int start, int end)
+            throws ShinchanException {
+        int maxDistance = FuzzyIndex.AUTO;
+        if (distanceStart < wordEnd) {
+            maxDistance = parseNumber(input, distanceStart, wordEnd, messageFuzzyFindBad);
+            if (maxDistance < 0) {
+                throw new ShinchanException(messageFuzzyFindBad);
+            }
+        }
+        return new FuzzyFind(requireText(input, start, end, messageFuzzyFindBad), maxDistance);
+    }
+
+    private static Command parseList(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new ListTasks();
+        }
+
+        int optionEnd = start;
+        while (optionEnd < end && input.charAt(optionEnd) > ' ') {
+            optionEnd++;
+        }
+        if (!isWord(input, start, optionEnd, MARKER_SORT)) {
+            throw new ShinchanException(messageListSortBad);
+        }
+
+        int keyStart = skipSpaces(input, optionEnd, end);
+        for (SortOrder order : SortOrder.values()) {
+            if (isWord(input, keyStart, end, order.getKeyword())) {
+                return new ListTasks(order);
+            }
+        }
+        throw new ShinchanException(messageListSortBad);
+    }
+
+    private static Command parseNext(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new Next(Next.DEFAULT_COUNT);
+        }
+        int count = parseNumber(input, start, end, messageNextBad);
+        if (count <= 0) {
+            throw new ShinchanException(messageNextBad);
+        }
+        return new Next(count);
+    }
+
+    private static Command parseAgenda(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new Agenda(TaskList.AGENDA_DAYS);
+        }
+        int days = parseNumber(input, start, end, messageAgendaBad);
+        if (days <= 0 || days > TaskList.AGENDA_DAYS) {
+            throw new ShinchanException(messageAgendaBad);
+        }
+        return new Agenda(days);
+    }
+
+    private static Command parseSummarize(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new Summarize(Summarize.DEFAULT_WEEKS);
+        }
+        int weeks = parseNumber(input, start, end, messageSummaryBad);
+        if (weeks <= 0 || weeks > Summarize.MAX_WEEKS) {
+            throw new ShinchanException(messageSummaryBad);
+        }
+        return new Summarize(weeks);
+    }
+
+    /**
+     * Returns the file path of an export or import, dropping a trailing format keyword.
+     */
+    private static String parseTransferPath(String input, int start, int end, String message)
+            throws ShinchanException {
+        int formatStart = findTransferFormat(input, start, end);
+        int pathEnd = formatStart == NOT_FOUND ? end : trimEnd(input, start, formatStart);
+        return requireText(input, start, pathEnd, message);
+    }
+
+    private static TransferFormat parseTransferFormat(String input, String filePath, int start, int end) {
+        int formatStart = findTransferFormat(input, start, end);
+        return formatStart == NOT_FOUND
+                ? TransferFormat.fromFileName(filePath)
+                : TransferFormat.fromKeyword(input.substring(formatStart, end));
+    }
+
+    /**
+     * Returns where a trailing {@code csv} or {@code jsonl} keyword starts, if it follows a file path.
+     */
+    private static int findTransferFormat(String input, int start, int end) {
+        int lastWord = end;
+        while (lastWord > start && input.charAt(lastWord - 1) > ' ') {
+            lastWord--;
+        }
+        boolean hasPath = lastWord > start;
+        return hasPath && TransferFormat.fromKeyword(input.substring(lastWord, end)) != null ? lastWord : NOT_FOUND;
+    }
+
+    /**
+     * Parses space-separated tags, each with an optional leading {@code #}, into lowercase names.
+     */
+    private static List<String> parseTags(String input, int start, int end, String emptyMessage)
+            throws ShinchanException {
+        List<String> tags = new ArrayList<>();
+        int tagStart = skipSpaces(input, start, end);
+        while (tagStart < end) {
+            int tagEnd = findWordEnd(input, tagStart, end);
+            int nameStart = input.charAt(tagStart) == TAG_PREFIX ? tagStart + 1 : tagStart;
+            String tag = parseName(input, nameStart, tagEnd, messageTagNameBad);
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+            tagStart = skipSpaces(input, tagEnd, end);
+        }
+        if (tags.isEmpty()) {
+            throw new ShinchanException(emptyMessage);
+        }
+        return tags;
+    }
+
+    /**
+     * Parses a tag or workspace name of letters, digits, '-' and '_', in lowercase.
+     */
+    private static String parseName(String input, int start, int end, String badMessage)
+            throws ShinchanException {
+        if (start == end) {
+            throw new ShinchanException(badMessage);
+        }
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                throw new ShinchanException(badMessage);
+            }
+        }
+        return input.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses filter terms such as {@code type:D,E}, {@code done:false} or {@code -tag:work},
+     * where commas separate alternative values and a leading {@code -} negates the term.
      */
-    public static int parseTaskIndex(String input, String invalidMessage) throws ShinchanException {
-        String remainder = getRemainder(input);
+    private static TaskFilter parseFilter(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            throw new ShinchanException(messageFilterBad);
+        }
+
+        List<TaskFilter.Term> terms = new ArrayList<>();
+        int termStart = start;
+        while (termStart < end) {
+            int termEnd = findWordEnd(input, termStart, end);
+            terms.add(parseFilterTerm(input, termStart, termEnd, messageFilterBad));
+            termStart = skipSpaces(input, termEnd, end);
+        }
+        return new TaskFilter(terms);
+    }
+
+    /**
+     * Parses one filter term, such as {@code -tag:work,home}, that spans the whole range.
+     */
+    static TaskFilter.Term parseFilterTerm(String input, int start, int end, String badMessage)
+            throws ShinchanException {
+        boolean isNegated = input.charAt(start) == FILTER_NEGATION;
+        int keyStart = isNegated ? start + 1 : start;
+        int keyEnd = input.indexOf(FILTER_KEY_END, keyStart);
+        if (keyEnd < 0 || keyEnd >= end) {
+            throw new ShinchanException(badMessage);
+        }
+        TaskFilter.Field field = TaskFilter.Field.fromKeyword(input.substring(keyStart, keyEnd));
+        if (field == null) {
+            throw new ShinchanException(badMessage);
+        }
+
+        List<String> values = new ArrayList<>();
+        int valueStart = keyEnd + 1;
+        while (valueStart <= end) {
+            int valueEnd = input.indexOf(FILTER_VALUE_SEPARATOR, valueStart);
+            if (valueEnd < 0 || valueEnd > end) {
+                valueEnd = end;
+            }
+            values.add(parseFilterValue(field, input, valueStart, valueEnd, badMessage));
+            valueStart = valueEnd + 1;
+        }
+        return new TaskFilter.Term(field, values, isNegated);
+    }
+
+    private static String parseFilterValue(TaskFilter.Field field, String input, int start, int end,
+            String badMessage) throws ShinchanException {
+        switch (field) {
+        case TYPE:
+            for (int i = 0; i < TYPE_NAMES.size(); i++) {
+                String code = TaskFilter.TYPE_CODES.get(i);
+                if (isWord(input, start, end, code) || isWord(input, start, end, TYPE_NAMES.get(i))) {
+                    return code;
+                }
+            }
+            throw new ShinchanException(badMessage);
+        case DONE:
+            if (isWord(input, start, end, "true") || isWord(input, start, end, "false")) {
+                return input.substring(start, end).toLowerCase(Locale.ROOT);
+            }
+            throw new ShinchanException(badMessage);
+        default:
+            int nameStart = start < end && input.charAt(start) == TAG_PREFIX ? start + 1 : start;
+            return parseName(input, nameStart, end, badMessage);
+        }
+    }
+
+    private static Command parseArchive(String input, int start, int end) throws ShinchanException {
+        if (start == end) {
+            return new Archive(ARCHIVE_ALL);
+        }
+
+        int optionEnd = start;
+        while (optionEnd < end && input.charAt(optionEnd) > ' ') {
+            optionEnd++;
+        }
+        int valueStart = skipSpaces(input, optionEnd, end);
+
+        if (isWord(input, start, optionEnd, ARCHIVE_FIND)) {
+            return new ArchiveFind(requireText(input, valueStart, end, messageArchiveFindEmpty));
+        }
+        if (!isWord(input, start, optionEnd, MARKER_OLDER)) {
+            throw new ShinchanException(messageArchiveBadDays);
+        }
+
+        int days = parseNumber(input, valueStart, end, messageArchiveBadDays);
+        if (days < 0) {
+            throw new ShinchanException(messageArchiveBadDays);
+        }
+        return new Archive(days);
+    }
+
+    private static int parseIndex(String input, int start, int end, String invalidMessage)
+            throws ShinchanException {
+        return parseNumber(input, start, end, invalidMessage) - USER_INDEX_OFFSET;
+    }
+
+    private static int parseNumber(String input, int start, int end, String invalidMessage)
+            throws ShinchanException {
         try {
-            return Integer.parseInt(remainder) - USER_INDEX_OFFSET;
+            return Integer.parseInt(input, start, end, 10);
         } catch (NumberFormatException e) {
             throw new ShinchanException(invalidMessage);
         }
     }
 
+    private static String requireText(String input, int start, int end, String emptyMessage)
+            throws ShinchanException {
+        if (start >= end) {
+            throw new ShinchanException(emptyMessage);
+        }
+        return input.substring(start, end);
+    }
+
+    private static boolean isWord(String input, int start, int end, String word) {
+        return end - start == word.length() && input.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private static boolean isMarkerAt(String input, int index, int start, int end, String marker) {
+        int markerEnd = index + marker.length();
+        return markerEnd <= end
+                && input.startsWith(marker, index)
+                && (index == start || input.charAt(index - 1) <= ' ')
+                && (markerEnd == end || input.charAt(markerEnd) <= ' ');
+    }
+
+    /**
+     * Returns the position of the first whole-word marker at or after {@code start}.
+     *
+     * @return The marker position, or {@code end} if there is none.
+     */
+    private static int findMarker(String input, int start, int end, String marker) {
+        for (int i = start; i < end; i++) {
+            if (isMarkerAt(input, i, start, end, marker)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int findWordEnd(String input, int index, int end) {
+        while (index < end && input.charAt(index) > ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipSpaces(String input, int index, int end) {
+        while (index < end && input.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int trimEnd(String input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
     /**
      * Parses a date-time value in yyyy-MM-dd HHmm format.
      *
@@ -0,0 +1,188 @@
+package shinchan.parser;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import shinchan.exception.ShinchanException;
+import shinchan.query.Condition;
+import shinchan.search.FuzzyIndex;
+
+/**
+ * Parses the condition of a {@code query} or {@code explain} command by recursive descent.
+ *
+ * <p>The grammar, loosest first, is:</p>
+ * <pre>
+ * expression  := conjunction ("or" conjunction)*
+ * conjunction := unary (["and"] unary)*
+ * unary       := "not" unary | "(" expression ")" | term
+ * term        := type:T,D | done:false | tag:work | on:DATE | date:[FROM]..[TO] | text:WORD | WORD
+ * </pre>
+ *
+ * <p>Operators ignore case, and adjacent terms are joined by {@code and}.</p>
+ */
+final class QueryParser {
+    private static final String AND = "and";
+    private static final String OR = "or";
+    private static final String NOT = "not";
+    private static final String OPEN = "(";
+    private static final String CLOSE = ")";
+    private static final String KEY_ON = "on:";
+    private static final String KEY_DATE = "date:";
+    private static final String KEY_TEXT = "text:";
+    private static final String RANGE_SEPARATOR = "..";
+
+    private static final String messageQueryBad =
+            "The query must combine terms such as 'report', 'tag:work', 'type:D', 'done:false', "
+            + "'on:2026-03-02' or 'date:2026-03-01..2026-03-31' with and, or, not and parentheses.";
+    private static final String messageDateBad =
+            "Query dates must be in yyyy-MM-dd format, with 'date:' ranges written earliest first.";
+
+    private final List<String> tokens;
+    private int next;
+
+    private QueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a query.
+     *
+     * @param input Text containing the query.
+     * @param start Start of the query in {@code input}.
+     * @param end End of the query in {@code input}.
+     * @return The parsed condition.
+     * @throws ShinchanException If the query is empty or malformed.
+     */
+    static Condition parse(String input, int start, int end) throws ShinchanException {
+        QueryParser parser = new QueryParser(tokenize(input, start, end));
+        if (parser.tokens.isEmpty()) {
+            throw new ShinchanException(messageQueryBad);
+        }
+        Condition condition = parser.parseExpression();
+        if (parser.next < parser.tokens.size()) {
+            throw new ShinchanException(messageQueryBad);
+        }
+        return condition;
+    }
+
+    private Condition parseExpression() throws ShinchanException {
+        Condition condition = parseConjunction();
+        while (isNext(OR)) {
+            next++;
+            condition = new Condition.Or(condition, parseConjunction());
+        }
+        return condition;
+    }
+
+    private Condition parseConjunction() throws ShinchanException {
+        Condition condition = parseUnary();
+        while (next < tokens.size() && !isNext(OR) && !isNext(CLOSE)) {
+            if (isNext(AND)) {
+                next++;
+            }
+            condition = new Condition.And(condition, parseUnary());
+        }
+        return condition;
+    }
+
+    private Condition parseUnary() throws ShinchanException {
+        if (next == tokens.size() || isNext(AND) || isNext(OR) || isNext(CLOSE)) {
+            throw new ShinchanException(messageQueryBad);
+        }
+        if (isNext(NOT)) {
+            next++;
+            return new Condition.Not(parseUnary());
+        }
+        if (isNext(OPEN)) {
+            next++;
+            Condition condition = parseExpression();
+            if (!isNext(CLOSE)) {
+                throw new ShinchanException(messageQueryBad);
+            }
+            next++;
+            return condition;
+        }
+        return parseTerm(tokens.get(next++));
+    }
+
+    private static Condition parseTerm(String token) throws ShinchanException {
+        String lower = token.toLowerCase(Locale.ROOT);
+        if (lower.startsWith(KEY_ON)) {
+            LocalDate date = Parser.parseDate(token.substring(KEY_ON.length()), messageDateBad);
+            return new Condition.DateRange(date, date);
+        } else if (lower.startsWith(KEY_DATE)) {
+            return parseDateRange(token.substring(KEY_DATE.length()));
+        } else if (lower.startsWith(KEY_TEXT)) {
+            return parseWords(token.substring(KEY_TEXT.length()));
+        } else if (token.indexOf(':') >= 0) {
+            return new Condition.Attribute(Parser.parseFilterTerm(token, 0, token.length(), messageQueryBad));
+        }
+        return parseWords(token);
+    }
+
+    /**
+     * Parses {@code FROM..TO}, where either end may be left out for an open range.
+     */
+    private static Condition parseDateRange(String range) throws ShinchanException {
+        int separator = range.indexOf(RANGE_SEPARATOR);
+        if (separator < 0) {
+            throw new ShinchanException(messageDateBad);
+        }
+        String fromText = range.substring(0, separator);
+        String toText = range.substring(separator + RANGE_SEPARATOR.length());
+        LocalDate from = fromText.isEmpty()
+                ? Condition.DateRange.EARLIEST
+                : Parser.parseDate(fromText, messageDateBad);
+        LocalDate to = toText.isEmpty()
+                ? Condition.DateRange.LATEST
+                : Parser.parseDate(toText, messageDateBad);
+        if (to.isBefore(from)) {
+            throw new ShinchanException(messageDateBad);
+        }
+        return new Condition.DateRange(from, to);
+    }
+
+    /**
+     * Parses text into description words that must all be present, e.g. {@code e-mail} into
+     * {@code e} and {@code mail}.
+     */
+    private static Condition parseWords(String text) throws ShinchanException {
+        List<String> words = FuzzyIndex.tokenize(text);
+        if (words.isEmpty()) {
+            throw new ShinchanException(messageQueryBad);
+        }
+        Condition condition = new Condition.Keyword(words.get(0));
+        for (int i = 1; i < words.size(); i++) {
+            condition = new Condition.And(condition, new Condition.Keyword(words.get(i)));
+        }
+        return condition;
+    }
+
+    private boolean isNext(String operator) {
+        return next < tokens.size() && tokens.get(next).equalsIgnoreCase(operator);
+    }
+
+    /**
+     * Splits a query at spaces and around parentheses.
+     */
+    private static List<String> tokenize(String input, int start, int end) {
+        List<String> tokens = new ArrayList<>();
+        int tokenStart = -1;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? input.charAt(i) : ' ';
+            boolean isParenthesis = c == '(' || c == ')';
+            if ((c <= ' ' || isParenthesis) && tokenStart >= 0) {
+                tokens.add(input.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+            if (isParenthesis) {
+                tokens.add(String.valueOf(c));
+            } else if (c > ' ' && tokenStart < 0) {
+                tokenStart = i;
+            }
+        }
+        return tokens;
+    }
+}
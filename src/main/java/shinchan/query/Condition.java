@@ -0,0 +1,251 @@
+package shinchan.query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import shinchan.search.FuzzyIndex;
+import shinchan.search.TaskFilter;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * A boolean condition on a task, as written in a {@code query} command.
+ *
+ * <p>Conditions are trees whose leaves test a description word, a date range, or a
+ * {@link TaskFilter.Term} on type, status or tags, combined with {@code and}, {@code or}
+ * and {@code not}. Every condition can be checked against a single task; the
+ * {@link QueryPlanner} decides when an index can be used instead.</p>
+ */
+public abstract class Condition {
+
+    /**
+     * Returns whether a task satisfies this condition.
+     *
+     * @param task Task to check.
+     * @return {@code true} if the task matches.
+     */
+    public abstract boolean matches(Task task);
+
+    /**
+     * Returns the condition as it could be typed, with parentheses around every combination.
+     *
+     * @return Text form of the condition.
+     */
+    @Override
+    public abstract String toString();
+
+    /**
+     * Matches tasks that satisfy both of two conditions.
+     */
+    public static final class And extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        public And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public Condition getLeft() {
+            return left;
+        }
+
+        public Condition getRight() {
+            return right;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return left.matches(task) && right.matches(task);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " and " + right + ")";
+        }
+    }
+
+    /**
+     * Matches tasks that satisfy either of two conditions.
+     */
+    public static final class Or extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        public Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public Condition getLeft() {
+            return left;
+        }
+
+        public Condition getRight() {
+            return right;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return left.matches(task) || right.matches(task);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " or " + right + ")";
+        }
+    }
+
+    /**
+     * Matches tasks that do not satisfy a condition.
+     */
+    public static final class Not extends Condition {
+        private final Condition operand;
+
+        public Not(Condition operand) {
+            this.operand = operand;
+        }
+
+        public Condition getOperand() {
+            return operand;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return !operand.matches(task);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + operand;
+        }
+    }
+
+    /**
+     * Matches tasks whose description contains a word, ignoring case.
+     * Words are split as by {@link FuzzyIndex#tokenize(String)}.
+     */
+    public static final class Keyword extends Condition {
+        private final String word;
+
+        /**
+         * Creates a condition on a description word.
+         *
+         * @param word Lowercase word of letters and digits.
+         */
+        public Keyword(String word) {
+            this.word = word;
+        }
+
+        public String getWord() {
+            return word;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return FuzzyIndex.tokenize(task.getDescription()).contains(word);
+        }
+
+        @Override
+        public String toString() {
+            return word;
+        }
+    }
+
+    /**
+     * Matches deadlines due, and events occurring, on any day of a range. A recurring
+     * task matches if any of its occurrences does.
+     */
+    public static final class DateRange extends Condition {
+        /** Start of a range with no lower bound. */
+        public static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+        /** End of a range with no upper bound. */
+        public static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+        private final LocalDate from;
+        private final LocalDate to;
+
+        /**
+         * Creates a condition on a date range.
+         *
+         * @param from First date of the range, inclusive.
+         * @param to Last date of the range, inclusive.
+         */
+        public DateRange(LocalDate from, LocalDate to) {
+            assert !to.isBefore(from) : "Date range should not end before it starts";
+            this.from = from;
+            this.to = to;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            if (task instanceof Recurring) {
+                return ((Recurring) task).hasOccurrenceBetween(from, to);
+            } else if (task instanceof Events) {
+                Events events = (Events) task;
+                return !events.getStartDateTime().toLocalDate().isAfter(to)
+                        && !events.getEndDateTime().toLocalDate().isBefore(from);
+            } else if (task instanceof Deadlines) {
+                LocalDate due = ((Deadlines) task).getDueDate();
+                return !due.isBefore(from) && !due.isAfter(to);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            if (from.equals(to)) {
+                return "on:" + from;
+            }
+            return "date:" + (from.equals(EARLIEST) ? "" : from) + ".." + (to.equals(LATEST) ? "" : to);
+        }
+    }
+
+    /**
+     * Matches tasks by type, completion status or tags, as a {@link TaskFilter.Term} does.
+     */
+    public static final class Attribute extends Condition {
+        private final TaskFilter.Term term;
+
+        public Attribute(TaskFilter.Term term) {
+            this.term = term;
+        }
+
+        public TaskFilter.Term getTerm() {
+            return term;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            List<String> values = term.getValues();
+            boolean isMatch;
+            switch (term.getField()) {
+            case TYPE:
+                isMatch = values.contains(TaskFilter.getTypeCode(task));
+                break;
+            case DONE:
+                isMatch = values.contains(Boolean.toString(task.isDone()));
+                break;
+            default:
+                isMatch = values.stream().anyMatch(task::hasTag);
+                break;
+            }
+            return isMatch != term.isNegated();
+        }
+
+        @Override
+        public String toString() {
+            return term.toString();
+        }
+    }
+}
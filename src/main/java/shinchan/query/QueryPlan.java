@@ -0,0 +1,190 @@
+package shinchan.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shinchan.search.BitmapIndex;
+import shinchan.search.DateIndex;
+import shinchan.search.FuzzyIndex;
+import shinchan.search.RoaringBitmap;
+import shinchan.task.Task;
+
+/**
+ * How a {@link QueryPlanner} has chosen to answer a query, ready to run.
+ *
+ * <p>A plan reads candidates from one access path, narrows them with the bitmap
+ * conditions if those were not the access path, and checks the remaining conditions on
+ * each candidate. Plans are only valid until the task list next changes.</p>
+ */
+public class QueryPlan {
+
+    /**
+     * Ways of reading candidate tasks.
+     */
+    public enum Kind {
+        BITMAP, TEXT, DATE, SCAN
+    }
+
+    /**
+     * One way of reading candidates, with its estimated size and cost.
+     */
+    public static final class AccessPath {
+        private final Kind kind;
+        private final Condition condition;
+        private final int estimate;
+        private final long cost;
+
+        AccessPath(Kind kind, Condition condition, int estimate, long cost) {
+            this.kind = kind;
+            this.condition = condition;
+            this.estimate = estimate;
+            this.cost = cost;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the condition the path reads by.
+         *
+         * @return The condition, or {@code null} for a full scan.
+         */
+        Condition getCondition() {
+            return condition;
+        }
+
+        public int getEstimate() {
+            return estimate;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        /**
+         * Returns a description such as {@code text index on report}.
+         *
+         * @return Readable name of the path.
+         */
+        @Override
+        public String toString() {
+            switch (kind) {
+            case BITMAP:
+                return "bitmap index on " + condition;
+            case TEXT:
+                return "text index on " + condition;
+            case DATE:
+                return "date index on " + condition;
+            default:
+                return "full scan";
+            }
+        }
+    }
+
+    private final Condition query;
+    private final AccessPath chosen;
+    private final List<AccessPath> rejected;
+    private final RoaringBitmap bitmapMatches;
+    private final Condition bitmapCondition;
+    private final List<Condition> residual;
+    private final int size;
+    private final BitmapIndex bitmapIndex;
+    private final FuzzyIndex textIndex;
+    private final DateIndex dateIndex;
+
+    QueryPlan(Condition query, AccessPath chosen, List<AccessPath> rejected, RoaringBitmap bitmapMatches,
+            Condition bitmapCondition, List<Condition> residual, QueryPlanner planner) {
+        this.query = query;
+        this.chosen = chosen;
+        this.rejected = List.copyOf(rejected);
+        this.bitmapMatches = bitmapMatches;
+        this.bitmapCondition = bitmapCondition;
+        this.residual = List.copyOf(residual);
+        this.bitmapIndex = planner.getBitmapIndex();
+        this.textIndex = planner.getTextIndex();
+        this.dateIndex = planner.getDateIndex();
+        this.size = bitmapIndex.size();
+    }
+
+    public AccessPath getAccessPath() {
+        return chosen;
+    }
+
+    /**
+     * Runs the plan.
+     *
+     * @return Positions (0-based) of the matching tasks, in list order.
+     */
+    public List<Integer> execute() {
+        RoaringBitmap candidates;
+        switch (chosen.kind) {
+        case BITMAP:
+            candidates = bitmapMatches;
+            break;
+        case TEXT:
+            candidates = bitmapIndex.getIds(textIndex.findWord(((Condition.Keyword) chosen.condition).getWord()));
+            break;
+        case DATE:
+            Condition.DateRange range = (Condition.DateRange) chosen.condition;
+            List<Task> inRange = new ArrayList<>();
+            dateIndex.forEachCandidate(range.getFrom(), range.getTo(), inRange::add);
+            candidates = bitmapIndex.getIds(inRange);
+            break;
+        default:
+            candidates = bitmapIndex.getAll();
+            break;
+        }
+        if (bitmapMatches != null && chosen.kind != Kind.BITMAP && chosen.kind != Kind.SCAN) {
+            candidates = candidates.and(bitmapMatches);
+        }
+
+        if (residual.isEmpty()) {
+            return bitmapIndex.toPositions(candidates);
+        }
+        RoaringBitmap matches = new RoaringBitmap();
+        candidates.forEach(id -> {
+            Task task = bitmapIndex.getTask(id);
+            if (residual.stream().allMatch(condition -> condition.matches(task))) {
+                matches.add(id);
+            }
+        });
+        return bitmapIndex.toPositions(matches);
+    }
+
+    /**
+     * Describes the plan, one step per line.
+     *
+     * @return Lines naming the query, the chosen access path, the later steps and the rejected paths.
+     */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Query: " + query);
+        lines.add("Access path: " + describe(chosen));
+        if (bitmapMatches != null && chosen.kind != Kind.BITMAP && chosen.kind != Kind.SCAN) {
+            lines.add("Then: intersect with bitmap index on " + bitmapCondition);
+        }
+        if (!residual.isEmpty()) {
+            lines.add("Then: check " + join(residual) + " on each candidate");
+        }
+        for (AccessPath path : rejected) {
+            lines.add("Rejected: " + describe(path));
+        }
+        return lines;
+    }
+
+    private String describe(AccessPath path) {
+        return path + " (estimated " + path.estimate + " of " + size + " tasks, cost " + path.cost + ")";
+    }
+
+    private static String join(List<Condition> conditions) {
+        StringBuilder text = new StringBuilder();
+        for (Condition condition : conditions) {
+            if (text.length() > 0) {
+                text.append(" and ");
+            }
+            text.append(condition);
+        }
+        return text.toString();
+    }
+}
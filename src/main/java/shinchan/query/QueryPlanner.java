@@ -0,0 +1,148 @@
+package shinchan.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import shinchan.search.BitmapIndex;
+import shinchan.search.DateIndex;
+import shinchan.search.FuzzyIndex;
+import shinchan.search.RoaringBitmap;
+
+/**
+ * Chooses how to answer a query from the indexes of a task list.
+ *
+ * <p>The query is split into the conditions joined by its top-level {@code and}s. Those
+ * built only from type, status and tag terms are evaluated exactly with the bitmap index
+ * while planning, since that takes microseconds. Each description word and date range can
+ * instead be read from the text or date index, whose sizes are known without reading them.
+ * The planner picks the access path with the lowest estimated cost, where reading a task
+ * through an index costs {@value #INDEX_ROW_COST} units and scanning one in place costs
+ * {@value #SCAN_ROW_COST}, and leaves the other conditions to be checked on each
+ * candidate. Conditions under an {@code or} or {@code not} that mix in words or dates can
+ * only be checked, so a query made of them is a full scan.</p>
+ */
+public class QueryPlanner {
+    private static final int INDEX_ROW_COST = 2;
+    private static final int SCAN_ROW_COST = 1;
+
+    private final BitmapIndex bitmapIndex;
+    private final FuzzyIndex textIndex;
+    private final DateIndex dateIndex;
+
+    /**
+     * Creates a planner over the indexes of one task list.
+     *
+     * @param bitmapIndex Index of types, statuses and tags.
+     * @param textIndex Index of description words.
+     * @param dateIndex Index of due and start dates.
+     */
+    public QueryPlanner(BitmapIndex bitmapIndex, FuzzyIndex textIndex, DateIndex dateIndex) {
+        this.bitmapIndex = bitmapIndex;
+        this.textIndex = textIndex;
+        this.dateIndex = dateIndex;
+    }
+
+    /**
+     * Plans a query.
+     *
+     * @param query Condition the results must satisfy.
+     * @return The cheapest plan found.
+     */
+    public QueryPlan plan(Condition query) {
+        List<Condition> conjuncts = new ArrayList<>();
+        addConjuncts(query, conjuncts);
+
+        Condition bitmapCondition = null;
+        List<Condition> others = new ArrayList<>();
+        for (Condition conjunct : conjuncts) {
+            if (!isBitmapAnswerable(conjunct)) {
+                others.add(conjunct);
+            } else {
+                bitmapCondition = bitmapCondition == null ? conjunct : new Condition.And(bitmapCondition, conjunct);
+            }
+        }
+        RoaringBitmap bitmapMatches = bitmapCondition == null ? null : evaluate(bitmapCondition);
+
+        List<QueryPlan.AccessPath> paths = new ArrayList<>();
+        if (bitmapMatches != null) {
+            paths.add(indexPath(QueryPlan.Kind.BITMAP, bitmapCondition, bitmapMatches.cardinality()));
+        }
+        for (Condition condition : others) {
+            if (condition instanceof Condition.Keyword) {
+                String word = ((Condition.Keyword) condition).getWord();
+                paths.add(indexPath(QueryPlan.Kind.TEXT, condition, textIndex.findWord(word).size()));
+            } else if (condition instanceof Condition.DateRange) {
+                Condition.DateRange range = (Condition.DateRange) condition;
+                int estimate = dateIndex.estimate(range.getFrom(), range.getTo());
+                paths.add(indexPath(QueryPlan.Kind.DATE, condition, estimate));
+            }
+        }
+        int size = bitmapIndex.size();
+        paths.add(new QueryPlan.AccessPath(QueryPlan.Kind.SCAN, null, size, (long) size * SCAN_ROW_COST));
+
+        // A stable sort keeps the bitmap path first among equals, as its candidates need no check
+        paths.sort(Comparator.comparingLong(QueryPlan.AccessPath::getCost));
+        QueryPlan.AccessPath chosen = paths.remove(0);
+
+        List<Condition> residual = new ArrayList<>(others);
+        if (chosen.getKind() == QueryPlan.Kind.SCAN) {
+            residual = conjuncts;
+        } else if (chosen.getKind() == QueryPlan.Kind.TEXT) {
+            // Text index entries match their word exactly, unlike date index candidates
+            residual.remove(chosen.getCondition());
+        }
+        return new QueryPlan(query, chosen, paths, bitmapMatches, bitmapCondition, residual, this);
+    }
+
+    BitmapIndex getBitmapIndex() {
+        return bitmapIndex;
+    }
+
+    FuzzyIndex getTextIndex() {
+        return textIndex;
+    }
+
+    DateIndex getDateIndex() {
+        return dateIndex;
+    }
+
+    private static QueryPlan.AccessPath indexPath(QueryPlan.Kind kind, Condition condition, int estimate) {
+        return new QueryPlan.AccessPath(kind, condition, estimate, (long) estimate * INDEX_ROW_COST);
+    }
+
+    private static void addConjuncts(Condition condition, List<Condition> conjuncts) {
+        if (condition instanceof Condition.And) {
+            addConjuncts(((Condition.And) condition).getLeft(), conjuncts);
+            addConjuncts(((Condition.And) condition).getRight(), conjuncts);
+        } else {
+            conjuncts.add(condition);
+        }
+    }
+
+    private static boolean isBitmapAnswerable(Condition condition) {
+        if (condition instanceof Condition.And) {
+            Condition.And and = (Condition.And) condition;
+            return isBitmapAnswerable(and.getLeft()) && isBitmapAnswerable(and.getRight());
+        } else if (condition instanceof Condition.Or) {
+            Condition.Or or = (Condition.Or) condition;
+            return isBitmapAnswerable(or.getLeft()) && isBitmapAnswerable(or.getRight());
+        } else if (condition instanceof Condition.Not) {
+            return isBitmapAnswerable(((Condition.Not) condition).getOperand());
+        }
+        return condition instanceof Condition.Attribute;
+    }
+
+    private RoaringBitmap evaluate(Condition condition) {
+        if (condition instanceof Condition.And) {
+            Condition.And and = (Condition.And) condition;
+            return evaluate(and.getLeft()).and(evaluate(and.getRight()));
+        } else if (condition instanceof Condition.Or) {
+            Condition.Or or = (Condition.Or) condition;
+            return evaluate(or.getLeft()).or(evaluate(or.getRight()));
+        } else if (condition instanceof Condition.Not) {
+            return bitmapIndex.getAll().andNot(evaluate(((Condition.Not) condition).getOperand()));
+        }
+        return bitmapIndex.lookUp(((Condition.Attribute) condition).getTerm());
+    }
+}
@@ -0,0 +1,245 @@
+package shinchan.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import shinchan.TaskList;
+import shinchan.TaskListListener;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Schedules reminders for upcoming deadlines and event starts.
+ *
+ * <p>Each pending task has at most one reminder in a {@link TimingWheel} with one-second
+ * ticks, fired a fixed lead time before the task is due or starts. Reminders are kept in
+ * step with the task list through {@link TaskListListener} notifications: they are
+ * cancelled when a task is marked done or deleted, and recurring tasks schedule their
+ * next pending occurrence after each reminder fires.</p>
+ *
+ * <p>Notifications arrive on the thread that changed the list, while reminders are
+ * usually advanced on another. So that the two never share mutable state, each
+ * notification copies the task into the scheduler under its lock, and scheduling only
+ * ever reads those copies.</p>
+ *
+ * <p>The scheduler does not keep time itself; callers advance it with {@link #advance(LocalDateTime)}.</p>
+ */
+public class ReminderScheduler implements TaskListListener {
+
+    /**
+     * A reminder for one deadline, event or recurring occurrence.
+     */
+    private static final class Reminder {
+        private final Task task;
+        private final Task occurrence;
+        private final LocalDateTime start;
+
+        Reminder(Task task, Task occurrence, LocalDateTime start) {
+            this.task = task;
+            this.occurrence = occurrence;
+            this.start = start;
+        }
+    }
+
+    private final Duration lead;
+    private final TimingWheel<Reminder> wheel;
+    private final Map<Task, TimingWheel.Timeout<Reminder>> scheduled = new IdentityHashMap<>();
+    // Copy of each pending deadline, event or recurring task as of its last change
+    private final Map<Task, Task> copies = new IdentityHashMap<>();
+    // Start of the latest reminded occurrence per task, so no occurrence is reminded twice
+    private final Map<Task, LocalDateTime> remindedUntil = new IdentityHashMap<>();
+    private LocalDateTime now;
+
+    /**
+     * Creates a scheduler with no reminders.
+     *
+     * @param lead How long before a task is due or starts to remind about it.
+     * @param now The current time.
+     */
+    public ReminderScheduler(Duration lead, LocalDateTime now) {
+        this.lead = lead;
+        this.now = now;
+        this.wheel = new TimingWheel<>(toTick(now));
+    }
+
+    /**
+     * Schedules reminders for every task in a list and follows its later changes.
+     *
+     * @param tasks The task list to remind about.
+     */
+    public synchronized void attach(TaskList tasks) {
+        tasks.addListener(this);
+        for (Task task : tasks.asUnmodifiableList()) {
+            update(task);
+        }
+    }
+
+    /**
+     * Advances to the given time and returns the reminders that became due.
+     *
+     * @param time The current time.
+     * @return Reminder messages in the order they fell due.
+     */
+    public synchronized List<String> advance(LocalDateTime time) {
+        if (time.isBefore(now)) {
+            return List.of();
+        }
+        now = time;
+
+        List<Reminder> due = new ArrayList<>();
+        wheel.advanceTo(toTick(time), due::add);
+
+        List<String> messages = new ArrayList<>();
+        for (Reminder reminder : due) {
+            scheduled.remove(reminder.task);
+            remindedUntil.put(reminder.task, reminder.start);
+            messages.add(formatMessage(reminder));
+            schedule(reminder.task);
+        }
+        return messages;
+    }
+
+    /**
+     * Returns the number of pending reminders.
+     *
+     * @return Number of scheduled reminders.
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    @Override
+    public synchronized void taskAdded(int index, Task task) {
+        update(task);
+    }
+
+    @Override
+    public synchronized void taskRemoved(int index, Task task) {
+        cancel(task);
+        copies.remove(task);
+        remindedUntil.remove(task);
+    }
+
+    @Override
+    public synchronized void taskStatusChanged(int index, Task task) {
+        update(task);
+    }
+
+    @Override
+    public synchronized void occurrenceStatusChanged(int index, Recurring task, int occurrence) {
+        update(task);
+    }
+
+    @Override
+    public synchronized void taskTagsChanged(int index, Task task) {
+        update(task);
+    }
+
+    /**
+     * Copies a task that has just changed and reschedules its reminder from the copy.
+     * Called on the thread that changed the task.
+     */
+    private void update(Task task) {
+        cancel(task);
+        Task copy = copyOf(task);
+        if (copy == null) {
+            copies.remove(task);
+            return;
+        }
+        copies.put(task, copy);
+        schedule(task);
+    }
+
+    /**
+     * Schedules a reminder for the first pending occurrence of a task that has not started
+     * and has not been reminded about, reading only the task's copy.
+     */
+    private void schedule(Task task) {
+        Task copy = copies.get(task);
+        if (copy == null) {
+            return;
+        }
+        LocalDateTime reminded = remindedUntil.get(task);
+        LocalDateTime after = reminded != null && reminded.isAfter(now) ? reminded : now;
+        Task occurrence = findNextOccurrence(copy, after);
+        if (occurrence == null) {
+            return;
+        }
+
+        LocalDateTime start = getStart(occurrence);
+        Reminder reminder = new Reminder(task, occurrence, start);
+        scheduled.put(task, wheel.schedule(reminder, toTick(start.minus(lead))));
+    }
+
+    private void cancel(Task task) {
+        TimingWheel.Timeout<Reminder> timeout = scheduled.remove(task);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    /**
+     * Copies the parts of a task that reminders read.
+     *
+     * @return The copy, or {@code null} for todos and completed tasks, which are never reminded about.
+     */
+    private static Task copyOf(Task task) {
+        Task copy;
+        if (task instanceof Recurring) {
+            Recurring recurring = (Recurring) task;
+            copy = new Recurring(recurring.getTemplate(), recurring.getRule(), recurring.getCompletedOccurrences());
+        } else if (task.isDone()) {
+            return null;
+        } else if (task instanceof Deadlines) {
+            copy = new Deadlines(task.getDescription(), ((Deadlines) task).getDueDateTime());
+        } else if (task instanceof Events) {
+            Events events = (Events) task;
+            copy = new Events(task.getDescription(), events.getStartDateTime(), events.getEndDateTime());
+        } else {
+            return null;
+        }
+        copy.setTags(task.getTags());
+        return copy;
+    }
+
+    private static Task findNextOccurrence(Task task, LocalDateTime after) {
+        if (task instanceof Recurring) {
+            Iterator<Task> pending = ((Recurring) task).getPendingFrom(after.toLocalDate());
+            while (pending.hasNext()) {
+                Task occurrence = pending.next();
+                if (getStart(occurrence).isAfter(after)) {
+                    return occurrence;
+                }
+            }
+            return null;
+        }
+
+        boolean isPending = (task instanceof Deadlines || task instanceof Events) && !task.isDone();
+        return isPending && getStart(task).isAfter(after) ? task : null;
+    }
+
+    private String formatMessage(Reminder reminder) {
+        long minutes = Math.max(0, Duration.between(now, reminder.start).toMinutes());
+        String when = reminder.occurrence instanceof Events ? "starts" : "is due";
+        return "Reminder: " + reminder.occurrence + " " + when
+                + (minutes == 0 ? " now." : " in " + minutes + " min.");
+    }
+
+    private static LocalDateTime getStart(Task task) {
+        return task instanceof Events
+                ? ((Events) task).getStartDateTime()
+                : ((Deadlines) task).getDueDateTime();
+    }
+
+    private static long toTick(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,215 @@
+package shinchan.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that holds values until a deadline tick passes.
+ *
+ * <p>There are six levels of 64 slots each. Level 0 has one slot per tick, and each
+ * higher level covers 64 times the span of the one below.
+ * A value is placed in the lowest level whose span reaches its deadline and moved down a
+ * level whenever the wheel below it completes a turn. Scheduling and cancelling are O(1),
+ * since each slot is a doubly linked list, and advancing by one tick only touches the slots
+ * due at that tick.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <T> Type of the scheduled values.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    /**
+     * A scheduled value, which can be used to cancel it.
+     *
+     * @param <T> Type of the scheduled value.
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadline;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Returns whether the value is still waiting in the wheel.
+         *
+         * @return {@code false} once it has expired or been cancelled.
+         */
+        public boolean isScheduled() {
+            return next != null;
+        }
+    }
+
+    // Each slot is a circular list headed by a sentinel, listed by level and then slot
+    private final List<List<Timeout<T>>> slots = new ArrayList<>(LEVELS);
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param startTick The tick the wheel starts at; only later ticks can expire.
+     */
+    public TimingWheel(long startTick) {
+        for (int level = 0; level < LEVELS; level++) {
+            List<Timeout<T>> sentinels = new ArrayList<>(SLOTS);
+            for (int i = 0; i < SLOTS; i++) {
+                Timeout<T> sentinel = new Timeout<>(null, -1);
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+                sentinels.add(sentinel);
+            }
+            slots.add(sentinels);
+        }
+        currentTick = startTick;
+    }
+
+    /**
+     * Schedules a value to expire at a tick. Deadlines that have already passed
+     * expire on the next tick.
+     *
+     * @param value Value to schedule.
+     * @param deadline Tick at which the value expires.
+     * @return A handle for cancelling the value.
+     */
+    public Timeout<T> schedule(T value, long deadline) {
+        Timeout<T> timeout = new Timeout<>(value, deadline);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a scheduled value.
+     *
+     * @param timeout Handle returned by {@link #schedule(Object, long)}.
+     * @return {@code true} if the value was still scheduled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isScheduled()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel, passing every value whose deadline is reached to the consumer.
+     *
+     * @param tick Tick to advance to; earlier ticks are ignored.
+     * @param expired Receives expired values in deadline order.
+     */
+    public void advanceTo(long tick, Consumer<T> expired) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+
+            currentTick++;
+            // When a level completes a turn, the next slot of the level above moves down
+            for (int level = 1; level < LEVELS && slotIndex(currentTick, level - 1) == 0; level++) {
+                cascade(slots.get(level).get(slotIndex(currentTick, level)));
+            }
+            expire(slots.get(0).get(slotIndex(currentTick, 0)), expired);
+        }
+    }
+
+    /**
+     * Returns the number of scheduled values.
+     *
+     * @return Number of values not yet expired or cancelled.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Links a value into the slot for its deadline, treating earlier deadlines as {@code earliest}.
+     */
+    private void place(Timeout<T> timeout, long earliest) {
+        long deadline = Math.max(timeout.deadline, earliest);
+        int level = 0;
+        while (level < LEVELS - 1 && ((deadline ^ currentTick) >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        link(slots.get(level).get(slotIndex(deadline, level)), timeout);
+    }
+
+    private void cascade(Timeout<T> sentinel) {
+        Timeout<T> timeout = detachAll(sentinel);
+        while (timeout != null) {
+            Timeout<T> following = timeout.next;
+            // The current tick has not been expired yet, so values due now can still land in it
+            place(timeout, currentTick);
+            timeout = following;
+        }
+    }
+
+    private void expire(Timeout<T> sentinel, Consumer<T> expired) {
+        Timeout<T> timeout = detachAll(sentinel);
+        while (timeout != null) {
+            Timeout<T> following = timeout.next;
+            timeout.previous = null;
+            timeout.next = null;
+            size--;
+            expired.accept(timeout.value);
+            timeout = following;
+        }
+    }
+
+    /**
+     * Empties a slot and returns its former contents as a null-terminated list.
+     */
+    private Timeout<T> detachAll(Timeout<T> sentinel) {
+        if (sentinel.next == sentinel) {
+            return null;
+        }
+        Timeout<T> first = sentinel.next;
+        sentinel.previous.next = null;
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        return first;
+    }
+
+    private static <T> void link(Timeout<T> sentinel, Timeout<T> timeout) {
+        timeout.previous = sentinel.previous;
+        timeout.next = sentinel;
+        sentinel.previous.next = timeout;
+        sentinel.previous = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.previous.next = timeout.next;
+        timeout.next.previous = timeout.previous;
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
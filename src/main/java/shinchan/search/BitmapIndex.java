@@ -0,0 +1,262 @@
+package shinchan.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import shinchan.TaskListListener;
+import shinchan.task.Task;
+
+/**
+ * Answers {@link TaskFilter} queries with a {@link RoaringBitmap} per type, per tag and
+ * of completed tasks, so a query never visits a task it does not match.
+ *
+ * <p>Each task is given an id when it is indexed. Ids only grow and tasks are only ever
+ * appended to the list, so ascending id order is list order and a task's position is the
+ * number of live ids up to its own. The index follows list changes as a
+ * {@link TaskListListener}. Ids of removed tasks are not reused; once they outnumber the
+ * live ones, the live tasks are renumbered.</p>
+ */
+public class BitmapIndex implements TaskListListener {
+    private static final String DONE = "true";
+    // Below this many results per live task, ranking each result beats one pass over the live set
+    private static final int RANK_RATIO = 64;
+
+    private final Map<Task, Integer> ids = new IdentityHashMap<>();
+    private final List<Task> byId = new ArrayList<>();
+    private final Map<String, RoaringBitmap> byType = new HashMap<>();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private RoaringBitmap live = new RoaringBitmap();
+    private RoaringBitmap done = new RoaringBitmap();
+
+    /**
+     * Creates an index of the given tasks.
+     *
+     * @param tasks Tasks to index, in list order.
+     */
+    public BitmapIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Returns the positions of the tasks matching a filter.
+     *
+     * @param filter Filter to apply.
+     * @return Positions (0-based) of the matching tasks, in list order.
+     */
+    public List<Integer> filter(TaskFilter filter) {
+        List<RoaringBitmap> required = new ArrayList<>();
+        List<RoaringBitmap> excluded = new ArrayList<>();
+        for (TaskFilter.Term term : filter.getTerms()) {
+            RoaringBitmap matching = null;
+            for (String value : term.getValues()) {
+                RoaringBitmap values = lookUp(term.getField(), value);
+                matching = matching == null ? values : matching.or(values);
+            }
+            (term.isNegated() ? excluded : required).add(matching);
+        }
+
+        // Intersecting the smallest sets first keeps every intermediate result small
+        required.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+        RoaringBitmap result = live;
+        for (RoaringBitmap bitmap : required) {
+            result = result.and(bitmap);
+        }
+        for (RoaringBitmap bitmap : excluded) {
+            result = result.andNot(bitmap);
+        }
+        return toPositions(result);
+    }
+
+    /**
+     * Returns the ids of the tasks matching one filter term.
+     *
+     * @param term Term to look up.
+     * @return A set of ids that the caller may modify.
+     */
+    public RoaringBitmap lookUp(TaskFilter.Term term) {
+        RoaringBitmap matching = new RoaringBitmap();
+        for (String value : term.getValues()) {
+            matching = matching.or(lookUp(term.getField(), value));
+        }
+        return term.isNegated() ? live.andNot(matching) : matching;
+    }
+
+    /**
+     * Returns the ids of every task in the list.
+     *
+     * @return A set of ids that the caller may modify.
+     */
+    public RoaringBitmap getAll() {
+        return live.or(new RoaringBitmap());
+    }
+
+    /**
+     * Returns the ids of the given tasks.
+     *
+     * @param tasks Tasks in the list; tasks that are not are skipped.
+     * @return A new set of ids.
+     */
+    public RoaringBitmap getIds(Iterable<Task> tasks) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (Task task : tasks) {
+            Integer id = ids.get(task);
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the task with an id.
+     *
+     * @param id Id of a task in the list.
+     * @return The task.
+     */
+    public Task getTask(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Returns the list positions of a set of ids.
+     *
+     * @param result Ids of tasks in the list.
+     * @return Positions (0-based), in list order.
+     */
+    public List<Integer> toPositions(RoaringBitmap result) {
+        int count = result.cardinality();
+        List<Integer> positions = new ArrayList<>(count);
+        if ((long) count * RANK_RATIO < ids.size()) {
+            result.forEach(id -> positions.add(live.rank(id) - 1));
+            return positions;
+        }
+
+        int[] position = {0};
+        live.forEach(id -> {
+            if (result.contains(id)) {
+                positions.add(position[0]);
+            }
+            position[0]++;
+        });
+        return positions;
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return Number of tasks currently in the list.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        assert index == ids.size() : "Tasks should only be appended";
+        index(task);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+        live.remove(id);
+        done.remove(id);
+        byType.get(TaskFilter.getTypeCode(task)).remove(id);
+        for (String tag : task.getTags()) {
+            removeFrom(byTag, tag, id);
+        }
+        byId.set(id, null);
+
+        if (byId.size() - ids.size() > ids.size()) {
+            renumber();
+        }
+    }
+
+    @Override
+    public void taskStatusChanged(int index, Task task) {
+        Integer id = ids.get(task);
+        if (id == null) {
+            return;
+        }
+        if (task.isDone()) {
+            done.add(id);
+        } else {
+            done.remove(id);
+        }
+    }
+
+    @Override
+    public void taskTagsChanged(int index, Task task) {
+        Integer id = ids.get(task);
+        if (id == null) {
+            return;
+        }
+        // The old tags are gone from the task, so clear the id from every tag it might be under
+        for (String tag : new ArrayList<>(byTag.keySet())) {
+            removeFrom(byTag, tag, id);
+        }
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void index(Task task) {
+        int id = byId.size();
+        byId.add(task);
+        ids.put(task, id);
+        live.add(id);
+        if (task.isDone()) {
+            done.add(id);
+        }
+        byType.computeIfAbsent(TaskFilter.getTypeCode(task), key -> new RoaringBitmap()).add(id);
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void renumber() {
+        List<Task> remaining = new ArrayList<>(ids.size());
+        live.forEach(id -> remaining.add(byId.get(id)));
+
+        ids.clear();
+        byId.clear();
+        byType.clear();
+        byTag.clear();
+        live = new RoaringBitmap();
+        done = new RoaringBitmap();
+        for (Task task : remaining) {
+            index(task);
+        }
+    }
+
+    private RoaringBitmap lookUp(TaskFilter.Field field, String value) {
+        switch (field) {
+        case TYPE:
+            return byType.getOrDefault(value, new RoaringBitmap());
+        case DONE:
+            return DONE.equals(value) ? done : live.andNot(done);
+        default:
+            return byTag.getOrDefault(value, new RoaringBitmap());
+        }
+    }
+
+    private static void removeFrom(Map<String, RoaringBitmap> bitmaps, String key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap == null) {
+            return;
+        }
+        bitmap.remove(id);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package shinchan.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A BK-tree of words, for finding all words within an edit distance of a query.
+ *
+ * <p>Each child edge is labelled with its Levenshtein distance from the parent. Because the
+ * distance obeys the triangle inequality, a search within distance {@code k} of a query at
+ * distance {@code d} from a node only needs to follow edges labelled {@code d - k} to
+ * {@code d + k}, which skips most of the tree for small {@code k}.</p>
+ */
+public class BkTree {
+
+    /**
+     * A word in the tree and its children, keyed by distance.
+     */
+    private static final class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a word, unless it is already present.
+     *
+     * @param word Word to add.
+     * @return {@code true} if the word was added.
+     */
+    public boolean add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return true;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return false;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Passes every word within an edit distance of the query to the consumer.
+     *
+     * @param query Word to search for.
+     * @param maxDistance Largest edit distance to accept.
+     * @param matches Receives each matching word and its distance from the query.
+     */
+    public void search(String query, int maxDistance, ObjIntConsumer<String> matches) {
+        if (root == null) {
+            return;
+        }
+
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.word);
+            if (distance <= maxDistance) {
+                matches.accept(node.word, distance);
+            }
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                Node child = node.children.get(edge);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     *
+     * @return Number of distinct words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     *
+     * @param a First word.
+     * @param b Second word.
+     * @return Minimum number of single-character insertions, deletions and substitutions.
+     */
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,131 @@
+package shinchan.search;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import shinchan.TaskListListener;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * Finds the deadlines and events that may fall within a date range.
+ *
+ * <p>Deadlines and events are bucketed by the day they are due or start, and event lengths
+ * are counted by number of days, so a range lookup only reads the buckets from the longest
+ * event length before the range to its end. Recurring tasks are kept apart and always
+ * returned, since any of their occurrences might fall in the range. Lookups return a
+ * superset of the matching tasks; callers check each candidate. The index follows list
+ * changes as a {@link TaskListListener}.</p>
+ */
+public class DateIndex implements TaskListListener {
+    private final TreeMap<Long, Set<Task>> byStartDay = new TreeMap<>();
+    private final TreeMap<Long, Integer> spanCounts = new TreeMap<>();
+    private final Set<Task> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Creates an index of the given tasks.
+     *
+     * @param tasks Tasks to index.
+     */
+    public DateIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Returns the number of tasks {@link #forEachCandidate} would pass on, without visiting them.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @return Number of candidates.
+     */
+    public int estimate(LocalDate from, LocalDate to) {
+        int count = recurring.size();
+        for (Set<Task> tasks : getBuckets(from, to).values()) {
+            count += tasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Passes on every task that may fall on a day between two dates, inclusive.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @param consumer Receives each candidate once.
+     */
+    public void forEachCandidate(LocalDate from, LocalDate to, Consumer<Task> consumer) {
+        for (Set<Task> tasks : getBuckets(from, to).values()) {
+            tasks.forEach(consumer);
+        }
+        recurring.forEach(consumer);
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        index(task);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        if (task instanceof Recurring) {
+            recurring.remove(task);
+            return;
+        }
+        if (!(task instanceof Deadlines || task instanceof Events)) {
+            return;
+        }
+
+        long startDay = getStartDay(task);
+        Set<Task> tasks = byStartDay.get(startDay);
+        if (tasks == null || !tasks.remove(task)) {
+            return;
+        }
+        if (tasks.isEmpty()) {
+            byStartDay.remove(startDay);
+        }
+        spanCounts.computeIfPresent(getSpanDays(task), (span, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void index(Task task) {
+        if (task instanceof Recurring) {
+            recurring.add(task);
+        } else if (task instanceof Deadlines || task instanceof Events) {
+            byStartDay.computeIfAbsent(getStartDay(task), day -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(task);
+            spanCounts.merge(getSpanDays(task), 1, Integer::sum);
+        }
+    }
+
+    private Map<Long, Set<Task>> getBuckets(LocalDate from, LocalDate to) {
+        long longestSpan = spanCounts.isEmpty() ? 0 : spanCounts.lastKey();
+        long first = from.toEpochDay() - longestSpan;
+        long last = to.toEpochDay();
+        return first > last ? Map.of() : byStartDay.subMap(first, true, last, true);
+    }
+
+    private static long getStartDay(Task task) {
+        return task instanceof Events
+                ? ((Events) task).getStartDateTime().toLocalDate().toEpochDay()
+                : ((Deadlines) task).getDueDate().toEpochDay();
+    }
+
+    private static long getSpanDays(Task task) {
+        if (!(task instanceof Events)) {
+            return 0;
+        }
+        Events events = (Events) task;
+        return ChronoUnit.DAYS.between(events.getStartDateTime().toLocalDate(),
+                events.getEndDateTime().toLocalDate());
+    }
+}
@@ -0,0 +1,169 @@
+package shinchan.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import shinchan.TaskListListener;
+import shinchan.task.Task;
+
+/**
+ * Finds tasks whose description words are within an edit distance of a query,
+ * so that {@code meetng} still finds {@code team meeting}.
+ *
+ * <p>Distinct description words are kept in a {@link BkTree}, with a posting set of tasks
+ * per word. A query only visits the words near it and the tasks that use them, so its cost
+ * does not grow with the number of tasks. The index follows list changes as a
+ * {@link TaskListListener}. Words whose tasks are all removed stay in the tree until they
+ * outnumber the live words, when the tree is rebuilt.</p>
+ */
+public class FuzzyIndex implements TaskListListener {
+
+    /** Maximum distance that makes {@link #find(String, int)} choose one from each word's length. */
+    public static final int AUTO = -1;
+
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    private BkTree vocabulary = new BkTree();
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    // Insertion order of each task, used to break ties between equally close matches
+    private final Map<Task, Long> sequence = new IdentityHashMap<>();
+    private long nextSequence;
+    private int unusedWords;
+
+    /**
+     * Creates an index of the given tasks.
+     *
+     * @param tasks Tasks to index, in list order.
+     */
+    public FuzzyIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Returns tasks in which every query word is close to some description word.
+     *
+     * @param query Words to search for.
+     * @param maxDistance Largest edit distance per word, or {@link #AUTO} to allow
+     *     1 edit for words of up to four letters and 2 for longer words.
+     * @return Matching tasks, closest first, ties in the order they were added.
+     */
+    public List<Task> find(String query, int maxDistance) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Task, Integer> totals = null;
+        for (String word : words) {
+            int limit = maxDistance == AUTO ? (word.length() <= SHORT_WORD_LENGTH ? 1 : 2) : maxDistance;
+            Map<Task, Integer> closest = new IdentityHashMap<>();
+            vocabulary.search(word, limit, (match, distance) -> {
+                for (Task task : postings.getOrDefault(match, Collections.emptySet())) {
+                    closest.merge(task, distance, Math::min);
+                }
+            });
+
+            if (totals == null) {
+                totals = closest;
+            } else {
+                Map<Task, Integer> combined = new IdentityHashMap<>();
+                for (Map.Entry<Task, Integer> entry : totals.entrySet()) {
+                    Integer distance = closest.get(entry.getKey());
+                    if (distance != null) {
+                        combined.put(entry.getKey(), entry.getValue() + distance);
+                    }
+                }
+                totals = combined;
+            }
+        }
+
+        List<Task> matches = new ArrayList<>(totals.keySet());
+        Map<Task, Integer> distances = totals;
+        matches.sort(Comparator.<Task>comparingInt(distances::get).thenComparingLong(sequence::get));
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose description contains a word exactly.
+     *
+     * @param word Lowercase word, as produced by {@link #tokenize(String)}.
+     * @return An unmodifiable view of the matching tasks, in no particular order.
+     */
+    public Set<Task> findWord(String word) {
+        return Collections.unmodifiableSet(postings.getOrDefault(word, Collections.emptySet()));
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        index(task);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        if (sequence.remove(task) == null) {
+            return;
+        }
+        for (String word : tokenize(task.getDescription())) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+                postings.remove(word);
+                unusedWords++;
+            }
+        }
+        if (unusedWords > postings.size()) {
+            rebuild();
+        }
+    }
+
+    private void index(Task task) {
+        sequence.put(task, nextSequence++);
+        for (String word : tokenize(task.getDescription())) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks == null) {
+                tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+                postings.put(word, tasks);
+                if (!vocabulary.add(word)) {
+                    unusedWords--;
+                }
+            }
+            tasks.add(task);
+        }
+    }
+
+    private void rebuild() {
+        vocabulary = new BkTree();
+        for (String word : postings.keySet()) {
+            vocabulary.add(word);
+        }
+        unusedWords = 0;
+    }
+
+    /**
+     * Splits text into lowercase words of letters and digits.
+     *
+     * @param text Text to split.
+     * @return The words, in order.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
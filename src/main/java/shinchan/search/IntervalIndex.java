@@ -0,0 +1,217 @@
+package shinchan.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import shinchan.TaskListListener;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+
+/**
+ * An interval tree of the one-off events in a task list, for finding the events that
+ * overlap a period.
+ *
+ * <p>Events are kept in a treap ordered by start time, ties in insertion order, and each
+ * node records the latest end time in its subtree. A search skips every subtree that ends
+ * before the period and every right subtree that starts after it, so finding {@code k}
+ * events costs about O(log n + k). Recurring events may repeat forever, so they are only
+ * kept aside in list order for callers to expand over a bounded period. The index follows
+ * list changes as a {@link TaskListListener}.</p>
+ */
+public class IntervalIndex implements TaskListListener {
+
+    /**
+     * An event in the tree, with the latest end time below it.
+     */
+    private static final class Node {
+        private final Events event;
+        private final LocalDateTime start;
+        private final long sequence;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Events event, long sequence, int priority) {
+            this.event = event;
+            this.start = event.getStartDateTime();
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = event.getEndDateTime();
+        }
+
+        int compareTo(LocalDateTime otherStart, long otherSequence) {
+            int byStart = start.compareTo(otherStart);
+            return byStart != 0 ? byStart : Long.compare(sequence, otherSequence);
+        }
+
+        void update() {
+            maxEnd = event.getEndDateTime();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    private final Map<Task, Long> sequenceOf = new IdentityHashMap<>();
+    private final Set<Recurring> recurring = new LinkedHashSet<>();
+    private final Random priorities = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Creates an index of the events among the given tasks.
+     *
+     * @param tasks Tasks to index, in list order.
+     */
+    public IntervalIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    /**
+     * Returns the events that overlap a period. Events that only touch it, by ending as it
+     * starts or starting as it ends, do not overlap it.
+     *
+     * @param start Start of the period.
+     * @param end End of the period.
+     * @return Overlapping events ordered by start, ties in the order they were added.
+     */
+    public List<Events> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<Events> overlapping = new ArrayList<>();
+        collect(root, start, end, overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Returns the recurring events, whose occurrences are not in the tree.
+     *
+     * @return An unmodifiable view of the recurring events, in list order.
+     */
+    public Set<Recurring> getRecurringEvents() {
+        return Collections.unmodifiableSet(recurring);
+    }
+
+    /**
+     * Returns the number of indexed events.
+     *
+     * @return Number of one-off events in the list.
+     */
+    public int size() {
+        return sequenceOf.size();
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        if (task instanceof Recurring && ((Recurring) task).getTemplate() instanceof Events) {
+            recurring.add((Recurring) task);
+            return;
+        }
+        if (!(task instanceof Events)) {
+            return;
+        }
+        long sequence = nextSequence++;
+        sequenceOf.put(task, sequence);
+        root = insert(root, new Node((Events) task, sequence, priorities.nextInt()));
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        if (task instanceof Recurring) {
+            recurring.remove(task);
+            return;
+        }
+        Long sequence = sequenceOf.remove(task);
+        if (sequence != null) {
+            root = delete(root, ((Events) task).getStartDateTime(), sequence);
+        }
+    }
+
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, List<Events> overlapping) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collect(node.left, start, end, overlapping);
+        if (!node.start.isBefore(end)) {
+            return;
+        }
+        if (node.event.getEndDateTime().isAfter(start)) {
+            overlapping.add(node.event);
+        }
+        collect(node.right, start, end, overlapping);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (node.compareTo(added.start, added.sequence) > 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, LocalDateTime start, long sequence) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = node.compareTo(start, sequence);
+        if (comparison > 0) {
+            node.left = delete(node.left, start, sequence);
+        } else if (comparison < 0) {
+            node.right = delete(node.right, start, sequence);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            // Rotate the node down towards a leaf, keeping the heap order of priorities
+            node = rotateRight(node);
+            node.right = delete(node.right, start, sequence);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, start, sequence);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.update();
+        top.update();
+        return top;
+    }
+}
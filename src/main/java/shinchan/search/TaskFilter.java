@@ -0,0 +1,145 @@
+package shinchan.search;
+
+import java.util.List;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * A query over task type, completion status and tags, such as {@code type:D done:false tag:work}.
+ *
+ * <p>A filter is a list of terms that must all hold. Each term names a field and one or
+ * more values, any of which may match, and may be negated so that it excludes the tasks
+ * it would otherwise match.</p>
+ */
+public class TaskFilter {
+
+    /**
+     * Fields a term can test.
+     */
+    public enum Field {
+        TYPE("type"), DONE("done"), TAG("tag");
+
+        private final String keyword;
+
+        Field(String keyword) {
+            this.keyword = keyword;
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        /**
+         * Returns the field with the given keyword, ignoring case.
+         *
+         * @param keyword Keyword such as {@code tag}.
+         * @return The matching field, or {@code null} if there is none.
+         */
+        public static Field fromKeyword(String keyword) {
+            for (Field field : values()) {
+                if (field.keyword.equalsIgnoreCase(keyword)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One condition of a filter.
+     */
+    public static final class Term {
+        private final Field field;
+        private final List<String> values;
+        private final boolean isNegated;
+
+        /**
+         * Creates a term.
+         *
+         * @param field Field to test.
+         * @param values Accepted values: type codes such as {@code D}, {@code true} or {@code false},
+         *     or lowercase tag names.
+         * @param isNegated Whether the term excludes the tasks it matches.
+         */
+        public Term(Field field, List<String> values, boolean isNegated) {
+            assert !values.isEmpty() : "Filter term should have a value";
+            this.field = field;
+            this.values = List.copyOf(values);
+            this.isNegated = isNegated;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+
+        public boolean isNegated() {
+            return isNegated;
+        }
+
+        /**
+         * Returns the term as it would be typed, e.g. {@code -tag:work,home}.
+         *
+         * @return Text form of the term.
+         */
+        @Override
+        public String toString() {
+            return (isNegated ? "-" : "") + field.keyword + ":" + String.join(",", values);
+        }
+    }
+
+    /** Type codes a {@link Field#TYPE} term can match, as shown in the task list. */
+    public static final List<String> TYPE_CODES = List.of("T", "D", "E", "R");
+
+    private final List<Term> terms;
+
+    /**
+     * Creates a filter that matches tasks satisfying every term.
+     *
+     * @param terms Terms of the filter; an empty list matches every task.
+     */
+    public TaskFilter(List<Term> terms) {
+        this.terms = List.copyOf(terms);
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Returns the type code of a task. Recurring tasks have their own type, whatever they repeat.
+     *
+     * @param task Task to classify.
+     * @return One of {@link #TYPE_CODES}.
+     */
+    public static String getTypeCode(Task task) {
+        if (task instanceof Recurring) {
+            return "R";
+        } else if (task instanceof Events) {
+            return "E";
+        } else if (task instanceof Deadlines) {
+            return "D";
+        }
+        assert task instanceof Todos : "Unknown task type";
+        return "T";
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Term term : terms) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(term);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package shinchan.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Stores completed tasks in an append-only, gzip-compressed archive file.
+ *
+ * <p>Every call to {@link #append(List)} writes a new gzip member to the end of
+ * the file, so existing data is never rewritten. Searching streams through the
+ * members one record at a time instead of loading the archive into memory.</p>
+ *
+ * <p>Each member is synced before {@link #append(List)} returns, so the tasks can safely be
+ * removed from the task list afterwards. A member cut short by a crash during an append is
+ * skipped when searching.</p>
+ */
+public class ArchiveStorage {
+
+    private final String filePath;
+
+    /**
+     * Creates an ArchiveStorage object using the given file path.
+     *
+     * @param filePath Path to the archive file
+     */
+    public ArchiveStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Appends tasks to the end of the archive.
+     *
+     * @param tasks Tasks to archive
+     * @throws ShinchanException If the archive cannot be written
+     */
+    public void append(List<Task> tasks) throws ShinchanException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        try (FileOutputStream out = new FileOutputStream(file, true);
+                GZIPOutputStream gzip = new GZIPOutputStream(out);
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8))) {
+            for (Task task : tasks) {
+                writer.write(TaskCodec.format(task));
+                writer.newLine();
+            }
+            writer.flush();
+            gzip.finish();
+            out.getFD().sync();
+        } catch (IOException e) {
+            throw new ShinchanException("Error writing to archive file.");
+        }
+    }
+
+    /**
+     * Returns archived tasks whose descriptions contain the given keyword.
+     *
+     * @param keyword Keyword to search for
+     * @return Matching archived tasks, oldest first
+     * @throws ShinchanException If the archive cannot be read or is corrupted
+     */
+    public List<Task> find(String keyword) throws ShinchanException {
+        List<Task> matches = new ArrayList<>();
+        File file = new File(filePath);
+
+        if (!file.exists()) {
+            return matches;
+        }
+
+        String needle = keyword.trim().toLowerCase();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = TaskCodec.parse(line);
+                if (task.getDescription().toLowerCase().contains(needle)) {
+                    matches.add(task);
+                }
+            }
+        } catch (EOFException e) {
+            // The last member was cut short by a crash during an append; its tasks are still in the task list
+        } catch (IOException e) {
+            throw new ShinchanException("Error reading archive file.");
+        }
+
+        return matches;
+    }
+}
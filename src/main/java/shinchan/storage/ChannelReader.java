@@ -0,0 +1,102 @@
+package shinchan.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads UTF-8 text from a file through a {@link FileChannel} and fixed-size buffers,
+ * so memory use does not depend on the size of the file.
+ */
+class ChannelReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private boolean isEndOfInput;
+    private boolean isFlushed;
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path File to read.
+     * @throws IOException If the file cannot be opened.
+     */
+    ChannelReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        bytes.flip();
+        chars.flip();
+    }
+
+    /**
+     * Reads the next character.
+     *
+     * @return The character, or -1 at the end of the file.
+     * @throws IOException If the file cannot be read or is not valid UTF-8.
+     */
+    int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    /**
+     * Reads the next line, without its line terminator.
+     *
+     * @return The line, or {@code null} at the end of the file.
+     * @throws IOException If the file cannot be read or is not valid UTF-8.
+     */
+    String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            line.append((char) c);
+        }
+        if (c == -1 && line.length() == 0) {
+            return null;
+        }
+
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !isFlushed) {
+            CoderResult result = decoder.decode(bytes, chars, isEndOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isUnderflow()) {
+                if (isEndOfInput) {
+                    decoder.flush(chars);
+                    isFlushed = true;
+                } else {
+                    bytes.compact();
+                    isEndOfInput = channel.read(bytes) < 0;
+                    bytes.flip();
+                }
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,454 @@
+package shinchan.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Imports the events and to-dos of an iCalendar ({@code .ics}) file as defined in RFC 5545.
+ *
+ * <p>The file is read one unfolded content line at a time through {@link ChannelReader},
+ * and each {@code VEVENT} or {@code VTODO} is handed to the caller as soon as its
+ * {@code END} line is read, so memory use does not depend on the size of the file.
+ * Events become {@link Events}, to-dos with a due date become {@link Deadlines} and other
+ * to-dos become {@link Todos}. Times in UTC or with a {@code TZID} are converted to the
+ * importer's time zone and all-day values cover whole days. Cancelled events are skipped,
+ * and nested components such as alarms are ignored. A completed recurring to-do has its
+ * first occurrence marked done.</p>
+ *
+ * <p>A daily, weekly, monthly or yearly {@code RRULE} with an optional interval, end date
+ * or count becomes a {@link Recurring} task. Rules that pick other days, such as
+ * {@code BYDAY=MO,WE}, cannot be expressed by {@link RecurrenceRule}, so only the first
+ * occurrence of those is imported.</p>
+ */
+public class IcsImporter {
+    private static final String BEGIN = "BEGIN";
+    private static final String END = "END";
+    private static final String EVENT = "VEVENT";
+    private static final String TODO = "VTODO";
+    private static final String UNTITLED = "Untitled";
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final long DAYS_PER_WEEK = 7;
+
+    private static final String messageInvalidEntry = "Entry %d of the calendar file is invalid.";
+
+    private final String filePath;
+    private final ZoneId zone;
+    private int entryNumber;
+
+    // The entry being read; reset at each BEGIN of an event or to-do
+    private String kind;
+    private int nestedDepth;
+    private String summary;
+    private String status;
+    private Value start;
+    private Value end;
+    private Value due;
+    private Duration duration;
+    private String rule;
+
+    /**
+     * Creates an importer for the given file that converts times to the system time zone.
+     *
+     * @param filePath Path to the file to read
+     */
+    public IcsImporter(String filePath) {
+        this(filePath, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates an importer for the given file.
+     *
+     * @param filePath Path to the file to read
+     * @param zone Time zone to convert zoned times to
+     */
+    public IcsImporter(String filePath, ZoneId zone) {
+        this.filePath = filePath;
+        this.zone = zone;
+    }
+
+    /**
+     * Reads every event and to-do in the file.
+     *
+     * @param consumer Receives each task in file order
+     * @return The number of tasks read
+     * @throws ShinchanException If the file cannot be read or an entry is invalid
+     */
+    public int importTasks(Consumer<Task> consumer) throws ShinchanException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new ShinchanException("Import file not found: " + filePath);
+        }
+
+        entryNumber = 0;
+        kind = null;
+        int count = 0;
+        try (ChannelReader reader = new ChannelReader(file.toPath())) {
+            String next = reader.readLine();
+            StringBuilder line = new StringBuilder();
+            while (next != null) {
+                line.setLength(0);
+                line.append(next);
+                // A line starting with a space or tab continues the one before it
+                while ((next = reader.readLine()) != null && !next.isEmpty()
+                        && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                    line.append(next, 1, next.length());
+                }
+                Task task = readLine(line);
+                if (task != null) {
+                    consumer.accept(task);
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            throw new ShinchanException("Error reading import file.");
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new ShinchanException(String.format(messageInvalidEntry, entryNumber));
+        }
+        return count;
+    }
+
+    /**
+     * Returns a key that is equal for two tasks with the same type, description, times and
+     * recurrence, whatever their status and tags, so repeated imports can be recognised.
+     *
+     * @param task Task to describe
+     * @return The key
+     */
+    public static String getDuplicateKey(Task task) {
+        String[] fields = TransferRecord.toFields(task);
+        return fields[TransferRecord.TYPE] + KEY_SEPARATOR + fields[TransferRecord.DESCRIPTION] + KEY_SEPARATOR
+                + fields[TransferRecord.START] + KEY_SEPARATOR + fields[TransferRecord.END] + KEY_SEPARATOR
+                + fields[TransferRecord.RECURRENCE];
+    }
+
+    /**
+     * Reads one unfolded content line.
+     *
+     * @return The task whose entry the line ends, or {@code null}.
+     */
+    private Task readLine(CharSequence line) throws ShinchanException {
+        int nameEnd = 0;
+        while (nameEnd < line.length() && line.charAt(nameEnd) != ';' && line.charAt(nameEnd) != ':') {
+            nameEnd++;
+        }
+        int valueStart = findValue(line, nameEnd);
+        if (valueStart < 0) {
+            return null;
+        }
+        String name = line.subSequence(0, nameEnd).toString().toUpperCase(Locale.ROOT);
+        String parameters = line.subSequence(nameEnd, valueStart - 1).toString();
+        String value = line.subSequence(valueStart, line.length()).toString();
+
+        if (BEGIN.equals(name)) {
+            beginComponent(value.trim().toUpperCase(Locale.ROOT));
+            return null;
+        } else if (END.equals(name)) {
+            return endComponent();
+        } else if (kind == null || nestedDepth > 0) {
+            return null;
+        }
+
+        switch (name) {
+        case "SUMMARY":
+            summary = unescape(value);
+            break;
+        case "STATUS":
+            status = value.trim().toUpperCase(Locale.ROOT);
+            break;
+        case "DTSTART":
+            start = parseValue(value, parameters);
+            break;
+        case "DTEND":
+            end = parseValue(value, parameters);
+            break;
+        case "DUE":
+            due = parseValue(value, parameters);
+            break;
+        case "DURATION":
+            duration = parseDuration(value.trim());
+            break;
+        case "RRULE":
+            rule = value.trim().toUpperCase(Locale.ROOT);
+            break;
+        default:
+            break;
+        }
+        return null;
+    }
+
+    private void beginComponent(String component) {
+        if (kind != null) {
+            nestedDepth++;
+        } else if (EVENT.equals(component) || TODO.equals(component)) {
+            entryNumber++;
+            kind = component;
+            nestedDepth = 0;
+            summary = null;
+            status = null;
+            start = null;
+            end = null;
+            due = null;
+            duration = null;
+            rule = null;
+        }
+    }
+
+    private Task endComponent() throws ShinchanException {
+        if (kind == null) {
+            return null;
+        } else if (nestedDepth > 0) {
+            nestedDepth--;
+            return null;
+        }
+        Task task = EVENT.equals(kind) ? createEvent() : createTodo();
+        kind = null;
+        return task;
+    }
+
+    private Task createEvent() throws ShinchanException {
+        if ("CANCELLED".equals(status)) {
+            return null;
+        }
+        if (start == null) {
+            throw new ShinchanException(String.format(messageInvalidEntry, entryNumber));
+        }
+        LocalDateTime startDateTime = start.dateTime;
+        LocalDateTime endDateTime;
+        if (end != null) {
+            // All-day end dates are exclusive
+            endDateTime = end.isDate ? end.dateTime.minusMinutes(1) : end.dateTime;
+        } else if (duration != null) {
+            endDateTime = startDateTime.plus(duration).minusMinutes(start.isDate ? 1 : 0);
+        } else {
+            endDateTime = start.isDate ? start.dateTime.with(END_OF_DAY) : startDateTime;
+        }
+        if (endDateTime.isBefore(startDateTime)) {
+            endDateTime = startDateTime;
+        }
+        return withRule(new Events(getDescription(), startDateTime, endDateTime), startDateTime);
+    }
+
+    private Task createTodo() {
+        Task task;
+        if (due == null) {
+            task = new Todos(getDescription());
+        } else {
+            LocalDateTime dueDateTime = due.isDate ? due.dateTime.with(END_OF_DAY) : due.dateTime;
+            task = withRule(new Deadlines(getDescription(), dueDateTime), dueDateTime);
+        }
+        if (!"COMPLETED".equals(status)) {
+            return task;
+        }
+        // Recurring tasks are never done as a whole, and their status is not saved
+        if (task instanceof Recurring) {
+            ((Recurring) task).setOccurrenceDone(0, true);
+        } else {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private String getDescription() {
+        return summary == null || summary.isBlank() ? UNTITLED : summary.strip();
+    }
+
+    /**
+     * Wraps a task in its recurrence rule, if the entry has one that can be expressed.
+     */
+    private Task withRule(Task template, LocalDateTime first) {
+        if (rule == null) {
+            return template;
+        }
+        RecurrenceRule.Frequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDate until = null;
+        for (String part : rule.split(";")) {
+            int equals = part.indexOf('=');
+            String key = equals < 0 ? part : part.substring(0, equals);
+            String value = equals < 0 ? "" : part.substring(equals + 1);
+            switch (key) {
+            case "FREQ":
+                if ("YEARLY".equals(value)) {
+                    frequency = RecurrenceRule.Frequency.MONTHLY;
+                    interval *= MONTHS_PER_YEAR;
+                } else if ("DAILY".equals(value) || "WEEKLY".equals(value) || "MONTHLY".equals(value)) {
+                    frequency = RecurrenceRule.Frequency.valueOf(value);
+                }
+                break;
+            case "INTERVAL":
+                interval *= Integer.parseInt(value);
+                break;
+            case "COUNT":
+                count = Integer.parseInt(value);
+                break;
+            case "UNTIL":
+                until = parseValue(value, "").dateTime.toLocalDate();
+                break;
+            case "BYDAY":
+                if (!value.equals(getDayCode(first.getDayOfWeek()))) {
+                    return template;
+                }
+                break;
+            case "WKST":
+                break;
+            default:
+                return template;
+            }
+        }
+        if (frequency == null || interval < 1 || count < 0) {
+            return template;
+        }
+        if (count > 0) {
+            until = new RecurrenceRule(frequency, interval, null).getOccurrence(first, count - 1).toLocalDate();
+        }
+        return new Recurring(template, new RecurrenceRule(frequency, interval, until));
+    }
+
+    private static String getDayCode(DayOfWeek day) {
+        return day.name().substring(0, 2);
+    }
+
+    /**
+     * Returns where the value of a content line starts, skipping the colons in quoted parameters.
+     *
+     * @return Index after the separating colon, or -1 if there is none.
+     */
+    private static int findValue(CharSequence line, int from) {
+        boolean isQuoted = false;
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ':' && !isQuoted) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a date such as {@code 20260302} or a date-time such as {@code 20260302T090000Z}.
+     *
+     * @param parameters Parameters of the property, e.g. {@code ;TZID=Europe/Berlin}.
+     */
+    private Value parseValue(String text, String parameters) {
+        String value = text.trim();
+        if (value.indexOf('T') < 0) {
+            return new Value(LocalDate.parse(value, DATE_FORMATTER).atStartOfDay(), true);
+        }
+        if (value.endsWith("Z")) {
+            LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME_FORMATTER);
+            return new Value(toLocal(utc.atZone(ZoneOffset.UTC).toInstant().atZone(zone).toLocalDateTime()), false);
+        }
+        LocalDateTime dateTime = LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+        String timeZone = getParameter(parameters, "TZID");
+        if (timeZone != null) {
+            ZoneId source = findZone(timeZone);
+            if (source != null) {
+                dateTime = dateTime.atZone(source).withZoneSameInstant(zone).toLocalDateTime();
+            }
+        }
+        return new Value(toLocal(dateTime), false);
+    }
+
+    private static LocalDateTime toLocal(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * Finds a zone by its id, which may be quoted.
+     *
+     * @return The zone, or {@code null} for ids that are not IANA zone ids.
+     */
+    private static ZoneId findZone(String name) {
+        String id = name.startsWith("\"") && name.endsWith("\"") && name.length() > 1
+                ? name.substring(1, name.length() - 1)
+                : name;
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static String getParameter(String parameters, String name) {
+        String prefix = ";" + name + "=";
+        int start = parameters.toUpperCase(Locale.ROOT).indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = parameters.indexOf(';', start);
+        return parameters.substring(start, end < 0 ? parameters.length() : end);
+    }
+
+    /**
+     * Parses a duration such as {@code PT1H30M}, {@code P1D} or {@code P2W}.
+     */
+    private static Duration parseDuration(String text) {
+        String upper = text.toUpperCase(Locale.ROOT);
+        if (upper.endsWith("W")) {
+            int weeks = Integer.parseInt(upper.substring(upper.indexOf('P') + 1, upper.length() - 1));
+            return Duration.ofDays(DAYS_PER_WEEK * weeks);
+        }
+        return Duration.parse(upper);
+    }
+
+    /**
+     * Reverses the escaping of commas, semicolons, backslashes and line breaks in a text value.
+     */
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder value = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 == text.length()) {
+                value.append(c);
+                continue;
+            }
+            char escaped = text.charAt(++i);
+            value.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+        }
+        return value.toString();
+    }
+
+    /**
+     * A parsed date or date-time, remembering which it was.
+     */
+    private static final class Value {
+        private final LocalDateTime dateTime;
+        private final boolean isDate;
+
+        Value(LocalDateTime dateTime, boolean isDate) {
+            this.dateTime = dateTime;
+            this.isDate = isDate;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package shinchan.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import shinchan.exception.ShinchanException;
+
+/**
+ * An append-only log of task list changes, shared by every process using the same data file.
+ *
+ * <p>The first line holds a generation number ({@code G <generation>}). Compacting the
+ * journal with {@link #reset()} starts a new generation, which tells readers that their
+ * offset is no longer valid and they must reload the data file instead.</p>
+ *
+ * <p>Writers must hold the data file lock. Readers may read without it, since only
+ * complete lines are ever consumed.</p>
+ */
+public class Journal {
+    private static final String GENERATION_PREFIX = "G ";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private final Path path;
+
+    /**
+     * Creates a Journal object using the given file path.
+     *
+     * @param filePath Path to the journal file
+     */
+    public Journal(String filePath) {
+        this.path = Path.of(filePath);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the current size of the journal.
+     *
+     * @return Size in bytes, or 0 if the journal does not exist yet
+     * @throws ShinchanException If the size cannot be read
+     */
+    public long size() throws ShinchanException {
+        try {
+            return Files.size(path);
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new ShinchanException("Error reading journal file.");
+        }
+    }
+
+    /**
+     * Returns the generation of the journal, creating the journal first if needed.
+     * Must be called while holding the data file lock.
+     *
+     * @return The generation number
+     * @throws ShinchanException If the journal cannot be read or created
+     */
+    public long open() throws ShinchanException {
+        long generation = readGeneration();
+        return generation != 0 ? generation : reset();
+    }
+
+    /**
+     * Reads the generation number from the header line.
+     *
+     * @return The generation, or 0 if the journal does not exist or has no complete header
+     * @throws ShinchanException If the journal cannot be read
+     */
+    public long readGeneration() throws ShinchanException {
+        long[] generation = new long[1];
+        readLines(0, line -> {
+            if (generation[0] == 0 && line.startsWith(GENERATION_PREFIX)) {
+                generation[0] = Long.parseLong(line.substring(GENERATION_PREFIX.length()));
+            }
+        }, true);
+        return generation[0];
+    }
+
+    /**
+     * Reads complete entries starting at the given offset.
+     *
+     * @param offset Byte offset to start from, just after a previously read entry
+     * @param consumer Receives each entry in order
+     * @return The offset just after the last complete entry read
+     * @throws ShinchanException If the journal cannot be read or an entry is corrupted
+     */
+    public long readFrom(long offset, Consumer<JournalEntry> consumer) throws ShinchanException {
+        ShinchanException[] failure = new ShinchanException[1];
+        long end = readLines(offset, line -> {
+            if (failure[0] != null || line.startsWith(GENERATION_PREFIX)) {
+                return;
+            }
+            try {
+                consumer.accept(JournalEntry.parse(line));
+            } catch (ShinchanException e) {
+                failure[0] = e;
+            }
+        }, false);
+
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return end;
+    }
+
+    /**
+     * Appends entries to the journal in a single write.
+     * Must be called while holding the data file lock.
+     *
+     * @param entries Entries to append
+     * @return The new size of the journal
+     * @throws ShinchanException If the journal cannot be written
+     */
+    public long append(List<JournalEntry> entries) throws ShinchanException {
+        StringBuilder text = new StringBuilder();
+        for (JournalEntry entry : entries) {
+            text.append(entry.format()).append('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return channel.size();
+        } catch (IOException e) {
+            throw new ShinchanException("Error writing journal file.");
+        }
+    }
+
+    /**
+     * Discards all entries and starts a new generation.
+     * Must be called while holding the data file lock, after the data file has been saved.
+     *
+     * @return The new generation number
+     * @throws ShinchanException If the journal cannot be written
+     */
+    public long reset() throws ShinchanException {
+        long generation = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, (GENERATION_PREFIX + generation + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new ShinchanException("Error writing journal file.");
+        }
+        return generation;
+    }
+
+    private long readLines(long offset, Consumer<String> consumer, boolean isFirstLineOnly)
+            throws ShinchanException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            long consumed = offset;
+
+            while (channel.read(buffer, position) > 0) {
+                buffer.flip();
+                position += buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    consumed++;
+                    if (b != NEWLINE) {
+                        line.write(b);
+                        continue;
+                    }
+                    consumer.accept(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    if (isFirstLineOnly) {
+                        return consumed;
+                    }
+                }
+                buffer.clear();
+            }
+
+            // A trailing partial line is still being written; leave it for the next read
+            return consumed - line.size();
+        } catch (NoSuchFileException e) {
+            return offset;
+        } catch (IOException | NumberFormatException e) {
+            throw new ShinchanException("Error reading journal file.");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package shinchan.storage;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Represents a single change to the task list, as recorded in a {@link Journal}.
+ */
+public class JournalEntry {
+    private static final String NO_DATE = "-";
+    private static final String messageCorrupted = "Corrupted journal file.";
+
+    /**
+     * Kinds of change that can be journalled.
+     */
+    public enum Type {
+        ADD("A"), REMOVE("R"), MARK("M"), UNMARK("U"), OCCURRENCE("O"), TAGS("L");
+
+        private final String code;
+
+        Type(String code) {
+            this.code = code;
+        }
+    }
+
+    private final Type type;
+    private final int index;
+    private final Task task;
+    private final LocalDate doneDate;
+    private final int occurrence;
+    private final boolean isOccurrenceDone;
+    private final List<String> tags;
+
+    private JournalEntry(Type type, int index, Task task, LocalDate doneDate) {
+        this(type, index, task, doneDate, -1, false, List.of());
+    }
+
+    private JournalEntry(Type type, int index, Task task, LocalDate doneDate,
+            int occurrence, boolean isOccurrenceDone, List<String> tags) {
+        this.type = type;
+        this.index = index;
+        this.task = task;
+        this.doneDate = doneDate;
+        this.occurrence = occurrence;
+        this.isOccurrenceDone = isOccurrenceDone;
+        this.tags = tags;
+    }
+
+    /**
+     * Creates an entry for a task added at the given index.
+     *
+     * @param index Index of the new task (0-based).
+     * @param task The added task.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(int index, Task task) {
+        return new JournalEntry(Type.ADD, index, task, null);
+    }
+
+    /**
+     * Creates an entry for the task removed from the given index.
+     *
+     * @param index Index of the removed task (0-based).
+     * @return The journal entry.
+     */
+    public static JournalEntry remove(int index) {
+        return new JournalEntry(Type.REMOVE, index, null, null);
+    }
+
+    /**
+     * Creates an entry for a task marked as done or not done.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The task, in its new state.
+     * @return The journal entry.
+     */
+    public static JournalEntry statusChanged(int index, Task task) {
+        return task.isDone()
+                ? new JournalEntry(Type.MARK, index, null, task.getDoneDate())
+                : new JournalEntry(Type.UNMARK, index, null, null);
+    }
+
+    /**
+     * Creates an entry for one occurrence of a recurring task marked as done or not done.
+     *
+     * @param index Index of the task (0-based).
+     * @param occurrence Number of the occurrence.
+     * @param isDone Whether the occurrence is now done.
+     * @return The journal entry.
+     */
+    public static JournalEntry occurrenceChanged(int index, int occurrence, boolean isDone) {
+        return new JournalEntry(Type.OCCURRENCE, index, null, null, occurrence, isDone, List.of());
+    }
+
+    /**
+     * Creates an entry for a task whose tags were replaced.
+     *
+     * @param index Index of the task (0-based).
+     * @param tags The task's new tags.
+     * @return The journal entry.
+     */
+    public static JournalEntry tagsChanged(int index, List<String> tags) {
+        return new JournalEntry(Type.TAGS, index, null, null, -1, false, List.copyOf(tags));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the added task.
+     *
+     * @return The task for {@link Type#ADD} entries, otherwise {@code null}.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the completion date.
+     *
+     * @return The date for {@link Type#MARK} entries if known, otherwise {@code null}.
+     */
+    public LocalDate getDoneDate() {
+        return doneDate;
+    }
+
+    /**
+     * Returns the changed occurrence number.
+     *
+     * @return The occurrence for {@link Type#OCCURRENCE} entries, otherwise -1.
+     */
+    public int getOccurrence() {
+        return occurrence;
+    }
+
+    /**
+     * Returns whether the changed occurrence is now done.
+     *
+     * @return The new status for {@link Type#OCCURRENCE} entries, otherwise {@code false}.
+     */
+    public boolean isOccurrenceDone() {
+        return isOccurrenceDone;
+    }
+
+    /**
+     * Returns the new tags.
+     *
+     * @return The tags for {@link Type#TAGS} entries, otherwise an empty list.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Formats this entry as a single line, e.g. {@code A 3 T | 0 | read book}.
+     *
+     * @return The formatted entry, without a trailing newline.
+     * @throws ShinchanException If the task cannot be formatted.
+     */
+    String format() throws ShinchanException {
+        String line = type.code + " " + index;
+        switch (type) {
+        case ADD:
+            return line + " " + TaskCodec.format(task);
+        case MARK:
+            return line + " " + (doneDate == null ? NO_DATE : doneDate.toString());
+        case OCCURRENCE:
+            return line + " " + occurrence + " " + (isOccurrenceDone ? "1" : "0");
+        case TAGS:
+            return tags.isEmpty() ? line : line + " " + String.join(" ", tags);
+        default:
+            return line;
+        }
+    }
+
+    /**
+     * Parses a line written by {@link #format()}.
+     *
+     * @param line Line to parse.
+     * @return The parsed entry.
+     * @throws ShinchanException If the line is malformed.
+     */
+    static JournalEntry parse(String line) throws ShinchanException {
+        String[] parts = line.split(" ", 3);
+        if (parts.length < 2) {
+            throw new ShinchanException(messageCorrupted);
+        }
+
+        try {
+            int index = Integer.parseInt(parts[1]);
+            switch (parts[0]) {
+            case "A":
+                requireArgument(parts);
+                return add(index, TaskCodec.parse(parts[2]));
+            case "R":
+                return remove(index);
+            case "M":
+                requireArgument(parts);
+                LocalDate date = NO_DATE.equals(parts[2]) ? null : LocalDate.parse(parts[2]);
+                return new JournalEntry(Type.MARK, index, null, date);
+            case "U":
+                return new JournalEntry(Type.UNMARK, index, null, null);
+            case "O":
+                requireArgument(parts);
+                String[] occurrence = parts[2].split(" ");
+                if (occurrence.length != 2) {
+                    throw new ShinchanException(messageCorrupted);
+                }
+                return occurrenceChanged(index, Integer.parseInt(occurrence[0]), "1".equals(occurrence[1]));
+            case "L":
+                return tagsChanged(index, parts.length < 3 ? List.of() : List.of(parts[2].split(" ")));
+            default:
+                throw new ShinchanException(messageCorrupted);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new ShinchanException(messageCorrupted);
+        }
+    }
+
+    private static void requireArgument(String[] parts) throws ShinchanException {
+        if (parts.length < 3) {
+            throw new ShinchanException(messageCorrupted);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package shinchan.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the lines written by {@link RecordWriter}, one at a time.
+ *
+ * <p>Lines without a checksum prefix, as written before checksums were added, are read
+ * as plain records. Checksums are only computed when {@link #isChecksumValid()} is called,
+ * so callers can skip verifying lines already known to be intact.</p>
+ */
+class RecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private long lineStart;
+    private long position;
+    private boolean isTerminated;
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path File to read.
+     * @throws IOException If the file cannot be opened.
+     */
+    RecordReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return {@code false} at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    boolean next() throws IOException {
+        lineStart = position;
+        lineLength = 0;
+        isTerminated = false;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    return lineLength > 0;
+                }
+            }
+            byte b = buffer.get();
+            position++;
+            if (b == '\n') {
+                isTerminated = true;
+                return true;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = b;
+        }
+    }
+
+    /**
+     * Returns the byte offset of the current line.
+     *
+     * @return Offset from the start of the file.
+     */
+    long getLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * Returns whether the current line ends with a line break, rather than at the end of the file.
+     *
+     * @return {@code true} if the line is terminated.
+     */
+    boolean isTerminated() {
+        return isTerminated;
+    }
+
+    /**
+     * Returns whether the current line starts with a checksum.
+     *
+     * @return {@code false} for lines written before checksums were added.
+     */
+    boolean hasChecksum() {
+        if (lineLength < RecordWriter.PREFIX_LENGTH || line[RecordWriter.PREFIX_LENGTH - 1] != ' ') {
+            return false;
+        }
+        for (int i = 0; i < RecordWriter.PREFIX_LENGTH - 1; i++) {
+            byte b = line[i];
+            if ((b < '0' || b > '9') && (b < 'a' || b > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the current line's checksum matches its record.
+     *
+     * @return {@code true} if the line has a checksum and it matches.
+     */
+    boolean isChecksumValid() {
+        if (!hasChecksum()) {
+            return false;
+        }
+        int expected = Integer.parseUnsignedInt(
+                new String(line, 0, RecordWriter.PREFIX_LENGTH - 1, StandardCharsets.US_ASCII), 16);
+        crc.reset();
+        crc.update(line, RecordWriter.PREFIX_LENGTH, getRecordEnd() - RecordWriter.PREFIX_LENGTH);
+        return (int) crc.getValue() == expected;
+    }
+
+    /**
+     * Returns the record on the current line, without its checksum or line terminator.
+     *
+     * @return The record text.
+     */
+    String getRecord() {
+        int start = hasChecksum() ? RecordWriter.PREFIX_LENGTH : 0;
+        return new String(line, start, getRecordEnd() - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the end of the record, leaving out the carriage return of a CRLF line ending.
+     * Records never contain a raw carriage return, as {@link TaskCodec} escapes it.
+     */
+    private int getRecordEnd() {
+        return lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,183 @@
+package shinchan.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes records one per line, each prefixed with the CRC32C checksum of its UTF-8 bytes.
+ *
+ * <p>A line looks like {@code 1c291ca3 T | 0 | read book}: eight lowercase hex digits, a
+ * space, then the record. {@link RecordReader} uses the checksum to tell a complete record
+ * from one torn by a crash.</p>
+ *
+ * <p>Records are encoded straight into a direct buffer, checksummed in place and written
+ * to the channel when the buffer fills. The buffer, encoder and checksum are pooled across
+ * writers, so writing a record creates no garbage unless it is too large for the buffer.</p>
+ */
+class RecordWriter implements Closeable {
+    /** Length of the checksum prefix, including the space after it. */
+    static final int PREFIX_LENGTH = 9;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int POOL_SIZE = 4;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final BlockingQueue<Buffers> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * The reusable state of a writer.
+     */
+    private static final class Buffers {
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final CRC32C crc = new CRC32C();
+        private CharBuffer chars = CharBuffer.allocate(1024);
+    }
+
+    private final FileChannel channel;
+    private final Buffers buffers;
+    private final ByteBuffer out;
+
+    /**
+     * Creates or truncates a file for writing.
+     *
+     * @param path File to write.
+     * @throws IOException If the file cannot be opened.
+     */
+    RecordWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        Buffers pooled = POOL.poll();
+        buffers = pooled != null ? pooled : new Buffers();
+        out = buffers.out;
+        out.clear();
+    }
+
+    /**
+     * Writes a record and its checksum as one line.
+     *
+     * @param text Record to write; it must not contain line breaks.
+     * @throws IOException If the record cannot be encoded or written.
+     */
+    void write(StringBuilder text) throws IOException {
+        int maxLength = PREFIX_LENGTH + (int) (text.length() * buffers.encoder.maxBytesPerChar()) + 1;
+        if (out.remaining() < maxLength) {
+            drain();
+        }
+        if (out.remaining() < maxLength) {
+            writeLarge(text);
+            return;
+        }
+
+        CharBuffer chars = load(text);
+        int prefixStart = out.position();
+        int recordStart = prefixStart + PREFIX_LENGTH;
+        out.position(recordStart);
+        buffers.encoder.reset();
+        CoderResult result = buffers.encoder.encode(chars, out, true);
+        if (result.isError()) {
+            out.position(prefixStart);
+            result.throwException();
+        }
+        buffers.encoder.flush(out);
+        int recordEnd = out.position();
+
+        // Checksum the encoded bytes where they are, then fill in the prefix in front of them
+        out.position(recordStart).limit(recordEnd);
+        buffers.crc.reset();
+        buffers.crc.update(out);
+        out.limit(out.capacity());
+        putPrefix(prefixStart, (int) buffers.crc.getValue());
+        out.put((byte) '\n');
+    }
+
+    /**
+     * Writes any buffered lines and forces them to the storage device.
+     *
+     * @return The size of the file, all of which is now durable.
+     * @throws IOException If the lines cannot be written or synced.
+     */
+    long sync() throws IOException {
+        drain();
+        channel.force(false);
+        return channel.size();
+    }
+
+    /**
+     * Writes any buffered lines, closes the file and returns the buffers to the pool.
+     *
+     * @throws IOException If the lines cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+            out.clear();
+            POOL.offer(buffers);
+        }
+    }
+
+    /**
+     * Copies a record into the reusable char buffer, growing it if needed.
+     */
+    private CharBuffer load(StringBuilder text) {
+        int length = text.length();
+        if (buffers.chars.capacity() < length) {
+            buffers.chars = CharBuffer.allocate(Math.max(length, buffers.chars.capacity() * 2));
+        }
+        CharBuffer chars = buffers.chars;
+        text.getChars(0, length, chars.array(), 0);
+        chars.position(0).limit(length);
+        return chars;
+    }
+
+    /**
+     * Writes a record too large for the buffer through a temporary heap buffer.
+     */
+    private void writeLarge(StringBuilder text) throws IOException {
+        buffers.encoder.reset();
+        ByteBuffer bytes = buffers.encoder.encode(CharBuffer.wrap(text));
+        buffers.crc.reset();
+        buffers.crc.update(bytes.duplicate());
+
+        putPrefix(out.position(), (int) buffers.crc.getValue());
+        drain();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        out.put((byte) '\n');
+    }
+
+    /**
+     * Puts the checksum prefix at an absolute position and moves past it if it was at the end.
+     */
+    private void putPrefix(int position, int checksum) {
+        for (int i = 0; i < PREFIX_LENGTH - 1; i++) {
+            out.put(position + i, HEX_DIGITS[(checksum >>> (28 - 4 * i)) & 0xf]);
+        }
+        out.put(position + PREFIX_LENGTH - 1, (byte) ' ');
+        if (out.position() == position) {
+            out.position(position + PREFIX_LENGTH);
+        }
+    }
+
+    private void drain() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
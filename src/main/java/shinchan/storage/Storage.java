@@ -1,29 +1,49 @@
 package shinchan.storage;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import shinchan.exception.ShinchanException;
-import shinchan.task.Deadlines;
-import shinchan.task.Events;
+import shinchan.metrics.Metrics;
+import shinchan.metrics.StorageEvent;
 import shinchan.task.Task;
-import shinchan.task.Todos;
-
-
 
 /**
  * Handles loading and saving tasks to disk.
+ *
+ * <p>Saves write a temporary file next to the data file, sync it and atomically move it
+ * into place, so a crash leaves either the old file or the new one, never a mix.</p>
+ *
+ * <p>Each record also carries a CRC32C checksum (see {@link RecordWriter}), and the synced
+ * size is noted in a {@link SyncCheckpoint}. Loading trusts the checkpointed prefix and only
+ * verifies records after it, which can only appear if the file was extended by other means
+ * or could not be replaced atomically. Bad records at the very end of the file are taken to
+ * be a torn write and truncated away, keeping the tasks before them. A bad record followed
+ * by an intact one cannot come from a torn write, so the file is reported as corrupted.</p>
  */
 public class Storage {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String messageCorrupted =
+            "Corrupted data file: the record at byte %d is damaged but later records are intact.";
+    private static final DateTimeFormatter UNREADABLE_SUFFIX_FORMAT =
+            DateTimeFormatter.ofPattern("'.unreadable-'yyyyMMdd-HHmmss");
 
     private final String filePath;
+    private final Metrics metrics;
+    private final SyncCheckpoint checkpoint;
+    private long discardedBytes;
 
     /**
      * Creates a Storage object using the given file path.
@@ -31,7 +51,19 @@ public class Storage {
      * @param filePath Path to the data file
      */
     public Storage(String filePath) {
+        this(filePath, new Metrics());
+    }
+
+    /**
+     * Creates a Storage object that records its timings into the given metrics.
+     *
+     * @param filePath Path to the data file
+     * @param metrics Metrics to record load and save timings into
+     */
+    public Storage(String filePath, Metrics metrics) {
         this.filePath = filePath;
+        this.metrics = metrics;
+        this.checkpoint = new SyncCheckpoint(Path.of(filePath));
     }
 
     /**
@@ -42,22 +74,120 @@ public class Storage {
      */
     public List<Task> load() throws ShinchanException {
         List<Task> tasks = new ArrayList<>();
+        load(tasks::add);
+        return tasks;
+    }
+
+    /**
+     * Loads tasks from disk, passing each one to the consumer as soon as it is parsed.
+     *
+     * @param consumer Receives each loaded task in file order
+     * @throws ShinchanException If the file cannot be read or data is corrupted
+     */
+    public void load(Consumer<Task> consumer) throws ShinchanException {
         File file = new File(filePath);
+        discardedBytes = 0;
 
         if (!file.exists()) {
-            return tasks;
+            return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                tasks.add(parseTask(line));
+        int count = 0;
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            long syncedSize = checkpoint.read();
+            long tornAt = -1;
+            try (RecordReader reader = new RecordReader(file.toPath())) {
+                while (reader.next()) {
+                    boolean isTail = reader.getLineStart() >= syncedSize;
+                    Task task = isTail ? parseTail(reader) : TaskCodec.parse(reader.getRecord());
+                    if (task == null) {
+                        if (tornAt < 0) {
+                            tornAt = reader.getLineStart();
+                        }
+                        continue;
+                    }
+                    // A torn write only damages the end of the file, so an intact record after a bad one is corruption
+                    if (tornAt >= 0) {
+                        throw new ShinchanException(String.format(messageCorrupted, tornAt));
+                    }
+                    consumer.accept(task);
+                    count++;
+                }
+            }
+
+            long size = file.length();
+            if (tornAt >= 0) {
+                discardedBytes = size - tornAt;
+                truncate(file.toPath(), tornAt);
+                size = tornAt;
+            }
+            if (syncedSize != size) {
+                checkpoint.write(size);
             }
         } catch (IOException e) {
             throw new ShinchanException("Error loading data from file.");
+        } finally {
+            metrics.recordPhase(Metrics.PHASE_LOAD, System.nanoTime() - start);
+            commitEvent(event, Metrics.PHASE_LOAD, count, file::length);
         }
+    }
 
-        return tasks;
+    /**
+     * Parses a record written after the last sync, which a crash may have torn.
+     *
+     * @return The task, or {@code null} if the record is torn.
+     * @throws ShinchanException If the record is intact but malformed.
+     */
+    private static Task parseTail(RecordReader reader) throws ShinchanException {
+        if (reader.hasChecksum()) {
+            return reader.isTerminated() && reader.isChecksumValid() ? TaskCodec.parse(reader.getRecord()) : null;
+        }
+
+        // Lines from before checksums were added can only be checked by parsing them
+        try {
+            return TaskCodec.parse(reader.getRecord());
+        } catch (ShinchanException e) {
+            if (reader.isTerminated()) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Returns how many bytes of torn records the last load truncated from the end of the file.
+     *
+     * @return Number of bytes discarded, or 0 if the file was intact.
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     * Renames a data file that could not be loaded, so that saving a new task list does not overwrite it.
+     *
+     * @return The new path of the file, or {@code null} if there was no file or it could not be renamed.
+     */
+    public String preserveUnreadable() {
+        Path path = Path.of(filePath);
+        Path kept = Path.of(filePath + LocalDateTime.now().format(UNREADABLE_SUFFIX_FORMAT));
+        try {
+            Files.move(path, kept);
+            checkpoint.clear();
+            return kept.toString();
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     /**
@@ -74,77 +204,76 @@ public class Storage {
             parent.mkdirs();
         }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (Task task : tasks) {
-                writer.write(formatTask(task));
-                writer.newLine();
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        long syncedSize = 0;
+        try {
+            StringBuilder record = new StringBuilder();
+            try (RecordWriter writer = new RecordWriter(temp)) {
+                for (Task task : tasks) {
+                    record.setLength(0);
+                    TaskCodec.format(task, record);
+                    writer.write(record);
+                }
+                syncedSize = writer.sync();
             }
+            replace(temp, target);
+            checkpoint.write(syncedSize);
         } catch (IOException e) {
             throw new ShinchanException("Error saving data to file.");
+        } finally {
+            deleteQuietly(temp);
+            metrics.recordPhase(Metrics.PHASE_SAVE, System.nanoTime() - start);
+            long savedSize = syncedSize;
+            commitEvent(event, Metrics.PHASE_SAVE, tasks.size(), () -> savedSize);
         }
+        // The synced size is the size of the new data file, so there is no need to stat it
+        metrics.recordWrite(syncedSize, tasks.size());
     }
 
-    private Task parseTask(String line) throws ShinchanException {
-        String[] parts = line.split(" \\| ");
-
-        if (parts.length < 3) {
-            throw new ShinchanException("Corrupted data file.");
+    /**
+     * Moves a fully written file over the data file in one step, so readers and crashes
+     * see either the old contents or the new ones.
+     */
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Checksums still catch a torn file on file systems that cannot rename atomically
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
 
-        Task task;
-
-        switch (parts[0]) {
-        case "T":
-            task = new Todos(parts[2]);
-            break;
-        case "D":
-            if (parts.length < 4) {
-                throw new ShinchanException("Corrupted data file.");
-            }
-            task = new Deadlines(parts[2], LocalDateTime.parse(parts[3]));
-            break;
-        case "E":
-            if (parts.length < 5) {
-                throw new ShinchanException("Corrupted data file.");
-            }
-            task = new Events(parts[2], LocalDateTime.parse(parts[3]), LocalDateTime.parse(parts[4]));
-            break;
-        default:
-            throw new ShinchanException("Corrupted data file.");
+        // Make the rename itself durable; not every platform can open a directory for this
+        Path directory = target.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The rename is still atomic, just not yet synced
         }
-
-        restoreStatus(task, parts[1]);
-        return task;
     }
 
-    private void restoreStatus(Task task, String status) {
-        if ("1".equals(status)) {
-            task.markAsDone();
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // A leftover temp file is overwritten by the next save
         }
     }
 
-    private String formatTask(Task task) throws ShinchanException {
-        if (task instanceof Todos) {
-            return "T | " + getStatus(task) + " | " + task.getDescription();
-        }
-
-        if (task instanceof Deadlines) {
-            Deadlines deadlines = (Deadlines) task;
-            return "D | " + getStatus(task) + " | "
-                    + task.getDescription() + " | " + deadlines.getDueDateTime();
-        }
-
-        if (task instanceof Events) {
-            Events events = (Events) task;
-            return "E | " + getStatus(task) + " | "
-                    + task.getDescription() + " | "
-                    + events.getStartDateTime() + " | " + events.getEndDateTime();
+    /**
+     * Commits a storage event if it is being recorded, only then asking for the file size.
+     */
+    private void commitEvent(StorageEvent event, String operation, int taskCount, LongSupplier bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = filePath;
+            event.taskCount = taskCount;
+            event.bytes = bytes.getAsLong();
+            event.commit();
         }
-
-        throw new ShinchanException("Unknown task type.");
-    }
-
-    private String getStatus(Task task) {
-        return task.isDone() ? "1" : "0";
     }
 }
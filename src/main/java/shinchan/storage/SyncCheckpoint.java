@@ -0,0 +1,102 @@
+package shinchan.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A sidecar file recording how much of the data file is known to be durable.
+ *
+ * <p>It holds the size the data file had just after it was last synced, with CRC32C
+ * checksums of the first and last {@value #BLOCK_SIZE} bytes of that prefix, e.g.
+ * {@code 20480 1a2b3c4d 5e6f7a8b}. Appending to the file leaves the prefix, and so the
+ * checksums, unchanged, so only bytes after the synced size need verifying. A file that
+ * was replaced or shortened no longer matches, and is verified in full.</p>
+ */
+class SyncCheckpoint {
+    private static final int BLOCK_SIZE = 4096;
+
+    private final Path path;
+    private final Path dataPath;
+
+    /**
+     * Creates a checkpoint for the given data file, stored next to it.
+     *
+     * @param dataPath The data file.
+     */
+    SyncCheckpoint(Path dataPath) {
+        this.dataPath = dataPath;
+        this.path = Path.of(dataPath + ".sync");
+    }
+
+    /**
+     * Returns how many bytes at the start of the data file are known to be durable.
+     *
+     * @return The synced size, or 0 if there is no valid checkpoint for the current file.
+     */
+    long read() {
+        try {
+            String[] parts = Files.readString(path, StandardCharsets.US_ASCII).trim().split(" ");
+            long size = Long.parseLong(parts[0]);
+            if (size > Files.size(dataPath)) {
+                return 0;
+            }
+            return describe(size).equals(parts[1] + " " + parts[2]) ? size : 0;
+        } catch (IOException | RuntimeException e) {
+            // A missing, torn or older checkpoint only means the whole file gets verified
+            return 0;
+        }
+    }
+
+    /**
+     * Records that the data file is durable up to the given size.
+     *
+     * @param size Size of the synced prefix, usually the whole file.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    void write(long size) throws IOException {
+        Files.writeString(path, size + " " + describe(size) + "\n", StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Removes the checkpoint before the data file is rewritten.
+     *
+     * @throws IOException If the checkpoint exists but cannot be deleted.
+     */
+    void clear() throws IOException {
+        try {
+            Files.delete(path);
+        } catch (NoSuchFileException e) {
+            // Nothing to clear
+        }
+    }
+
+    /**
+     * Returns the checksums of the first and last block of the data file's first {@code size} bytes.
+     */
+    private String describe(long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+            int length = (int) Math.min(BLOCK_SIZE, size);
+            return checksum(channel, 0, length) + " " + checksum(channel, size - length, length);
+        }
+    }
+
+    private static String checksum(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Data file is shorter than its checkpoint");
+            }
+        }
+        buffer.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer);
+        return Integer.toHexString((int) crc.getValue());
+    }
+}
@@ -0,0 +1,414 @@
+package shinchan.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Converts tasks to and from the pipe-separated record format used on disk.
+ *
+ * <p>A record looks like {@code T | 1 | read book | 2026-01-10 | #work #home}, where the
+ * completion date is only written for tasks that are done and the tags field, which always
+ * starts with {@code #}, only for tasks that have tags.</p>
+ *
+ * <p>Recurring tasks wrap the record of their first occurrence, e.g.
+ * {@code R | WEEKLY 1 2026-12-31 | 0-2,5 | D | 0 | report | 2026-01-10T18:00}, where the
+ * third field lists completed occurrence numbers as ranges, or {@code -} if there are none.</p>
+ *
+ * <p>Descriptions escape backslashes, pipes and line breaks with a backslash, so a
+ * description containing {@code " | "} cannot be mistaken for a separator. Backslashes
+ * before any other character are read literally, as older files did not escape them.</p>
+ */
+class TaskCodec {
+    private static final String SEPARATOR = " | ";
+    private static final String NONE = "-";
+    private static final char TAG_PREFIX = '#';
+    private static final int RECURRING_FIELD_COUNT = 3;
+    private static final String messageCorrupted = "Corrupted data file.";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TaskCodec() {
+        // Utility class
+    }
+
+    /**
+     * Parses a single record into a task.
+     *
+     * @param line Record to parse.
+     * @return The parsed task.
+     * @throws ShinchanException If the record is malformed.
+     */
+    static Task parse(String line) throws ShinchanException {
+        return parse(split(line));
+    }
+
+    private static Task parse(String[] parts) throws ShinchanException {
+        if (parts.length < 3) {
+            throw new ShinchanException(messageCorrupted);
+        }
+
+        Task task;
+        int fieldCount;
+
+        try {
+            switch (parts[0]) {
+            case "T":
+                task = new Todos(parts[2]);
+                fieldCount = 3;
+                break;
+            case "D":
+                if (parts.length < 4) {
+                    throw new ShinchanException(messageCorrupted);
+                }
+                task = new Deadlines(parts[2], LocalDateTime.parse(parts[3]));
+                fieldCount = 4;
+                break;
+            case "E":
+                if (parts.length < 5) {
+                    throw new ShinchanException(messageCorrupted);
+                }
+                task = new Events(parts[2], LocalDateTime.parse(parts[3]), LocalDateTime.parse(parts[4]));
+                fieldCount = 5;
+                break;
+            case "R":
+                return parseRecurring(parts);
+            default:
+                throw new ShinchanException(messageCorrupted);
+            }
+
+            String doneDate = null;
+            for (int i = fieldCount; i < parts.length; i++) {
+                if (isTags(parts[i])) {
+                    task.setTags(parseTags(parts[i]));
+                } else {
+                    doneDate = parts[i];
+                }
+            }
+            restoreStatus(task, parts[1], doneDate);
+        } catch (DateTimeParseException e) {
+            throw new ShinchanException(messageCorrupted);
+        }
+
+        return task;
+    }
+
+    private static Task parseRecurring(String[] parts) throws ShinchanException {
+        if (parts.length <= RECURRING_FIELD_COUNT) {
+            throw new ShinchanException(messageCorrupted);
+        }
+
+        Task template = parse(Arrays.copyOfRange(parts, RECURRING_FIELD_COUNT, parts.length));
+        if (!(template instanceof Deadlines || template instanceof Events) || template.isDone()) {
+            throw new ShinchanException(messageCorrupted);
+        }
+        Recurring recurring = new Recurring(template, parseRule(parts[1]), parseRanges(parts[2]));
+        // The tags field ends the record, so it was read as part of the template
+        recurring.setTags(template.getTags());
+        template.setTags(List.of());
+        return recurring;
+    }
+
+    private static boolean isTags(String field) {
+        return !field.isEmpty() && field.charAt(0) == TAG_PREFIX;
+    }
+
+    private static List<String> parseTags(String field) throws ShinchanException {
+        List<String> tags = new ArrayList<>();
+        for (String tag : field.split(" ")) {
+            if (!isTags(tag) || tag.length() == 1) {
+                throw new ShinchanException(messageCorrupted);
+            }
+            String name = tag.substring(1);
+            if (!tags.contains(name)) {
+                tags.add(name);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Parses a rule written by {@link #formatRule(RecurrenceRule)}.
+     *
+     * @param text Rule such as {@code WEEKLY 1 2026-12-31}.
+     * @return The parsed rule.
+     * @throws ShinchanException If the rule is malformed.
+     */
+    static RecurrenceRule parseRule(String text) throws ShinchanException {
+        String[] ruleParts = text.split(" ");
+        if (ruleParts.length != 3) {
+            throw new ShinchanException(messageCorrupted);
+        }
+
+        try {
+            RecurrenceRule.Frequency frequency = RecurrenceRule.Frequency.valueOf(ruleParts[0]);
+            int interval = Integer.parseInt(ruleParts[1]);
+            LocalDate until = NONE.equals(ruleParts[2]) ? null : LocalDate.parse(ruleParts[2]);
+            if (interval <= 0) {
+                throw new ShinchanException(messageCorrupted);
+            }
+            return new RecurrenceRule(frequency, interval, until);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ShinchanException(messageCorrupted);
+        }
+    }
+
+    /**
+     * Formats a rule as its frequency, interval and end date, e.g. {@code WEEKLY 1 -}.
+     *
+     * @param rule Rule to format.
+     * @return The formatted rule.
+     */
+    static String formatRule(RecurrenceRule rule) {
+        String until = rule.getUntil() == null ? NONE : rule.getUntil().toString();
+        return rule.getFrequency() + " " + rule.getInterval() + " " + until;
+    }
+
+    /**
+     * Parses occurrence numbers written by {@link #formatRanges(BitSet)}.
+     *
+     * @param ranges Ranges such as {@code 0-2,5}, or {@code -} for none.
+     * @return The occurrence numbers.
+     * @throws ShinchanException If the ranges are malformed.
+     */
+    static BitSet parseRanges(String ranges) throws ShinchanException {
+        BitSet bits = new BitSet();
+        if (NONE.equals(ranges)) {
+            return bits;
+        }
+
+        try {
+            for (String range : ranges.split(",")) {
+                int dash = range.indexOf('-');
+                if (dash < 0) {
+                    bits.set(Integer.parseInt(range));
+                } else {
+                    bits.set(Integer.parseInt(range.substring(0, dash)),
+                            Integer.parseInt(range.substring(dash + 1)) + 1);
+                }
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new ShinchanException(messageCorrupted);
+        }
+        return bits;
+    }
+
+    /**
+     * Formats occurrence numbers as comma-separated ranges.
+     *
+     * @param bits Occurrence numbers.
+     * @return Ranges such as {@code 0-2,5}, or {@code -} if there are none.
+     */
+    static String formatRanges(BitSet bits) {
+        if (bits.isEmpty()) {
+            return NONE;
+        }
+        StringBuilder ranges = new StringBuilder();
+        for (int start = bits.nextSetBit(0); start >= 0; start = bits.nextSetBit(start)) {
+            int end = bits.nextClearBit(start);
+            if (ranges.length() > 0) {
+                ranges.append(',');
+            }
+            ranges.append(start);
+            if (end - 1 > start) {
+                ranges.append('-').append(end - 1);
+            }
+            start = end;
+        }
+        return ranges.toString();
+    }
+
+    /**
+     * Formats a task as a single record.
+     *
+     * @param task Task to format.
+     * @return The record, without a trailing newline.
+     * @throws ShinchanException If the task type is unknown.
+     */
+    static String format(Task task) throws ShinchanException {
+        StringBuilder record = new StringBuilder();
+        format(task, record);
+        return record.toString();
+    }
+
+    /**
+     * Appends a task's record to a builder, so that a caller formatting many tasks
+     * can reuse one builder instead of creating a string per task.
+     *
+     * @param task Task to format.
+     * @param record Builder to append the record to, without a trailing newline.
+     * @throws ShinchanException If the task type is unknown.
+     */
+    static void format(Task task, StringBuilder record) throws ShinchanException {
+        if (task instanceof Recurring) {
+            Recurring recurring = (Recurring) task;
+            record.append('R').append(SEPARATOR).append(formatRule(recurring.getRule()))
+                    .append(SEPARATOR).append(formatRanges(recurring.getCompletedOccurrences()))
+                    .append(SEPARATOR);
+            format(recurring.getTemplate(), record);
+            appendTags(task, record);
+            return;
+        } else if (task instanceof Todos) {
+            record.append('T');
+            appendStatusAndDescription(task, record);
+        } else if (task instanceof Deadlines) {
+            record.append('D');
+            appendStatusAndDescription(task, record);
+            record.append(SEPARATOR);
+            appendDateTime(((Deadlines) task).getDueDateTime(), record);
+        } else if (task instanceof Events) {
+            Events events = (Events) task;
+            record.append('E');
+            appendStatusAndDescription(task, record);
+            record.append(SEPARATOR);
+            appendDateTime(events.getStartDateTime(), record);
+            record.append(SEPARATOR);
+            appendDateTime(events.getEndDateTime(), record);
+        } else {
+            throw new ShinchanException("Unknown task type.");
+        }
+
+        if (task.getDoneDate() != null) {
+            record.append(SEPARATOR);
+            appendDate(task.getDoneDate(), record);
+        }
+        appendTags(task, record);
+    }
+
+    private static void appendTags(Task task, StringBuilder record) {
+        List<String> tags = task.getTags();
+        if (tags.isEmpty()) {
+            return;
+        }
+        record.append(SEPARATOR);
+        for (int i = 0; i < tags.size(); i++) {
+            if (i > 0) {
+                record.append(' ');
+            }
+            record.append(TAG_PREFIX);
+            appendEscaped(tags.get(i), record);
+        }
+    }
+
+    private static void appendStatusAndDescription(Task task, StringBuilder record) {
+        record.append(SEPARATOR).append(getStatus(task)).append(SEPARATOR);
+        appendEscaped(task.getDescription(), record);
+    }
+
+    /**
+     * Appends a date in ISO format, as {@link LocalDate#toString()} would, without creating a string.
+     */
+    private static void appendDate(LocalDate date, StringBuilder record) {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            record.append(date);
+            return;
+        }
+        record.append(year).append('-');
+        appendTwoDigits(date.getMonthValue(), record);
+        record.append('-');
+        appendTwoDigits(date.getDayOfMonth(), record);
+    }
+
+    /**
+     * Appends a date-time in ISO format, as {@link LocalDateTime#toString()} would, without creating a string.
+     */
+    private static void appendDateTime(LocalDateTime dateTime, StringBuilder record) {
+        if (dateTime.getSecond() != 0 || dateTime.getNano() != 0) {
+            record.append(dateTime);
+            return;
+        }
+        appendDate(dateTime.toLocalDate(), record);
+        record.append('T');
+        appendTwoDigits(dateTime.getHour(), record);
+        record.append(':');
+        appendTwoDigits(dateTime.getMinute(), record);
+    }
+
+    private static void appendTwoDigits(int value, StringBuilder record) {
+        record.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Splits a record at unescaped separators and unescapes each field.
+     */
+    private static String[] split(String line) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = line.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < length) {
+                char escaped = line.charAt(++i);
+                switch (escaped) {
+                case '\\':
+                case '|':
+                    field.append(escaped);
+                    break;
+                case 'n':
+                    field.append('\n');
+                    break;
+                case 'r':
+                    field.append('\r');
+                    break;
+                default:
+                    field.append(c).append(escaped);
+                }
+            } else if (line.startsWith(SEPARATOR, i)) {
+                parts.add(field.toString());
+                field.setLength(0);
+                i += SEPARATOR.length() - 1;
+            } else {
+                field.append(c);
+            }
+        }
+        parts.add(field.toString());
+        return parts.toArray(new String[0]);
+    }
+
+    private static void appendEscaped(String text, StringBuilder escaped) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '\\':
+                escaped.append("\\\\");
+                break;
+            case '|':
+                escaped.append("\\|");
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                escaped.append("\\r");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+    }
+
+    private static void restoreStatus(Task task, String status, String doneDate) {
+        if ("1".equals(status)) {
+            task.markAsDone(doneDate == null ? null : LocalDate.parse(doneDate));
+        }
+    }
+
+    private static char getStatus(Task task) {
+        return task.isDone() ? '1' : '0';
+    }
+}
@@ -0,0 +1,146 @@
+package shinchan.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Exports tasks to a CSV or JSON Lines file.
+ *
+ * <p>Records are encoded one at a time into a fixed-size buffer that is written to a
+ * {@link java.nio.channels.FileChannel} whenever it fills, so exporting a large list never
+ * builds the whole file in memory.</p>
+ */
+public class TaskExporter {
+
+    private final String filePath;
+    private final TransferFormat format;
+
+    /**
+     * Creates an exporter for the given file.
+     *
+     * @param filePath Path to the file to create or overwrite
+     * @param format Format to write
+     */
+    public TaskExporter(String filePath, TransferFormat format) {
+        this.filePath = filePath;
+        this.format = format;
+    }
+
+    /**
+     * Writes tasks to the file, replacing its contents.
+     *
+     * @param tasks Tasks to export
+     * @return The number of tasks written
+     * @throws ShinchanException If the file cannot be written
+     */
+    public int export(List<Task> tasks) throws ShinchanException {
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        StringBuilder record = new StringBuilder();
+        try (ChannelWriter writer = new ChannelWriter(file.toPath())) {
+            if (format == TransferFormat.CSV) {
+                appendCsv(record, TransferRecord.COLUMNS);
+                writer.write(record);
+            }
+            for (Task task : tasks) {
+                record.setLength(0);
+                String[] fields = TransferRecord.toFields(task);
+                if (format == TransferFormat.CSV) {
+                    appendCsv(record, fields);
+                } else {
+                    appendJson(record, fields);
+                }
+                writer.write(record);
+            }
+        } catch (IOException e) {
+            throw new ShinchanException("Error writing to export file.");
+        }
+        return tasks.size();
+    }
+
+    private static void appendCsv(StringBuilder record, String[] fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            String field = fields[i];
+            if (needsQuotes(field)) {
+                record.append('"').append(field.replace("\"", "\"\"")).append('"');
+            } else {
+                record.append(field);
+            }
+        }
+        record.append("\r\n");
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendJson(StringBuilder record, String[] fields) {
+        record.append('{');
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            appendJsonString(record, TransferRecord.COLUMNS[i]);
+            record.append(':');
+
+            String field = fields[i];
+            if (i == TransferRecord.DONE) {
+                record.append(field);
+            } else if (field.isEmpty() && i != TransferRecord.DESCRIPTION) {
+                record.append("null");
+            } else {
+                appendJsonString(record, field);
+            }
+        }
+        record.append("}\n");
+    }
+
+    private static void appendJsonString(StringBuilder record, String text) {
+        record.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                record.append("\\\"");
+                break;
+            case '\\':
+                record.append("\\\\");
+                break;
+            case '\n':
+                record.append("\\n");
+                break;
+            case '\r':
+                record.append("\\r");
+                break;
+            case '\t':
+                record.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    record.append(String.format("\\u%04x", (int) c));
+                } else {
+                    record.append(c);
+                }
+            }
+        }
+        record.append('"');
+    }
+}
@@ -0,0 +1,342 @@
+package shinchan.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+
+/**
+ * Imports tasks from a CSV or JSON Lines file written by {@link TaskExporter} or by
+ * another program using the same column names.
+ *
+ * <p>The file is decoded through fixed-size buffers and each task is handed to the caller
+ * as soon as its record is parsed. A CSV file may start with a header row naming the
+ * columns in any order; without one, the columns are read in export order. JSON Lines
+ * records are flat objects whose unknown keys are ignored.</p>
+ */
+public class TaskImporter {
+
+    private static final String messageInvalidRecord = "Record %d of the import file is invalid.";
+
+    private final String filePath;
+    private final TransferFormat format;
+
+    /**
+     * Creates an importer for the given file.
+     *
+     * @param filePath Path to the file to read
+     * @param format Format of the file
+     */
+    public TaskImporter(String filePath, TransferFormat format) {
+        this.filePath = filePath;
+        this.format = format;
+    }
+
+    /**
+     * Reads every task in the file.
+     *
+     * @param consumer Receives each task in file order
+     * @return The number of tasks read
+     * @throws ShinchanException If the file cannot be read or a record is invalid
+     */
+    public int importTasks(Consumer<Task> consumer) throws ShinchanException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new ShinchanException("Import file not found: " + filePath);
+        }
+
+        try (ChannelReader reader = new ChannelReader(file.toPath())) {
+            return format == TransferFormat.CSV ? readCsv(reader, consumer) : readJsonLines(reader, consumer);
+        } catch (IOException e) {
+            throw new ShinchanException("Error reading import file.");
+        }
+    }
+
+    private int readCsv(ChannelReader reader, Consumer<Task> consumer) throws IOException, ShinchanException {
+        int[] columnOf = identityColumns();
+        int count = 0;
+        int recordNumber = 0;
+        List<String> record = new ArrayList<>();
+
+        while (readCsvRecord(reader, record)) {
+            recordNumber++;
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (recordNumber == 1 && isHeader(record)) {
+                columnOf = mapColumns(record);
+                continue;
+            }
+            if (record.size() > columnOf.length) {
+                throw new ShinchanException(String.format(messageInvalidRecord, recordNumber));
+            }
+
+            String[] fields = new String[TransferRecord.COLUMNS.length];
+            for (int i = 0; i < record.size(); i++) {
+                if (columnOf[i] >= 0) {
+                    fields[columnOf[i]] = record.get(i);
+                }
+            }
+            consumer.accept(parseRecord(fields, recordNumber));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads one CSV record, which may span several lines if a quoted field contains line breaks.
+     *
+     * @return {@code false} if the end of the file was reached before any character.
+     */
+    private static boolean readCsvRecord(ChannelReader reader, List<String> record) throws IOException {
+        record.clear();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        boolean isEmpty = true;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            isEmpty = false;
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                int next = reader.read();
+                if (next == '"') {
+                    field.append('"');
+                    continue;
+                }
+                isQuoted = false;
+                c = next;
+                if (c == -1) {
+                    break;
+                }
+            }
+
+            if (c == '"' && field.length() == 0) {
+                isQuoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (isEmpty) {
+            return false;
+        }
+        record.add(field.toString());
+        return true;
+    }
+
+    private int readJsonLines(ChannelReader reader, Consumer<Task> consumer) throws IOException, ShinchanException {
+        int count = 0;
+        int lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = new String[TransferRecord.COLUMNS.length];
+            if (!new JsonObjectParser(line).parseInto(fields)) {
+                throw new ShinchanException(String.format(messageInvalidRecord, lineNumber));
+            }
+            consumer.accept(parseRecord(fields, lineNumber));
+            count++;
+        }
+        return count;
+    }
+
+    private static Task parseRecord(String[] fields, int recordNumber) throws ShinchanException {
+        try {
+            return TransferRecord.fromFields(fields);
+        } catch (ShinchanException e) {
+            throw new ShinchanException(String.format(messageInvalidRecord, recordNumber));
+        }
+    }
+
+    private static boolean isHeader(List<String> record) {
+        for (String name : record) {
+            if (indexOfColumn(name.trim()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] identityColumns() {
+        int[] columnOf = new int[TransferRecord.COLUMNS.length];
+        for (int i = 0; i < columnOf.length; i++) {
+            columnOf[i] = i;
+        }
+        return columnOf;
+    }
+
+    private static int[] mapColumns(List<String> header) {
+        int[] columnOf = new int[Math.max(header.size(), TransferRecord.COLUMNS.length)];
+        Arrays.fill(columnOf, -1);
+        for (int i = 0; i < header.size(); i++) {
+            columnOf[i] = indexOfColumn(header.get(i).trim());
+        }
+        return columnOf;
+    }
+
+    private static int indexOfColumn(String name) {
+        for (int i = 0; i < TransferRecord.COLUMNS.length; i++) {
+            if (TransferRecord.COLUMNS[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a single flat JSON object whose values are strings, numbers, booleans or null.
+     */
+    private static final class JsonObjectParser {
+        private final String text;
+        private int position;
+
+        JsonObjectParser(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Stores the value of every known key in its column, converting non-string values to text.
+         *
+         * @return {@code false} if the line is not a flat JSON object.
+         */
+        boolean parseInto(String[] fields) {
+            skipSpaces();
+            if (!consume('{')) {
+                return false;
+            }
+            skipSpaces();
+            if (consume('}')) {
+                return isAtEnd();
+            }
+
+            do {
+                skipSpaces();
+                String key = readString();
+                skipSpaces();
+                if (key == null || !consume(':')) {
+                    return false;
+                }
+                skipSpaces();
+                String value = peek() == '"' ? readString() : readLiteral();
+                if (value == null) {
+                    return false;
+                }
+                int column = indexOfColumn(key);
+                if (column >= 0) {
+                    fields[column] = value;
+                }
+                skipSpaces();
+            } while (consume(','));
+
+            return consume('}') && isAtEnd();
+        }
+
+        private String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    return null;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        return null;
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads a number, boolean or null; null is returned as an empty string.
+         */
+        private String readLiteral() {
+            int start = position;
+            while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                return null;
+            }
+            return "null".equals(literal) ? "" : literal;
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            return position < text.length() ? text.charAt(position) : '\0';
+        }
+
+        private boolean consume(char expected) {
+            if (peek() != expected) {
+                return false;
+            }
+            position++;
+            return true;
+        }
+
+        private boolean isAtEnd() {
+            skipSpaces();
+            return position == text.length();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package shinchan.storage;
+
+import java.util.Locale;
+
+/**
+ * File formats for importing and exporting tasks.
+ */
+public enum TransferFormat {
+    /** Comma-separated values with a header row, quoted as in RFC 4180. */
+    CSV("csv"),
+    /** One JSON object per line. */
+    JSONL("jsonl");
+
+    private final String keyword;
+
+    TransferFormat(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the format matching a keyword such as {@code csv}.
+     *
+     * @param keyword Keyword to look up, in any case.
+     * @return The format, or {@code null} if none matches.
+     */
+    public static TransferFormat fromKeyword(String keyword) {
+        for (TransferFormat format : values()) {
+            if (format.keyword.equalsIgnoreCase(keyword)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Guesses the format from a file name, defaulting to CSV.
+     *
+     * @param fileName Name or path of the file.
+     * @return {@link #JSONL} for {@code .jsonl} and {@code .json} files, otherwise {@link #CSV}.
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jsonl") || lower.endsWith(".json") ? JSONL : CSV;
+    }
+}
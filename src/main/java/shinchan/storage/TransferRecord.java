@@ -0,0 +1,152 @@
+package shinchan.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Maps tasks to and from the columns shared by all {@link TransferFormat}s.
+ *
+ * <p>Empty strings stand for missing values. A recurring task is exported as its first
+ * occurrence with its rule and completed occurrences in their own columns. Tags are one
+ * column of space-separated names.</p>
+ */
+class TransferRecord {
+    /** Column names, in the order used by {@link #toFields(Task)}. */
+    static final String[] COLUMNS = {
+        "type", "done", "description", "start", "end", "done_date", "recurrence", "completed", "tags"
+    };
+    static final int TYPE = 0;
+    static final int DONE = 1;
+    static final int DESCRIPTION = 2;
+    static final int START = 3;
+    static final int END = 4;
+    static final int DONE_DATE = 5;
+    static final int RECURRENCE = 6;
+    static final int COMPLETED = 7;
+    static final int TAGS = 8;
+
+    private static final String messageInvalid = "Invalid task record.";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TransferRecord() {
+        // Utility class
+    }
+
+    /**
+     * Returns the column values for a task.
+     *
+     * @param task Task to convert.
+     * @return One value per column in {@link #COLUMNS}.
+     */
+    static String[] toFields(Task task) {
+        String[] fields = new String[COLUMNS.length];
+        Arrays.fill(fields, "");
+
+        Task base = task;
+        if (task instanceof Recurring) {
+            Recurring recurring = (Recurring) task;
+            base = recurring.getTemplate();
+            fields[RECURRENCE] = TaskCodec.formatRule(recurring.getRule());
+            fields[COMPLETED] = TaskCodec.formatRanges(recurring.getCompletedOccurrences());
+        }
+
+        if (base instanceof Deadlines) {
+            fields[TYPE] = "D";
+            fields[START] = ((Deadlines) base).getDueDateTime().toString();
+        } else if (base instanceof Events) {
+            fields[TYPE] = "E";
+            fields[START] = ((Events) base).getStartDateTime().toString();
+            fields[END] = ((Events) base).getEndDateTime().toString();
+        } else {
+            fields[TYPE] = "T";
+        }
+
+        fields[DONE] = Boolean.toString(task.isDone());
+        fields[DESCRIPTION] = task.getDescription();
+        if (task.getDoneDate() != null) {
+            fields[DONE_DATE] = task.getDoneDate().toString();
+        }
+        fields[TAGS] = String.join(" ", task.getTags());
+        return fields;
+    }
+
+    /**
+     * Creates a task from column values.
+     *
+     * @param fields One value per column in {@link #COLUMNS}; missing trailing values may be omitted.
+     * @return The task.
+     * @throws ShinchanException If a value is missing or malformed.
+     */
+    static Task fromFields(String[] fields) throws ShinchanException {
+        String description = get(fields, DESCRIPTION);
+        if (description.isBlank()) {
+            throw new ShinchanException(messageInvalid);
+        }
+
+        try {
+            Task task;
+            switch (get(fields, TYPE).toUpperCase()) {
+            case "T":
+                task = new Todos(description);
+                break;
+            case "D":
+                task = new Deadlines(description, LocalDateTime.parse(get(fields, START)));
+                break;
+            case "E":
+                LocalDateTime start = LocalDateTime.parse(get(fields, START));
+                LocalDateTime end = LocalDateTime.parse(get(fields, END));
+                if (end.isBefore(start)) {
+                    throw new ShinchanException(messageInvalid);
+                }
+                task = new Events(description, start, end);
+                break;
+            default:
+                throw new ShinchanException(messageInvalid);
+            }
+
+            String recurrence = get(fields, RECURRENCE);
+            if (!recurrence.isEmpty()) {
+                if (task instanceof Todos) {
+                    throw new ShinchanException(messageInvalid);
+                }
+                String completed = get(fields, COMPLETED);
+                BitSet occurrences = TaskCodec.parseRanges(completed.isEmpty() ? "-" : completed);
+                task = new Recurring(task, TaskCodec.parseRule(recurrence), occurrences);
+            } else if (Boolean.parseBoolean(get(fields, DONE)) || "1".equals(get(fields, DONE))) {
+                String doneDate = get(fields, DONE_DATE);
+                task.markAsDone(doneDate.isEmpty() ? null : LocalDate.parse(doneDate));
+            }
+            task.setTags(parseTags(get(fields, TAGS)));
+            return task;
+        } catch (DateTimeParseException e) {
+            throw new ShinchanException(messageInvalid);
+        }
+    }
+
+    private static List<String> parseTags(String text) {
+        return Arrays.stream(text.trim().split("\\s+"))
+                .map(tag -> tag.startsWith("#") ? tag.substring(1) : tag)
+                .filter(tag -> !tag.isEmpty())
+                .map(tag -> tag.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+
+    private static String get(String[] fields, int column) {
+        return column < fields.length && fields[column] != null ? fields[column] : "";
+    }
+}
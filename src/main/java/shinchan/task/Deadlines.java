@@ -58,6 +58,6 @@ public class Deadlines extends Task {
         String time = TimeFormat.formatAmPm(dueDateTime);
 
         return PREFIX + super.toString()
-                + BY_OPEN + date + " " + time + CLOSE;
+                + BY_OPEN + date + " " + time + CLOSE + formatTags();
     }
 }
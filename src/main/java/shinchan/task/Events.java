@@ -83,6 +83,6 @@ public class Events extends Task {
         return PREFIX + super.toString()
                 + FROM_OPEN + startDate + " " + startTime
                 + TO_MIDDLE + endDate + " " + endTime
-                + CLOSE;
+                + CLOSE + formatTags();
     }
 }
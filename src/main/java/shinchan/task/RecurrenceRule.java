@@ -0,0 +1,151 @@
+package shinchan.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Describes how often a recurring task repeats, such as every week until a given date.
+ *
+ * <p>A rule never stores its occurrences. The date of any occurrence, and the first
+ * occurrence on or after any date, are computed directly from the first occurrence.</p>
+ */
+public class RecurrenceRule {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    /**
+     * Units a rule can repeat in.
+     */
+    public enum Frequency {
+        DAILY("day"), WEEKLY("week"), MONTHLY("month");
+
+        private final String unit;
+
+        Frequency(String unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * Returns the singular unit name, e.g. {@code week}.
+         *
+         * @return Unit name.
+         */
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final LocalDate until;
+
+    /**
+     * Creates a rule.
+     *
+     * @param frequency Unit to repeat in.
+     * @param interval Number of units between occurrences (at least 1).
+     * @param until Last date an occurrence may fall on, or {@code null} to repeat forever.
+     */
+    public RecurrenceRule(Frequency frequency, int interval, LocalDate until) {
+        assert frequency != null : "Recurrence frequency should not be null";
+        assert interval > 0 : "Recurrence interval should be positive";
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns the date-time of an occurrence.
+     *
+     * @param first Date-time of the first occurrence.
+     * @param occurrence Occurrence number (0 for the first).
+     * @return Date-time of that occurrence.
+     */
+    public LocalDateTime getOccurrence(LocalDateTime first, int occurrence) {
+        long steps = (long) occurrence * interval;
+        switch (frequency) {
+        case DAILY:
+            return first.plusDays(steps);
+        case WEEKLY:
+            return first.plusWeeks(steps);
+        default:
+            // plusMonths clamps to the end of shorter months, e.g. Jan 31 -> Feb 28
+            return first.plusMonths(steps);
+        }
+    }
+
+    /**
+     * Returns whether an occurrence falls on or before the rule's end date.
+     *
+     * @param first Date-time of the first occurrence.
+     * @param occurrence Occurrence number.
+     * @return {@code true} if the occurrence exists.
+     */
+    public boolean hasOccurrence(LocalDateTime first, int occurrence) {
+        return occurrence >= 0
+                && (until == null || !getOccurrence(first, occurrence).toLocalDate().isAfter(until));
+    }
+
+    /**
+     * Returns the number of the first occurrence on or after a date, whether or not
+     * it is before the rule's end date.
+     *
+     * @param first Date-time of the first occurrence.
+     * @param date Date to search from.
+     * @return Occurrence number.
+     */
+    public int getFirstOnOrAfter(LocalDateTime first, LocalDate date) {
+        LocalDate firstDate = first.toLocalDate();
+        if (!date.isAfter(firstDate)) {
+            return 0;
+        }
+
+        long estimate;
+        switch (frequency) {
+        case DAILY:
+            estimate = ChronoUnit.DAYS.between(firstDate, date) / interval;
+            break;
+        case WEEKLY:
+            estimate = ChronoUnit.WEEKS.between(firstDate, date) / interval;
+            break;
+        default:
+            estimate = ChronoUnit.MONTHS.between(firstDate, date) / interval;
+            break;
+        }
+
+        int occurrence = (int) Math.min(estimate, Integer.MAX_VALUE - 2);
+        // The estimate rounds down, so at most a couple of steps forward are needed
+        while (getOccurrence(first, occurrence).toLocalDate().isBefore(date)) {
+            occurrence++;
+        }
+        return occurrence;
+    }
+
+    /**
+     * Returns a description such as {@code every 2 weeks until Dec 31 2026}.
+     *
+     * @return Readable form of the rule.
+     */
+    @Override
+    public String toString() {
+        String text = interval == 1
+                ? "every " + frequency.getUnit()
+                : "every " + interval + " " + frequency.getUnit() + "s";
+        return until == null ? text : text + " until " + until.format(DATE_FORMATTER);
+    }
+}
@@ -0,0 +1,248 @@
+package shinchan.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a deadline or event that repeats according to a {@link RecurrenceRule}.
+ *
+ * <p>Only the first occurrence (the template) and the rule are stored. Other occurrences
+ * are created on demand, and completed occurrences are tracked by number in a
+ * {@link BitSet}, so memory stays constant per rule however many occurrences pass.</p>
+ */
+public class Recurring extends Task {
+
+    private static final String PREFIX = "[R]";
+
+    private final Task template;
+    private final RecurrenceRule rule;
+    private final BitSet completed;
+
+    /**
+     * Creates a recurring task with no completed occurrences.
+     *
+     * @param template The first occurrence, a {@link Deadlines} or {@link Events}.
+     * @param rule How often the task repeats.
+     */
+    public Recurring(Task template, RecurrenceRule rule) {
+        this(template, rule, new BitSet());
+    }
+
+    /**
+     * Creates a recurring task with the given completed occurrences.
+     *
+     * @param template The first occurrence, a {@link Deadlines} or {@link Events}.
+     * @param rule How often the task repeats.
+     * @param completed Numbers of the completed occurrences.
+     */
+    public Recurring(Task template, RecurrenceRule rule, BitSet completed) {
+        super(template.getDescription());
+        assert template instanceof Deadlines || template instanceof Events
+                : "Only deadlines and events can recur";
+        assert !template.isDone() : "Recurring template should not be done";
+        this.template = template;
+        this.rule = rule;
+        this.completed = (BitSet) completed.clone();
+    }
+
+    public Task getTemplate() {
+        return template;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Returns the numbers of the completed occurrences.
+     *
+     * @return A copy of the completed set.
+     */
+    public BitSet getCompletedOccurrences() {
+        return (BitSet) completed.clone();
+    }
+
+    /**
+     * Returns the occurrence with the given number, marked done if it was completed.
+     *
+     * @param occurrence Occurrence number (0 for the first).
+     * @return The occurrence as a standalone deadline or event, with the same tags.
+     */
+    public Task getOccurrence(int occurrence) {
+        LocalDateTime start = rule.getOccurrence(getFirstStart(), occurrence);
+        Task task;
+        if (template instanceof Events) {
+            Events events = (Events) template;
+            Duration length = Duration.between(events.getStartDateTime(), events.getEndDateTime());
+            task = new Events(getDescription(), start, start.plus(length));
+        } else {
+            task = new Deadlines(getDescription(), start);
+        }
+
+        if (completed.get(occurrence)) {
+            task.markAsDone(null);
+        }
+        task.setTags(getTags());
+        return task;
+    }
+
+    /**
+     * Returns the date an occurrence starts on.
+     *
+     * @param occurrence Occurrence number.
+     * @return Start date (the due date, for deadlines).
+     */
+    public LocalDate getOccurrenceDate(int occurrence) {
+        return rule.getOccurrence(getFirstStart(), occurrence).toLocalDate();
+    }
+
+    /**
+     * Returns the occurrences that fall on any day between two dates, inclusive.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @return Matching occurrences in date order.
+     */
+    public List<Task> getOccurrencesBetween(LocalDate from, LocalDate to) {
+        List<Task> occurrences = new ArrayList<>();
+        LocalDateTime first = getFirstStart();
+        int occurrence = rule.getFirstOnOrAfter(first, from.minusDays(getSpanDays()));
+
+        while (rule.hasOccurrence(first, occurrence) && !getOccurrenceDate(occurrence).isAfter(to)) {
+            occurrences.add(getOccurrence(occurrence));
+            occurrence++;
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns whether any occurrence falls on a day between two dates, inclusive,
+     * without creating the occurrences.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @return {@code true} if some occurrence overlaps the range.
+     */
+    public boolean hasOccurrenceBetween(LocalDate from, LocalDate to) {
+        LocalDateTime first = getFirstStart();
+        int occurrence = rule.getFirstOnOrAfter(first, from.minusDays(getSpanDays()));
+        return rule.hasOccurrence(first, occurrence) && !getOccurrenceDate(occurrence).isAfter(to);
+    }
+
+    /**
+     * Returns the number of the first occurrence that falls on a date.
+     *
+     * @param date Date to look up.
+     * @return Occurrence number, or -1 if no occurrence falls on that date.
+     */
+    public int findOccurrence(LocalDate date) {
+        LocalDateTime first = getFirstStart();
+        int occurrence = rule.getFirstOnOrAfter(first, date.minusDays(getSpanDays()));
+
+        boolean isFound = rule.hasOccurrence(first, occurrence) && !getOccurrenceDate(occurrence).isAfter(date);
+        return isFound ? occurrence : -1;
+    }
+
+    /**
+     * Returns the number of the first occurrence on or after a date that is not yet done.
+     *
+     * @param from Date to search from.
+     * @return Occurrence number, or -1 if the rule has no such occurrence.
+     */
+    public int getNextPending(LocalDate from) {
+        int occurrence = completed.nextClearBit(rule.getFirstOnOrAfter(getFirstStart(), from));
+        return rule.hasOccurrence(getFirstStart(), occurrence) ? occurrence : -1;
+    }
+
+    /**
+     * Returns the number of the latest completed occurrence.
+     *
+     * @return Occurrence number, or -1 if none are done.
+     */
+    public int getLastCompleted() {
+        return completed.length() - 1;
+    }
+
+    /**
+     * Returns whether an occurrence is done.
+     *
+     * @param occurrence Occurrence number.
+     * @return {@code true} if done.
+     */
+    public boolean isOccurrenceDone(int occurrence) {
+        return completed.get(occurrence);
+    }
+
+    /**
+     * Marks an occurrence as done or not done.
+     *
+     * @param occurrence Occurrence number.
+     * @param isDone Whether the occurrence is done.
+     */
+    public void setOccurrenceDone(int occurrence, boolean isDone) {
+        assert rule.hasOccurrence(getFirstStart(), occurrence) : "Occurrence should exist";
+        completed.set(occurrence, isDone);
+    }
+
+    /**
+     * Returns the pending occurrences on or after a date, generated one at a time.
+     *
+     * @param from Date to start from.
+     * @return An iterator over pending occurrences in date order; it may never end.
+     */
+    public Iterator<Task> getPendingFrom(LocalDate from) {
+        return new Iterator<>() {
+            private int next = getNextPending(from);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Task next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                Task occurrence = getOccurrence(next);
+                int following = completed.nextClearBit(next + 1);
+                next = rule.hasOccurrence(getFirstStart(), following) ? following : -1;
+                return occurrence;
+            }
+        };
+    }
+
+    private LocalDateTime getFirstStart() {
+        return template instanceof Events
+                ? ((Events) template).getStartDateTime()
+                : ((Deadlines) template).getDueDateTime();
+    }
+
+    private long getSpanDays() {
+        if (!(template instanceof Events)) {
+            return 0;
+        }
+        Events events = (Events) template;
+        return ChronoUnit.DAYS.between(events.getStartDateTime().toLocalDate(),
+                events.getEndDateTime().toLocalDate());
+    }
+
+    /**
+     * Returns the string representation of a recurring task.
+     *
+     * @return The first occurrence followed by the rule and the number of completed occurrences.
+     */
+    @Override
+    public String toString() {
+        int doneCount = completed.cardinality();
+        String details = doneCount == 0 ? rule.toString() : rule + ", " + doneCount + " done";
+        return PREFIX + template + " (" + details + ")" + formatTags();
+    }
+}
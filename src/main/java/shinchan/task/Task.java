@@ -1,5 +1,8 @@
 package shinchan.task;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Represents a task with a description and completion status.
  */
@@ -7,6 +10,8 @@ public class Task {
 
     private final String description;
     private boolean isDone;
+    private LocalDate doneDate;
+    private List<String> tags = List.of();
 
     /**
      * Creates a task with the given description.
@@ -29,11 +34,21 @@ public class Task {
     }
 
     /**
-     * Marks the task as done.
+     * Marks the task as done today.
      */
     public void markAsDone() {
+        markAsDone(LocalDate.now());
+    }
+
+    /**
+     * Marks the task as done on the given date.
+     *
+     * @param doneDate Date the task was completed, or {@code null} if unknown.
+     */
+    public void markAsDone(LocalDate doneDate) {
         assert !isDone : "Task should not already be marked done";
         isDone = true;
+        this.doneDate = doneDate;
     }
 
     /**
@@ -42,6 +57,7 @@ public class Task {
     public void markAsUndone() {
         assert isDone : "Task should be done before marking undone";
         isDone = false;
+        doneDate = null;
     }
 
     /**
@@ -62,6 +78,60 @@ public class Task {
         return isDone;
     }
 
+    /**
+     * Returns the date the task was completed.
+     *
+     * @return Completion date, or {@code null} if not done or unknown.
+     */
+    public LocalDate getDoneDate() {
+        return doneDate;
+    }
+
+    /**
+     * Returns the tags of the task.
+     *
+     * @return Tags in the order they were added, lowercase and without a leading {@code #}.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns whether the task has a tag.
+     *
+     * @param tag Tag to look for, lowercase and without a leading {@code #}.
+     * @return {@code true} if the task has the tag.
+     */
+    public boolean hasTag(String tag) {
+        return tags.contains(tag);
+    }
+
+    /**
+     * Replaces the tags of the task.
+     *
+     * @param tags New tags, lowercase, without a leading {@code #} and without duplicates.
+     */
+    public void setTags(List<String> tags) {
+        assert tags.stream().distinct().count() == tags.size() : "Tags should not repeat";
+        this.tags = List.copyOf(tags);
+    }
+
+    /**
+     * Returns the tags as a suffix for {@link #toString()}, such as {@code " #work #home"}.
+     *
+     * @return The suffix, or an empty string if the task has no tags.
+     */
+    protected String formatTags() {
+        if (tags.isEmpty()) {
+            return "";
+        }
+        StringBuilder suffix = new StringBuilder();
+        for (String tag : tags) {
+            suffix.append(" #").append(tag);
+        }
+        return suffix.toString();
+    }
+
     /**
      * Returns the string representation of the task.
      *
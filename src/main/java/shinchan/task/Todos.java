@@ -23,6 +23,6 @@ public class Todos extends Task {
      */
     @Override
     public String toString() {
-        return PREFIX + super.toString();
+        return PREFIX + super.toString() + formatTags();
     }
 }
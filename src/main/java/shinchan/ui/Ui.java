@@ -1,24 +1,85 @@
 package shinchan.ui;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.time.LocalDate;
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
 
+import shinchan.Summary;
+import shinchan.TimeSlot;
+import shinchan.WorkingHours;
 import shinchan.task.Task;
 
 /**
  * Handles user interaction: reading commands and showing messages.
+ *
+ * <p>Messages are rendered into a reusable buffer rather than printed line by line.
+ * {@link #flush()} writes the buffer to the output stream and flushes it once, so a
+ * response costs one write however many lines it has. Responses longer than
+ * {@value #CHUNK_SIZE} characters are written in chunks of about that size as they are
+ * rendered, so the buffer stays small. {@link #capture(Runnable)} instead returns the
+ * rendered text without writing it.</p>
+ *
+ * <p>This class is not thread-safe; callers must not show messages from two threads at once.</p>
  */
 public class Ui {
+    /** Number of buffered characters at which output is written without waiting for {@link #flush()}. */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
     private static final String LINE = "----------------------------------------";
+    private static final String NEWLINE = System.lineSeparator();
+    private static final int INITIAL_CAPACITY = 4 * 1024;
 
     private final Scanner scanner;
+    private final PrintStream out;
+    private StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private boolean isCapturing;
 
     /**
-     * Creates a Ui object with a scanner reading from standard input.
+     * Creates a Ui object reading from standard input and writing to standard output.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+        this(System.in, System.out);
+    }
+
+    /**
+     * Creates a Ui object reading from and writing to the given streams.
+     *
+     * @param in Stream to read commands from.
+     * @param out Stream to write responses to.
+     */
+    public Ui(InputStream in, PrintStream out) {
+        this.scanner = new Scanner(in);
+        this.out = out;
+    }
+
+    /**
+     * Writes any buffered output and flushes the output stream.
+     */
+    public void flush() {
+        writeBuffer();
+        out.flush();
+    }
+
+    /**
+     * Runs an action and returns what it showed instead of writing it.
+     *
+     * @param action Action that shows messages.
+     * @return The text shown by the action, including any output buffered before it.
+     */
+    public String capture(Runnable action) {
+        boolean wasCapturing = isCapturing;
+        isCapturing = true;
+        try {
+            action.run();
+            return buffer.toString();
+        } finally {
+            isCapturing = wasCapturing;
+            clearBuffer();
+        }
     }
 
     /**
@@ -26,8 +87,8 @@ public class Ui {
      */
     public void showWelcome() {
         showLine();
-        System.out.println("Hello! I'm Shinchan!");
-        System.out.println("What can I do for you?");
+        println("Hello! I'm Shinchan!");
+        println("What can I do for you?");
         showLine();
     }
 
@@ -36,7 +97,7 @@ public class Ui {
      */
     public void showBye() {
         showLine();
-        System.out.println("Bye. Hope to see you again soon!");
+        println("Bye. Hope to see you again soon!");
         showLine();
     }
 
@@ -44,7 +105,7 @@ public class Ui {
      * Shows a divider line.
      */
     public void showLine() {
-        System.out.println(LINE);
+        println(LINE);
     }
 
     /**
@@ -63,7 +124,7 @@ public class Ui {
      */
     public void showError(String message) {
         showLine();
-        System.out.println(message);
+        println(message);
         showLine();
     }
 
@@ -74,7 +135,7 @@ public class Ui {
      */
     public void showMessage(String message) {
         showLine();
-        System.out.println(message);
+        println(message);
         showLine();
     }
 
@@ -86,10 +147,27 @@ public class Ui {
     public void showTaskList(List<Task> tasks) {
         showLine();
         if (tasks.isEmpty()) {
-            System.out.println("No tasks in your list.");
+            println("No tasks in your list.");
+        } else {
+            printNumbered(tasks, ". ");
+        }
+        showLine();
+    }
+
+    /**
+     * Shows tasks in a sorted order, each with its number in the full list.
+     *
+     * @param tasks The tasks to display, in sorted order.
+     * @param numbers The 1-based list number of each task.
+     */
+    public void showSortedTaskList(List<Task> tasks, List<Integer> numbers) {
+        showLine();
+        if (tasks.isEmpty()) {
+            println("No tasks in your list.");
         } else {
             for (int i = 0; i < tasks.size(); i++) {
-                System.out.println((i + 1) + ". " + tasks.get(i));
+                buffer.append(numbers.get(i)).append(". ").append(tasks.get(i)).append(NEWLINE);
+                writeFullChunk();
             }
         }
         showLine();
@@ -103,9 +181,9 @@ public class Ui {
      */
     public void showTaskAdded(Task task, int size) {
         showLine();
-        System.out.println("Got it. I've added this task:");
-        System.out.println(task);
-        System.out.println("Now you have " + size + " tasks in the list.");
+        println("Got it. I've added this task:");
+        println(task);
+        println("Now you have " + size + " tasks in the list.");
         showLine();
     }
 
@@ -117,9 +195,9 @@ public class Ui {
      */
     public void showTaskDeleted(Task task, int size) {
         showLine();
-        System.out.println("Noted. I've removed this task:");
-        System.out.println(task);
-        System.out.println("Now you have " + size + " tasks in the list.");
+        println("Noted. I've removed this task:");
+        println(task);
+        println("Now you have " + size + " tasks in the list.");
         showLine();
     }
 
@@ -132,32 +210,371 @@ public class Ui {
      */
     public void showTasksOnDate(LocalDate date, List<Task> matching, String emptyMessage) {
         showLine();
-        System.out.println("Tasks on " + date + ":");
+        println("Tasks on " + date + ":");
         if (matching.isEmpty()) {
-            System.out.println(emptyMessage);
+            println(emptyMessage);
         } else {
-            for (int i = 0; i < matching.size(); i++) {
-                System.out.println((i + 1) + ". " + matching.get(i));
+            printNumbered(matching, ". ");
+        }
+        showLine();
+    }
+
+    /**
+     * Shows the deadlines and events of consecutive days.
+     *
+     * @param firstDay The first day shown.
+     * @param days The tasks of each day, starting with {@code firstDay}.
+     * @param emptyMessage Message to show for a day without tasks.
+     */
+    public void showAgenda(LocalDate firstDay, List<List<Task>> days, String emptyMessage) {
+        showLine();
+        LocalDate day = firstDay;
+        for (List<Task> tasks : days) {
+            println(day.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + day + ":");
+            if (tasks.isEmpty()) {
+                println("  " + emptyMessage);
+            }
+            for (Task task : tasks) {
+                buffer.append("  ").append(task).append(NEWLINE);
+                writeFullChunk();
+            }
+            day = day.plusDays(1);
+        }
+        showLine();
+    }
+
+    /**
+     * Shows groups of events that overlap one another.
+     *
+     * @param groups The groups, each ordered by start.
+     */
+    public void showConflicts(List<List<Task>> groups) {
+        showLine();
+        if (groups.isEmpty()) {
+            println("No overlapping events.");
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            println("Overlapping group " + (i + 1) + ":");
+            for (Task task : groups.get(i)) {
+                buffer.append("  ").append(task).append(NEWLINE);
+                writeFullChunk();
             }
         }
         showLine();
     }
 
+    /**
+     * Warns that a newly added event overlaps existing events.
+     *
+     * @param overlapping The existing events it overlaps, ordered by start.
+     */
+    public void showConflictWarning(List<? extends Task> overlapping) {
+        showLine();
+        println("Heads up, this event overlaps:");
+        for (Task task : overlapping) {
+            buffer.append("  ").append(task).append(NEWLINE);
+            writeFullChunk();
+        }
+        showLine();
+    }
+
+    /**
+     * Shows the free periods of each day in a range.
+     *
+     * @param from First date searched.
+     * @param to Last date searched.
+     * @param hours The part of each day that was searched.
+     * @param slots Free periods in time order.
+     */
+    public void showFreeSlots(LocalDate from, LocalDate to, WorkingHours hours, List<TimeSlot> slots) {
+        showLine();
+        println("Free time between " + hours.getStart() + " and " + hours.getEnd() + ":");
+        int next = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            println(day.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + day + ":");
+            int dayStart = next;
+            while (next < slots.size() && slots.get(next).getStart().toLocalDate().equals(day)) {
+                TimeSlot slot = slots.get(next++);
+                long minutes = slot.getLength().toMinutes();
+                println("  " + slot.getStart().toLocalTime() + " to " + slot.getEnd().toLocalTime()
+                        + " (" + (minutes / 60 > 0 ? minutes / 60 + "h " : "") + minutes % 60 + "m)");
+            }
+            if (next == dayStart) {
+                println("  No free time.");
+            }
+        }
+        showLine();
+    }
+
+    /**
+     * Shows tasks occurring between two dates.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @param matching The tasks in the range.
+     * @param emptyMessage Message to show if no tasks match.
+     */
+    public void showTasksBetween(LocalDate from, LocalDate to, List<Task> matching, String emptyMessage) {
+        showLine();
+        println("Tasks from " + from + " to " + to + ":");
+        if (matching.isEmpty()) {
+            println(emptyMessage);
+        } else {
+            printNumbered(matching, ". ");
+        }
+        showLine();
+    }
+
+    /**
+     * Shows the next pending deadlines and events.
+     *
+     * @param upcoming The upcoming tasks, earliest first.
+     */
+    public void showUpcoming(List<Task> upcoming) {
+        showLine();
+        if (upcoming.isEmpty()) {
+            println("Nothing coming up.");
+        } else {
+            println("Coming up next:");
+            printNumbered(upcoming, ". ");
+        }
+        showLine();
+    }
+
     /**
      * Displays the matching tasks found by a keyword search.
      *
      * @param matches List of matching tasks.
      */
     public void showFindResults(List<Task> matches) {
-        System.out.println(LINE);
+        showLine();
         if (matches.isEmpty()) {
-            System.out.println("No matching tasks found.");
+            println("No matching tasks found.");
         } else {
-            System.out.println("Here are the matching tasks in your list:");
+            println("Here are the matching tasks in your list:");
+            printNumbered(matches, ".");
+        }
+        showLine();
+    }
+
+    /**
+     * Shows the tasks matching a filter, each with its number in the full list.
+     *
+     * @param matches The matching tasks, in list order.
+     * @param numbers The 1-based list number of each task.
+     */
+    public void showFilterResults(List<Task> matches, List<Integer> numbers) {
+        showLine();
+        if (matches.isEmpty()) {
+            println("No tasks match.");
+        } else {
+            println("Here are the " + matches.size() + " matching tasks in your list:");
             for (int i = 0; i < matches.size(); i++) {
-                System.out.println((i + 1) + "." + matches.get(i));
+                buffer.append(numbers.get(i)).append(". ").append(matches.get(i)).append(NEWLINE);
+                writeFullChunk();
             }
         }
-        System.out.println(LINE);
+        showLine();
+    }
+
+    /**
+     * Shows how a query was planned and how long it took.
+     *
+     * @param lines The plan steps and timing, one per line.
+     */
+    public void showQueryPlan(List<String> lines) {
+        showLine();
+        for (String line : lines) {
+            println(line);
+        }
+        showLine();
+    }
+
+    /**
+     * Shows counts of tasks by type and status, and pending work per week.
+     *
+     * @param summary The summary to show.
+     */
+    public void showSummary(Summary summary) {
+        showLine();
+        println("You have " + summary.getTotal() + " tasks: " + summary.getTypeCount("T") + " todos, "
+                + summary.getTypeCount("D") + " deadlines, " + summary.getTypeCount("E") + " events and "
+                + summary.getTypeCount("R") + " recurring.");
+        println(summary.getDoneCount() + " done, " + summary.getPendingCount() + " pending, "
+                + summary.getOverdueCount() + " overdue.");
+        println("Due or starting per week:");
+        LocalDate week = summary.getFirstWeek();
+        for (int count : summary.getWeekCounts()) {
+            println("  Week of " + week + ": " + count);
+            week = week.plusWeeks(1);
+        }
+        showLine();
+    }
+
+    /**
+     * Shows which workspace is now in use.
+     *
+     * @param name Name of the workspace.
+     * @param size Number of tasks in it.
+     */
+    public void showWorkspace(String name, int size) {
+        showLine();
+        println("Now using the " + name + " list, with " + size + " tasks.");
+        showLine();
+    }
+
+    /**
+     * Shows a confirmation message after completed tasks are archived.
+     *
+     * @param count The number of tasks archived.
+     * @param size The new size of the task list.
+     */
+    public void showArchived(int count, int size) {
+        showLine();
+        if (count == 0) {
+            println("There are no completed tasks to archive.");
+        } else {
+            println("Archived " + count + " completed tasks.");
+        }
+        println("Now you have " + size + " tasks in the list.");
+        showLine();
+    }
+
+    /**
+     * Shows a confirmation message after the task list is exported.
+     *
+     * @param count The number of tasks exported.
+     * @param filePath The file they were written to.
+     */
+    public void showExported(int count, String filePath) {
+        showLine();
+        println("Exported " + count + " tasks to " + filePath + ".");
+        showLine();
+    }
+
+    /**
+     * Shows a confirmation message after tasks are imported.
+     *
+     * @param count The number of tasks imported.
+     * @param size The new size of the task list.
+     */
+    public void showImported(int count, int size) {
+        showLine();
+        if (count == 0) {
+            println("There were no tasks to import.");
+        } else {
+            println("Imported " + count + " tasks.");
+        }
+        println("Now you have " + size + " tasks in the list.");
+        showLine();
+    }
+
+    /**
+     * Shows a confirmation message after a calendar is imported.
+     *
+     * @param count The number of tasks imported.
+     * @param duplicates The number of entries skipped as already in the list.
+     * @param size The new size of the task list.
+     */
+    public void showImportedCalendar(int count, int duplicates, int size) {
+        showLine();
+        if (count == 0) {
+            println("There were no new events or to-dos to import.");
+        } else {
+            println("Imported " + count + " tasks.");
+        }
+        if (duplicates > 0) {
+            println("Skipped " + duplicates + " entries already in the list.");
+        }
+        println("Now you have " + size + " tasks in the list.");
+        showLine();
+    }
+
+    /**
+     * Displays the matching tasks found by a keyword search of the archive.
+     *
+     * @param matches List of matching archived tasks.
+     */
+    public void showArchiveFindResults(List<Task> matches) {
+        showLine();
+        if (matches.isEmpty()) {
+            println("No matching tasks found in the archive.");
+        } else {
+            println("Here are the matching tasks in your archive:");
+            printNumbered(matches, ".");
+        }
+        showLine();
+    }
+
+    /**
+     * Shows latency and storage statistics.
+     *
+     * @param lines Summary lines to display.
+     */
+    public void showStats(List<String> lines) {
+        showLine();
+        for (String line : lines) {
+            println(line);
+        }
+        showLine();
+    }
+
+    /**
+     * Shows a reminder about an upcoming deadline or event.
+     *
+     * @param message The reminder message.
+     */
+    public void showReminder(String message) {
+        showLine();
+        println(message);
+        showLine();
+    }
+
+    /**
+     * Shows a notice that results are based on partially loaded tasks.
+     *
+     * @param loadedCount The number of tasks loaded so far.
+     */
+    public void showLoadingNotice(int loadedCount) {
+        println("(Still loading tasks: showing the " + loadedCount + " loaded so far.)");
+    }
+
+    private void println(Object text) {
+        buffer.append(text).append(NEWLINE);
+        writeFullChunk();
+    }
+
+    private void printNumbered(List<Task> tasks, String separator) {
+        for (int i = 0; i < tasks.size(); i++) {
+            buffer.append(i + 1).append(separator).append(tasks.get(i)).append(NEWLINE);
+            writeFullChunk();
+        }
+    }
+
+    /**
+     * Writes the buffer once it holds a full chunk, unless output is being captured.
+     */
+    private void writeFullChunk() {
+        if (buffer.length() >= CHUNK_SIZE && !isCapturing) {
+            writeBuffer();
+        }
+    }
+
+    private void writeBuffer() {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            clearBuffer();
+        }
+    }
+
+    /**
+     * Empties the buffer, replacing it if a large captured response made it grow past a few chunks.
+     */
+    private void clearBuffer() {
+        if (buffer.capacity() > 4 * CHUNK_SIZE) {
+            buffer = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            buffer.setLength(0);
+        }
     }
 }
@@ -0,0 +1,112 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link AgendaView} through {@link TaskList#getAgenda(LocalDate, int)}.
+ */
+public class AgendaViewTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    public void getAgenda_ordersEachDayByStart() {
+        Deadlines late = new Deadlines("late", TODAY.atTime(18, 0));
+        Events trip = new Events("trip", TODAY.minusDays(1).atTime(9, 0), TODAY.plusDays(1).atTime(12, 0));
+        Deadlines early = new Deadlines("early", TODAY.atTime(8, 0));
+        TaskList tasks = new TaskList(List.of(new Todos("milk"), late, trip, early));
+
+        List<List<Task>> days = tasks.getAgenda(TODAY, 3);
+
+        assertEquals(List.of(trip, early, late), days.get(0));
+        assertEquals(List.of(trip), days.get(1));
+        assertEquals(List.of(), days.get(2));
+    }
+
+    @Test
+    public void getAgenda_patchesChangesAndRollsOver() {
+        Recurring daily = new Recurring(new Deadlines("standup", TODAY.atTime(10, 0)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+        TaskList tasks = new TaskList(List.of(daily));
+        tasks.getAgenda(TODAY, 1);
+
+        Deadlines report = new Deadlines("report", TODAY.plusDays(7).atTime(9, 0));
+        tasks.add(report);
+        tasks.markOccurrence(0, 1, true);
+        tasks.setTags(0, List.of("work"));
+
+        List<List<Task>> days = tasks.getAgenda(TODAY.plusDays(1), TaskList.AGENDA_DAYS);
+        assertEquals("[D][X] standup (by: Mar 03 2026 10am) #work", days.get(0).get(0).toString());
+        assertEquals(List.of(report), days.get(6).subList(0, 1));
+        assertEquals(2, days.get(6).size());
+
+        tasks.remove(1);
+        assertEquals(1, tasks.getAgenda(TODAY.plusDays(1), TaskList.AGENDA_DAYS).get(6).size());
+    }
+
+    @Test
+    public void getAgenda_matchesRecomputeAfterRandomChanges() {
+        Random random = new Random(46);
+        TaskList tasks = new TaskList();
+        LocalDate today = TODAY;
+        tasks.getAgenda(today, 1);
+        for (int step = 0; step < 1000; step++) {
+            if (random.nextInt(3) > 0 || tasks.size() == 0) {
+                tasks.add(randomTask(random));
+            } else {
+                tasks.remove(random.nextInt(tasks.size()));
+            }
+            if (step % 50 == 0) {
+                today = today.plusDays(random.nextInt(10) - 1);
+            }
+            List<List<Task>> days = tasks.getAgenda(today, TaskList.AGENDA_DAYS);
+            for (int i = 0; i < TaskList.AGENDA_DAYS; i++) {
+                assertDay(tasks, today.plusDays(i), days.get(i));
+            }
+        }
+    }
+
+    private static Task randomTask(Random random) {
+        LocalDateTime time = TODAY.atStartOfDay().plusHours(random.nextInt(24 * 120) - 24 * 10);
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Todos("todo");
+        case 1:
+            return new Deadlines("deadline", time);
+        case 2:
+            return new Events("event", time, time.plusHours(random.nextInt(96)));
+        default:
+            return new Recurring(new Events("recurring", time, time.plusHours(random.nextInt(30))),
+                    new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1 + random.nextInt(4), null));
+        }
+    }
+
+    /**
+     * Checks one day against {@link TaskList#findOn(LocalDate)} sorted by start.
+     */
+    private static void assertDay(TaskList tasks, LocalDate date, List<Task> actual) {
+        List<Task> expected = new ArrayList<>(tasks.findOn(date));
+        expected.sort(Comparator.comparing(AgendaViewTest::getStart));
+        // Occurrences of recurring tasks are fresh copies, so compare what is shown
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    private static LocalDateTime getStart(Task task) {
+        return task instanceof Events ? ((Events) task).getStartDateTime() : ((Deadlines) task).getDueDateTime();
+    }
+}
@@ -0,0 +1,36 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.exception.ShinchanException;
+import shinchan.storage.Storage;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link AsyncTaskLoader}.
+ */
+public class AsyncTaskLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void await_returnsAllTasksAndSnapshotIsNullAfterwards() throws ShinchanException {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        storage.save(List.of(new Todos("a"), new Todos("b")));
+
+        AsyncTaskLoader loader = new AsyncTaskLoader(storage::load);
+        TaskList tasks = loader.await();
+
+        assertEquals(2, tasks.size());
+        assertEquals("a", tasks.get(0).getDescription());
+        assertNull(loader.snapshot());
+    }
+}
@@ -0,0 +1,113 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.storage.Journal;
+import shinchan.storage.Storage;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link SharedDataSync}, mostly through two instances sharing one data file.
+ */
+public class SharedDataSyncTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void catchUp_corruptedJournalEntry_reloadsAndWarnsOnce() throws Exception {
+        Path file = tempDir.resolve("shinchan.txt");
+        Shinchan shinchan = open(file);
+
+        shinchan.getResponse("todo read book");
+        Files.writeString(Path.of(file + ".journal"), "garbage\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        String output = shinchan.getResponse("todo buy milk") + shinchan.getResponse("list");
+        String list = shinchan.getResponse("list");
+        output += list;
+
+        assertEquals(1, output.split("Corrupted journal file.", -1).length - 1);
+        assertTrue(list.contains("1. [T][ ] read book"));
+        assertTrue(list.contains("2. [T][ ] buy milk"));
+    }
+
+    @Test
+    public void replay_changesInOneInstance_showInTheOther() {
+        Path file = tempDir.resolve("shinchan.txt");
+        Shinchan first = open(file);
+        Shinchan second = open(file);
+
+        first.getResponse("todo read book");
+        first.getResponse("deadline standup /by 2026-01-05 0900 /every day");
+        first.getResponse("mark 1");
+        first.getResponse("mark 2 /on 2026-01-07");
+        first.getResponse("tag 1 #home");
+        String list = second.getResponse("list");
+        assertTrue(list.contains("1. [T][X] read book #home"));
+        assertTrue(list.contains("2. [R][D][ ] standup (by: Jan 05 2026 9am) (every day, 1 done)"));
+
+        first.getResponse("delete 1");
+        second.getResponse("todo buy milk");
+        list = first.getResponse("list");
+        assertTrue(list.contains("1. [R][D][ ] standup"));
+        assertTrue(list.contains("2. [T][ ] buy milk"));
+        assertFalse(list.contains("read book"));
+    }
+
+    @Test
+    public void catchUp_journalCompactedElsewhere_reloadsDataFile() throws Exception {
+        Path file = tempDir.resolve("shinchan.txt");
+        Shinchan shinchan = open(file);
+        shinchan.getResponse("todo read book");
+
+        // Another process saved the data file and started a new journal generation
+        new Storage(file.toString()).save(List.of(new Todos("buy milk")));
+        new Journal(file + ".journal").reset();
+
+        String list = shinchan.getResponse("list");
+        assertTrue(list.contains("1. [T][ ] buy milk"));
+        assertFalse(list.contains("read book"));
+    }
+
+    @Test
+    public void runExclusive_concurrentInstances_keepEveryChange() throws Exception {
+        Path file = tempDir.resolve("shinchan.txt");
+        Shinchan first = open(file);
+        Shinchan second = open(file);
+
+        Thread other = new Thread(() -> addTodos(second, "second", 20));
+        other.start();
+        addTodos(first, "first", 20);
+        other.join();
+
+        assertTrue(first.getResponse("list").contains("40. "));
+        assertTrue(second.getResponse("list").contains("40. "));
+        assertEquals(40, new Storage(file.toString()).load().size());
+    }
+
+    private static void addTodos(Shinchan shinchan, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            shinchan.getResponse("todo " + prefix + " " + i);
+        }
+    }
+
+    /**
+     * Creates an instance and waits for its tasks to finish loading.
+     */
+    private static Shinchan open(Path file) {
+        Shinchan shinchan = new Shinchan(file.toString());
+        shinchan.getResponse("summary");
+        return shinchan;
+    }
+}
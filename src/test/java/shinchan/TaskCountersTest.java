@@ -0,0 +1,178 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link TaskCounters} through {@link TaskList#summarize(LocalDateTime, int)}.
+ */
+public class TaskCountersTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 4, 12, 0);
+
+    @Test
+    public void summarize_countsTypesStatusAndWeeks() {
+        TaskList tasks = new TaskList(List.of(
+                new Todos("buy milk"),
+                new Deadlines("report", NOW.minusHours(1)),
+                new Deadlines("slides", NOW.plusDays(7)),
+                new Events("offsite", NOW.plusDays(1), NOW.plusDays(2)),
+                new Recurring(new Deadlines("timesheet", NOW.minusDays(2)),
+                        new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null))));
+        tasks.markAsDone(0);
+
+        Summary summary = tasks.summarize(NOW, 3);
+
+        assertEquals(5, summary.getTotal());
+        assertEquals(1, summary.getTypeCount("T"));
+        assertEquals(2, summary.getTypeCount("D"));
+        assertEquals(1, summary.getTypeCount("E"));
+        assertEquals(1, summary.getTypeCount("R"));
+        assertEquals(1, summary.getDoneCount());
+        assertEquals(4, summary.getPendingCount());
+        assertEquals(2, summary.getOverdueCount());
+        assertEquals(LocalDate.of(2026, 3, 2), summary.getFirstWeek());
+        assertEquals(List.of(3, 2, 1), summary.getWeekCounts());
+    }
+
+    @Test
+    public void summarize_repeatedMarkAndUnmark_countsOnce() {
+        TaskList tasks = new TaskList(List.of(new Todos("a"), new Deadlines("b", NOW.plusDays(1))));
+        tasks.summarize(NOW, 1);
+
+        tasks.markAsDone(0);
+        tasks.markAsDone(0);
+        assertEquals(1, tasks.summarize(NOW, 1).getDoneCount());
+        assertEquals(1, tasks.summarize(NOW, 1).getPendingCount());
+
+        tasks.markAsUndone(1);
+        tasks.markAsUndone(0);
+        tasks.markAsUndone(0);
+        Summary summary = tasks.summarize(NOW, 1);
+        assertEquals(0, summary.getDoneCount());
+        assertEquals(2, summary.getPendingCount());
+        assertEquals(List.of(1), summary.getWeekCounts());
+    }
+
+    @Test
+    public void summarize_overdueFollowsTheClock() {
+        TaskList tasks = new TaskList(List.of(new Deadlines("a", NOW.plusHours(1)),
+                new Deadlines("b", NOW.plusHours(2)), new Deadlines("c", NOW.plusHours(2))));
+
+        assertEquals(0, tasks.summarize(NOW, 1).getOverdueCount());
+        assertEquals(1, tasks.summarize(NOW.plusHours(2), 1).getOverdueCount());
+        tasks.add(new Deadlines("d", NOW));
+        tasks.markAsDone(0);
+        assertEquals(1, tasks.summarize(NOW.plusHours(2), 1).getOverdueCount());
+        assertEquals(3, tasks.summarize(NOW.plusDays(1), 1).getOverdueCount());
+        assertEquals(0, tasks.summarize(NOW.minusDays(1), 1).getOverdueCount());
+    }
+
+    @Test
+    public void summarize_matchesRecountAfterRandomChanges() {
+        Random random = new Random(45);
+        TaskList tasks = new TaskList();
+        tasks.summarize(NOW, 1);
+        LocalDateTime now = NOW;
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || tasks.size() == 0) {
+                tasks.add(randomTask(random));
+            } else if (action < 7) {
+                tasks.remove(random.nextInt(tasks.size()));
+            } else {
+                int index = random.nextInt(tasks.size());
+                if (tasks.get(index) instanceof Recurring) {
+                    Recurring recurring = (Recurring) tasks.get(index);
+                    int occurrence = random.nextInt(3);
+                    tasks.markOccurrence(index, occurrence, !recurring.isOccurrenceDone(occurrence));
+                } else if (tasks.get(index).isDone()) {
+                    tasks.markAsUndone(index);
+                } else {
+                    tasks.markAsDone(index);
+                }
+            }
+            if (step % 100 == 0) {
+                now = now.plusHours(random.nextInt(48) - 12);
+                assertSummary(tasks, tasks.summarize(now, 8), now, 8);
+            }
+        }
+    }
+
+    private static Task randomTask(Random random) {
+        LocalDateTime time = NOW.plusHours(random.nextInt(24 * 60) - 24 * 20);
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Todos("todo");
+        case 1:
+            return new Deadlines("deadline", time);
+        case 2:
+            return new Events("event", time, time.plusHours(random.nextInt(72)));
+        default:
+            return new Recurring(new Deadlines("recurring", time),
+                    new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1 + random.nextInt(5), null));
+        }
+    }
+
+    private static void assertSummary(TaskList tasks, Summary summary, LocalDateTime now, int weeks) {
+        int done = 0;
+        int overdue = 0;
+        int[] weekCounts = new int[weeks];
+        LocalDate firstWeek = now.toLocalDate().with(DayOfWeek.MONDAY);
+        for (Task task : tasks.asUnmodifiableList()) {
+            List<Task> occurrences = new ArrayList<>();
+            if (task instanceof Recurring) {
+                Recurring recurring = (Recurring) task;
+                occurrences.addAll(recurring.getOccurrencesBetween(firstWeek, firstWeek.plusWeeks(weeks)));
+                int earliest = 0;
+                while (recurring.isOccurrenceDone(earliest)) {
+                    earliest++;
+                }
+                Task pending = recurring.getOccurrence(earliest);
+                if (pending instanceof Deadlines && ((Deadlines) pending).getDueDateTime().isBefore(now)) {
+                    overdue++;
+                }
+            } else if (task.isDone()) {
+                done++;
+            } else {
+                occurrences.add(task);
+                if (task instanceof Deadlines && ((Deadlines) task).getDueDateTime().isBefore(now)) {
+                    overdue++;
+                }
+            }
+            for (Task occurrence : occurrences) {
+                LocalDate start = occurrence instanceof Events
+                        ? ((Events) occurrence).getStartDateTime().toLocalDate()
+                        : occurrence instanceof Deadlines ? ((Deadlines) occurrence).getDueDate() : null;
+                long week = start == null || start.isBefore(firstWeek) || occurrence.isDone()
+                        ? -1 : (start.toEpochDay() - firstWeek.toEpochDay()) / 7;
+                if (week >= 0 && week < weeks) {
+                    weekCounts[(int) week]++;
+                }
+            }
+        }
+
+        List<Integer> expectedWeeks = new ArrayList<>();
+        for (int count : weekCounts) {
+            expectedWeeks.add(count);
+        }
+        assertEquals(tasks.size(), summary.getTotal());
+        assertEquals(done, summary.getDoneCount());
+        assertEquals(overdue, summary.getOverdueCount());
+        assertEquals(expectedWeeks, summary.getWeekCounts());
+    }
+}
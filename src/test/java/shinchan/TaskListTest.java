@@ -2,8 +2,19 @@ package shinchan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
 import shinchan.task.Task;
 import shinchan.task.Todos;
 
@@ -38,4 +49,163 @@ public class TaskListTest {
         assertEquals(1, list.size());
         assertEquals(task2, list.get(0));
     }
+
+    @Test
+    public void getCompleted_withCutoff_returnsOnlyOlderCompletedTasks() {
+        TaskList list = new TaskList();
+        Task old = new Todos("old");
+        Task recent = new Todos("recent");
+        Task pending = new Todos("pending");
+
+        old.markAsDone(LocalDate.of(2026, 1, 1));
+        recent.markAsDone(LocalDate.of(2026, 1, 10));
+        list.add(old);
+        list.add(recent);
+        list.add(pending);
+
+        assertEquals(List.of(old), list.getCompleted(LocalDate.of(2026, 1, 5)));
+        assertEquals(List.of(old, recent), list.getCompleted(null));
+    }
+
+    @Test
+    public void removeAll_removesGivenTasksOnly() {
+        TaskList list = new TaskList();
+        Task task1 = new Todos("a");
+        Task task2 = new Todos("b");
+
+        list.add(task1);
+        list.add(task2);
+        list.removeAll(List.of(task1));
+
+        assertEquals(1, list.size());
+        assertEquals(task2, list.get(0));
+    }
+
+    @Test
+    public void removeAll_withListener_reportsRemovalsFromTheBack() {
+        TaskList list = new TaskList();
+        Task task1 = new Todos("a");
+        Task task2 = new Todos("b");
+        Task task3 = new Todos("c");
+        list.add(task1);
+        list.add(task2);
+        list.add(task3);
+
+        List<String> removals = new ArrayList<>();
+        list.addListener(new TaskListListener() {
+            @Override
+            public void taskRemoved(int index, Task task) {
+                removals.add(index + " " + task.getDescription());
+            }
+        });
+        list.removeAll(List.of(task1, task3));
+
+        assertEquals(List.of("2 c", "0 a"), removals);
+        assertEquals(1, list.size());
+        assertEquals(task2, list.get(0));
+    }
+
+    @Test
+    public void findOn_returnsDeadlinesAndEventsOnDate() {
+        TaskList list = new TaskList();
+        Task deadline = new Deadlines("submit", LocalDateTime.of(2026, 1, 11, 18, 0));
+        Task event = new Events("camp",
+                LocalDateTime.of(2026, 1, 10, 9, 0), LocalDateTime.of(2026, 1, 12, 18, 0));
+
+        list.add(new Todos("read"));
+        list.add(deadline);
+        list.add(event);
+        list.add(new Deadlines("other", LocalDateTime.of(2026, 1, 12, 18, 0)));
+
+        assertEquals(List.of(deadline, event), list.findOn(LocalDate.of(2026, 1, 11)));
+    }
+
+    @Test
+    public void findUpcoming_mergesRecurringOccurrencesInDateOrder() {
+        TaskList list = new TaskList();
+        Task report = new Deadlines("report", LocalDateTime.of(2026, 1, 7, 12, 0));
+        Recurring standup = new Recurring(new Deadlines("standup", LocalDateTime.of(2026, 1, 5, 9, 0)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+
+        list.add(report);
+        list.add(standup);
+        list.markOccurrence(1, 1, true);
+
+        List<Task> upcoming = list.findUpcoming(LocalDate.of(2026, 1, 5), 4);
+
+        assertEquals(4, upcoming.size());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 9, 0), ((Deadlines) upcoming.get(0)).getDueDateTime());
+        assertEquals(LocalDateTime.of(2026, 1, 7, 9, 0), ((Deadlines) upcoming.get(1)).getDueDateTime());
+        assertEquals(report, upcoming.get(2));
+        assertEquals(LocalDateTime.of(2026, 1, 8, 9, 0), ((Deadlines) upcoming.get(3)).getDueDateTime());
+    }
+
+    @Test
+    public void getSorted_staysSortedAcrossChanges() {
+        TaskList list = new TaskList();
+        Task todo = new Todos("read");
+        Task late = new Deadlines("late", LocalDateTime.of(2026, 3, 1, 12, 0));
+        Task early = new Deadlines("early", LocalDateTime.of(2026, 1, 1, 12, 0));
+        Task sameTime = new Events("same", LocalDateTime.of(2026, 1, 1, 12, 0), LocalDateTime.of(2026, 1, 1, 13, 0));
+
+        list.add(todo);
+        list.add(late);
+        assertEquals(List.of(late, todo), list.getSorted(SortOrder.DATE));
+        assertEquals(List.of(todo, late), list.getSorted(SortOrder.STATUS));
+
+        list.add(early);
+        list.add(sameTime);
+        list.markAsDone(0);
+        list.remove(1);
+
+        assertEquals(List.of(early, sameTime, todo), list.getSorted(SortOrder.DATE));
+        assertEquals(List.of(early, sameTime, todo), list.getSorted(SortOrder.STATUS));
+        assertEquals(List.of(todo, early, sameTime), list.getSorted(SortOrder.TYPE));
+    }
+
+    @Test
+    public void findConflicts_groupsChainedOverlaps() {
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        Events standup = new Events("standup", nine, nine.plusHours(1));
+        Events review = new Events("review", nine.plusMinutes(30), nine.plusHours(2));
+        Events lunch = new Events("lunch", nine.plusHours(2), nine.plusHours(3));
+        Events call = new Events("call", nine.plusHours(1).plusMinutes(45), nine.plusHours(2).plusMinutes(15));
+        Events done = new Events("done", nine, nine.plusHours(5));
+        done.markAsDone();
+        Recurring daily = new Recurring(new Events("sync", nine.plusHours(4), nine.plusHours(5)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+        Events late = new Events("late", nine.plusHours(4).plusMinutes(30), nine.plusHours(6));
+        TaskList list = new TaskList(List.of(standup, review, lunch, call, done, daily, late));
+
+        assertEquals(List.of(List.of(standup, review, call, lunch)), list.findConflicts(null, null));
+
+        List<List<Task>> groups = list.findConflicts(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3));
+        assertEquals(2, groups.size());
+        assertEquals(List.of(standup, review, call, lunch), groups.get(0));
+        assertEquals("sync", groups.get(1).get(0).getDescription());
+        assertEquals(late, groups.get(1).get(1));
+        assertEquals(List.of(review, call), list.findOverlapping(nine.plusHours(1), nine.plusHours(2)));
+    }
+
+    @Test
+    public void findFreeSlots_returnsGapsWithinWorkingHours() {
+        LocalDate monday = LocalDate.of(2026, 3, 2);
+        Events overnight = new Events("overnight", monday.minusDays(1).atTime(20, 0), monday.atTime(9, 30));
+        Events meeting = new Events("meeting", monday.atTime(11, 0), monday.atTime(12, 0));
+        Events inside = new Events("inside", monday.atTime(11, 15), monday.atTime(11, 45));
+        Events afternoon = new Events("afternoon", monday.atTime(12, 20), monday.atTime(16, 0));
+        Recurring daily = new Recurring(new Events("gym", monday.atTime(17, 0), monday.atTime(18, 30)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+        TaskList list = new TaskList(List.of(overnight, meeting, inside, afternoon, daily));
+        WorkingHours hours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(18, 0));
+
+        List<String> slots = new ArrayList<>();
+        for (TimeSlot slot : list.findFreeSlots(monday, monday.plusDays(1), hours, Duration.ofMinutes(30))) {
+            slots.add(slot.getStart() + " " + slot.getEnd());
+        }
+
+        assertEquals(List.of("2026-03-02T09:30 2026-03-02T11:00", "2026-03-02T16:00 2026-03-02T17:00",
+                "2026-03-03T09:00 2026-03-03T17:00"), slots);
+        assertEquals(3, list.findFreeSlots(monday, monday, hours, Duration.ZERO).size());
+    }
 }
@@ -0,0 +1,33 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.exception.ShinchanException;
+
+/**
+ * Tests for {@link WorkingHours}.
+ */
+public class WorkingHoursTest {
+
+    @Test
+    public void parse_validHours_roundTrips() throws ShinchanException {
+        WorkingHours hours = WorkingHours.parse("0830 - 1715");
+
+        assertEquals(LocalTime.of(8, 30), hours.getStart());
+        assertEquals(LocalTime.of(17, 15), hours.getEnd());
+        assertEquals("0830-1715", hours.toString());
+    }
+
+    @Test
+    public void parse_invalidHours_throws() {
+        assertThrows(ShinchanException.class, () -> WorkingHours.parse("0900"));
+        assertThrows(ShinchanException.class, () -> WorkingHours.parse("9am-5pm"));
+        assertThrows(ShinchanException.class, () -> WorkingHours.parse("1800-0900"));
+        assertThrows(ShinchanException.class, () -> WorkingHours.parse("0900-0900"));
+    }
+}
@@ -0,0 +1,103 @@
+package shinchan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.command.CommandContext;
+import shinchan.exception.ShinchanException;
+import shinchan.metrics.Metrics;
+import shinchan.storage.Storage;
+import shinchan.task.Todos;
+import shinchan.ui.Ui;
+
+/**
+ * Tests for {@link WorkspaceCache}.
+ */
+public class WorkspaceCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void trim_evictsLeastRecentlyUsedOverBudget() throws ShinchanException {
+        WorkspaceCache cache = new WorkspaceCache(3, this::open);
+        Workspace work = load(cache.get(saveTasks("work.txt", 2)));
+        Workspace home = load(cache.get(saveTasks("home.txt", 2)));
+        assertEquals(List.of(), load(cache.get(saveTasks("empty.txt", 0))).getContext().getTasks()
+                .asUnmodifiableList());
+        cache.get(tempDir.resolve("home.txt").toString());
+
+        List<Workspace> evicted = cache.trim();
+
+        assertEquals(List.of(work), evicted);
+        assertEquals(2, cache.getAll().size());
+        assertSame(home, cache.getAll().get(1));
+        work.close();
+        assertEquals(2, new Storage(work.getDataFilePath()).load().size());
+    }
+
+    @Test
+    public void trim_keepsMostRecentlyUsedOverBudget() throws ShinchanException {
+        WorkspaceCache cache = new WorkspaceCache(1, this::open);
+        load(cache.get(saveTasks("small.txt", 1)));
+        Workspace big = load(cache.get(saveTasks("big.txt", 5)));
+
+        assertEquals(1, cache.trim().size());
+        assertEquals(List.of(big), cache.getAll());
+        assertEquals(List.of(), cache.trim());
+    }
+
+    @Test
+    public void close_savesOnlyAfterMutatingCommands() throws ShinchanException {
+        WorkspaceCache cache = new WorkspaceCache(10, this::open);
+        Workspace read = load(cache.get(saveTasks("read.txt", 2)));
+        Workspace changed = load(cache.get(saveTasks("changed.txt", 2)));
+        // Stand-ins for newer files, which only a save from memory would overwrite
+        saveTasks("read.txt", 5);
+        saveTasks("changed.txt", 5);
+
+        changed.markDirty();
+        read.close();
+        changed.close();
+
+        assertEquals(5, new Storage(read.getDataFilePath()).load().size());
+        assertEquals(2, new Storage(changed.getDataFilePath()).load().size());
+    }
+
+    @Test
+    public void get_samePathSpelledDifferently_returnsSameWorkspace() throws ShinchanException {
+        WorkspaceCache cache = new WorkspaceCache(10, this::open);
+        String path = saveTasks("work.txt", 1);
+
+        assertSame(cache.get(path), cache.get(tempDir.resolve("sub/../work.txt").toString()));
+        assertEquals("work", cache.get(path).getName());
+    }
+
+    private Workspace open(String dataFilePath) {
+        return new Workspace("work", dataFilePath, new Metrics(), Duration.ofMinutes(15));
+    }
+
+    private String saveTasks(String fileName, int count) throws ShinchanException {
+        String path = tempDir.resolve(fileName).toString();
+        Todos[] tasks = new Todos[count];
+        for (int i = 0; i < count; i++) {
+            tasks[i] = new Todos("task " + i);
+        }
+        new Storage(path).save(List.of(tasks));
+        return path;
+    }
+
+    private static Workspace load(Workspace workspace) throws ShinchanException {
+        TaskList tasks = workspace.getLoader().await();
+        workspace.setContext(new CommandContext(tasks, workspace.getStorage(), workspace.getArchive(),
+                new Metrics(), new Ui()));
+        return workspace;
+    }
+}
@@ -0,0 +1,41 @@
+package shinchan.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void getPercentile_empty_returnsZero() {
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+    }
+
+    @Test
+    public void getPercentile_smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 7; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(7, histogram.getMax());
+        assertEquals(7, histogram.getCount());
+    }
+
+    @Test
+    public void getPercentile_largeValues_withinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.125, "p99 was " + p99);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+}
@@ -1,14 +1,46 @@
 package shinchan.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import shinchan.SortOrder;
+import shinchan.TaskList;
+import shinchan.command.AddDeadline;
+import shinchan.command.AddEvent;
+import shinchan.command.AddTodo;
+import shinchan.command.Agenda;
+import shinchan.command.Archive;
+import shinchan.command.Command;
+import shinchan.command.Conflicts;
+import shinchan.command.Delete;
+import shinchan.command.Explain;
+import shinchan.command.Export;
+import shinchan.command.Filter;
+import shinchan.command.Free;
+import shinchan.command.FuzzyFind;
+import shinchan.command.Import;
+import shinchan.command.ImportCalendar;
+import shinchan.command.ListTasks;
+import shinchan.command.Mark;
+import shinchan.command.Query;
+import shinchan.command.Summarize;
+import shinchan.command.Tag;
+import shinchan.command.Untag;
+import shinchan.command.Use;
 import shinchan.exception.ShinchanException;
+import shinchan.search.FuzzyIndex;
+import shinchan.search.TaskFilter;
+import shinchan.storage.TransferFormat;
+import shinchan.task.RecurrenceRule;
 
 /**
  * Tests for {@link Parser}.
@@ -16,25 +48,22 @@ import shinchan.exception.ShinchanException;
 public class ParserTest {
 
     @Test
-    public void getCommandWord_validInput_returnsLowercaseCommand() {
-        assertEquals("todo", Parser.getCommandWord("todo read book"));
+    public void parse_mixedCaseCommandWord_returnsLowercaseCommand() throws ShinchanException {
+        Command command = Parser.parse("TODO read book");
+        assertEquals("todo", command.getCommandWord());
+        assertEquals("read book", ((AddTodo) command).getDescription());
     }
 
     @Test
-    public void getRemainder_withArguments_returnsRemainder() {
-        assertEquals("read book", Parser.getRemainder("todo read book"));
+    public void parse_deleteNumber_returnsZeroBasedIndex() throws ShinchanException {
+        assertEquals(1, ((Delete) Parser.parse("delete 2")).getIndex());
     }
 
     @Test
-    public void parseTaskIndex_validNumber_returnsZeroBasedIndex() throws ShinchanException {
-        assertEquals(1, Parser.parseTaskIndex("delete 2", "error"));
-    }
-
-    @Test
-    public void parseTaskIndex_invalidNumber_throwsException() {
+    public void parse_deleteNotANumber_throwsException() {
         assertThrows(
                 ShinchanException.class,
-                () -> Parser.parseTaskIndex("delete two", "error")
+                () -> Parser.parse("delete two")
         );
     }
 
@@ -59,4 +88,223 @@ public class ParserTest {
 
         assertEquals(LocalDateTime.of(2026, 1, 10, 18, 0), dateTime);
     }
+
+    @Test
+    public void parse_deadlineWithByInDescription_usesLastMarker() throws ShinchanException {
+        Command command = Parser.parse("DEADLINE read /by chapter 3 /by 2026-01-10 1800");
+
+        assertInstanceOf(AddDeadline.class, command);
+        AddDeadline deadline = (AddDeadline) command;
+        assertEquals("read /by chapter 3", deadline.getDescription());
+        assertEquals(LocalDateTime.of(2026, 1, 10, 18, 0), deadline.getDueDateTime());
+    }
+
+    @Test
+    public void parse_eventWithMarkersInDescription_usesLastFromAndTo() throws ShinchanException {
+        Command command = Parser.parse("event drive /to/from school /from 2026-01-10 0900 /to 2026-01-10 1000");
+
+        AddEvent event = (AddEvent) command;
+        assertEquals("drive /to/from school", event.getDescription());
+        assertEquals(LocalDateTime.of(2026, 1, 10, 9, 0), event.getStartDateTime());
+        assertEquals(LocalDateTime.of(2026, 1, 10, 10, 0), event.getEndDateTime());
+    }
+
+    @Test
+    public void parse_deleteWithPadding_returnsZeroBasedIndex() throws ShinchanException {
+        Delete delete = (Delete) Parser.parse("  delete   3  ");
+
+        assertEquals(2, delete.getIndex());
+    }
+
+    @Test
+    public void parse_archiveOlder_returnsDays() throws ShinchanException {
+        Archive archive = (Archive) Parser.parse("archive /older 7");
+
+        assertEquals(7, archive.getOlderThanDays());
+    }
+
+    @Test
+    public void parse_invalidInput_throwsException() {
+        assertThrows(ShinchanException.class, () -> Parser.parse("   "));
+        assertThrows(ShinchanException.class, () -> Parser.parse("dance"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("deadline read book"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("deadline /by 2026-01-10 1800"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("event camp /from 2026-01-10 0900"));
+        assertThrows(ShinchanException.class,
+                () -> Parser.parse("event camp /from 2026-01-10 0900 /to 2026-01-09 0900"));
+    }
+
+    @Test
+    public void parse_recurringDeadline_returnsRule() throws ShinchanException {
+        AddDeadline deadline = (AddDeadline) Parser.parse(
+                "deadline report /by 2026-01-09 1700 /every 2 weeks /until 2026-06-30");
+
+        assertEquals(LocalDateTime.of(2026, 1, 9, 17, 0), deadline.getDueDateTime());
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, deadline.getRule().getFrequency());
+        assertEquals(2, deadline.getRule().getInterval());
+        assertEquals(LocalDate.of(2026, 6, 30), deadline.getRule().getUntil());
+    }
+
+    @Test
+    public void parse_markOn_returnsOccurrenceDate() throws ShinchanException {
+        Mark mark = (Mark) Parser.parse("mark 2 /on 2026-01-16");
+
+        assertEquals(1, mark.getIndex());
+        assertEquals(LocalDate.of(2026, 1, 16), mark.getOccurrenceDate());
+        assertThrows(ShinchanException.class, () -> Parser.parse("event camp /from 2026-01-10 0900 "
+                + "/to 2026-01-10 1000 /every fortnight"));
+    }
+
+    @Test
+    public void parse_fuzzyFind_readsOptionalDistance() throws ShinchanException {
+        FuzzyFind automatic = (FuzzyFind) Parser.parse("find~ meetng");
+        FuzzyFind explicit = (FuzzyFind) Parser.parse("FIND~2 team meetng");
+
+        assertEquals("meetng", automatic.getQuery());
+        assertEquals(FuzzyIndex.AUTO, automatic.getMaxDistance());
+        assertEquals("team meetng", explicit.getQuery());
+        assertEquals(2, explicit.getMaxDistance());
+        assertThrows(ShinchanException.class, () -> Parser.parse("find~x meetng"));
+    }
+
+    @Test
+    public void parse_listSort_returnsOrder() throws ShinchanException {
+        assertEquals(null, ((ListTasks) Parser.parse("list")).getOrder());
+        assertEquals(SortOrder.DATE, ((ListTasks) Parser.parse("list /sort date")).getOrder());
+        assertEquals(SortOrder.STATUS, ((ListTasks) Parser.parse("list /sort STATUS")).getOrder());
+        assertThrows(ShinchanException.class, () -> Parser.parse("list /sort size"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("list date"));
+    }
+
+    @Test
+    public void parse_exportAndImport_readsPathAndFormat() throws ShinchanException {
+        Export byName = (Export) Parser.parse("export backup/tasks.jsonl");
+        Export byKeyword = (Export) Parser.parse("export my tasks.txt CSV");
+        Import imported = (Import) Parser.parse("import tasks.csv");
+
+        assertEquals("backup/tasks.jsonl", byName.getFilePath());
+        assertEquals(TransferFormat.JSONL, byName.getFormat());
+        assertEquals("my tasks.txt", byKeyword.getFilePath());
+        assertEquals(TransferFormat.CSV, byKeyword.getFormat());
+        assertEquals(TransferFormat.CSV, imported.getFormat());
+        assertThrows(ShinchanException.class, () -> Parser.parse("import"));
+    }
+
+    @Test
+    public void parse_tagAndUntag_readsLowercaseTags() throws ShinchanException {
+        Tag tag = (Tag) Parser.parse("tag 2 Work #urgent work");
+        Untag untag = (Untag) Parser.parse("untag 3 #home");
+
+        assertEquals(1, tag.getIndex());
+        assertEquals(List.of("work", "urgent"), tag.getTags());
+        assertEquals(2, untag.getIndex());
+        assertEquals(List.of("home"), untag.getTags());
+        assertThrows(ShinchanException.class, () -> Parser.parse("tag 2"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("tag work"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("tag 2 a|b"));
+    }
+
+    @Test
+    public void parse_filter_readsTerms() throws ShinchanException {
+        Filter filter = (Filter) Parser.parse("filter type:D,event done:FALSE -tag:#Work,home");
+
+        List<TaskFilter.Term> terms = filter.getFilter().getTerms();
+        assertEquals(3, terms.size());
+        assertEquals(List.of("D", "E"), terms.get(0).getValues());
+        assertEquals(TaskFilter.Field.DONE, terms.get(1).getField());
+        assertEquals(List.of("false"), terms.get(1).getValues());
+        assertEquals(List.of("work", "home"), terms.get(2).getValues());
+        assertTrue(terms.get(2).isNegated());
+        assertEquals("type:D,E done:false -tag:work,home", filter.getFilter().toString());
+        assertThrows(ShinchanException.class, () -> Parser.parse("filter"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("filter type:X"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("filter size:3"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("filter tag:"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("filter work"));
+    }
+
+    @Test
+    public void parse_query_readsPrecedenceAndTerms() throws ShinchanException {
+        Query query = (Query) Parser.parse("query tag:work and report OR not (type:D,E done:true) on:2026-03-02");
+        assertEquals("((tag:work and report) or (not (type:D,E and done:true) and on:2026-03-02))",
+                query.getCondition().toString());
+
+        Explain explain = (Explain) Parser.parse("explain Year-End date:2026-03-01.. text:e-mail");
+        assertEquals("(((year and end) and date:2026-03-01..) and (e and mail))", explain.getCondition().toString());
+        assertEquals("date:..2026-03-31", ((Query) Parser.parse("query date:..2026-03-31")).getCondition().toString());
+    }
+
+    @Test
+    public void parse_badQuery_throws() {
+        assertThrows(ShinchanException.class, () -> Parser.parse("query"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query report or"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query (report"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query report)"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query and report"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query size:3"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query on:tomorrow"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query date:2026-03-31..2026-03-01"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("query date:2026-03-01"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("explain --"));
+    }
+
+    @Test
+    public void parse_summary_readsOptionalWeeks() throws ShinchanException {
+        assertEquals(Summarize.DEFAULT_WEEKS, ((Summarize) Parser.parse("summary")).getWeeks());
+        assertEquals(12, ((Summarize) Parser.parse("summary 12")).getWeeks());
+        assertThrows(ShinchanException.class, () -> Parser.parse("summary 0"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("summary 53"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("summary soon"));
+    }
+
+    @Test
+    public void parse_agenda_readsOptionalDays() throws ShinchanException {
+        assertEquals(TaskList.AGENDA_DAYS, ((Agenda) Parser.parse("agenda")).getDays());
+        assertEquals(1, ((Agenda) Parser.parse("agenda 1")).getDays());
+        assertThrows(ShinchanException.class, () -> Parser.parse("agenda 0"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("agenda 8"));
+    }
+
+    @Test
+    public void parse_conflicts_readsOptionalRange() throws ShinchanException {
+        Conflicts all = (Conflicts) Parser.parse("conflicts");
+        assertEquals(null, all.getFrom());
+        Conflicts range = (Conflicts) Parser.parse("conflicts 2026-03-01  2026-03-31");
+        assertEquals(LocalDate.of(2026, 3, 1), range.getFrom());
+        assertEquals(LocalDate.of(2026, 3, 31), range.getTo());
+        assertThrows(ShinchanException.class, () -> Parser.parse("conflicts 2026-03-01"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("conflicts 2026-03-31 2026-03-01"));
+    }
+
+    @Test
+    public void parse_free_readsRangeAndLength() throws ShinchanException {
+        Free day = (Free) Parser.parse("free 2026-03-02");
+        assertEquals(day.getFrom(), day.getTo());
+        assertEquals(Free.DEFAULT_MIN_LENGTH, day.getMinLength());
+
+        Free range = (Free) Parser.parse("free 2026-03-02 2026-03-06 1h30m");
+        assertEquals(LocalDate.of(2026, 3, 6), range.getTo());
+        assertEquals(Duration.ofMinutes(90), range.getMinLength());
+        assertEquals(Duration.ofMinutes(45), ((Free) Parser.parse("free 2026-03-02 45")).getMinLength());
+
+        assertThrows(ShinchanException.class, () -> Parser.parse("free"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("free 2026-03-02 h"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("free 2026-03-02 1h extra"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("free 2026-03-02 2026-03-01"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("free 2026-03-01 2026-04-01"));
+    }
+
+    @Test
+    public void parse_use_readsLowercaseName() throws ShinchanException {
+        assertEquals("work", ((Use) Parser.parse("use Work")).getWorkspace());
+        assertThrows(ShinchanException.class, () -> Parser.parse("use"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("use bad/name"));
+    }
+
+    @Test
+    public void parse_importIcs_readsFilePath() throws ShinchanException {
+        assertEquals("my calendar.ics", ((ImportCalendar) Parser.parse("import-ics my calendar.ics")).getFilePath());
+        assertInstanceOf(Import.class, Parser.parse("import tasks.csv"));
+        assertThrows(ShinchanException.class, () -> Parser.parse("import-ics"));
+    }
 }
@@ -0,0 +1,145 @@
+package shinchan.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.TaskList;
+import shinchan.search.TaskFilter;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link QueryPlanner} and {@link QueryPlan}.
+ */
+public class QueryPlannerTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    public void plan_rareWord_readsTextIndex() {
+        TaskList tasks = sampleList(1000);
+        Condition query = new Condition.And(keyword("audit"), attribute(TaskFilter.Field.DONE, "false"));
+
+        QueryPlan plan = tasks.planQuery(query);
+
+        assertEquals(QueryPlan.Kind.TEXT, plan.getAccessPath().getKind());
+        assertMatchesScan(tasks, query, plan);
+        assertTrue(plan.describe().contains("Then: intersect with bitmap index on done:false"));
+    }
+
+    @Test
+    public void plan_narrowDateRange_readsDateIndex() {
+        TaskList tasks = sampleList(1000);
+        Condition query = new Condition.And(keyword("task"), new Condition.DateRange(DAY, DAY));
+
+        QueryPlan plan = tasks.planQuery(query);
+
+        assertEquals(QueryPlan.Kind.DATE, plan.getAccessPath().getKind());
+        assertMatchesScan(tasks, query, plan);
+    }
+
+    @Test
+    public void plan_selectiveTag_readsBitmapIndex() {
+        TaskList tasks = sampleList(1000);
+        Condition query = new Condition.And(attribute(TaskFilter.Field.TAG, "rare"),
+                new Condition.Or(keyword("task"), new Condition.DateRange(DAY, DAY.plusDays(7))));
+
+        QueryPlan plan = tasks.planQuery(query);
+
+        assertEquals(QueryPlan.Kind.BITMAP, plan.getAccessPath().getKind());
+        assertMatchesScan(tasks, query, plan);
+    }
+
+    @Test
+    public void plan_unselectiveQuery_scans() {
+        TaskList tasks = sampleList(1000);
+        Condition query = new Condition.Or(keyword("task"), new Condition.Not(keyword("audit")));
+
+        QueryPlan plan = tasks.planQuery(query);
+
+        assertEquals(QueryPlan.Kind.SCAN, plan.getAccessPath().getKind());
+        assertMatchesScan(tasks, query, plan);
+        assertEquals("Access path: full scan (estimated 1000 of 1000 tasks, cost 1000)", plan.describe().get(1));
+    }
+
+    @Test
+    public void execute_matchesScanForMixedQueries() {
+        TaskList tasks = sampleList(300);
+        tasks.remove(0);
+        tasks.setTags(5, List.of("rare"));
+        List<Condition> queries = List.of(
+                new Condition.And(new Condition.DateRange(DAY.minusDays(3), DAY.plusDays(3)),
+                        attribute(TaskFilter.Field.TYPE, "E", "R")),
+                new Condition.And(new Condition.Not(attribute(TaskFilter.Field.TAG, "rare")), keyword("audit")),
+                new Condition.And(new Condition.DateRange(Condition.DateRange.EARLIEST, DAY.minusDays(1)),
+                        new Condition.Not(keyword("audit"))),
+                new Condition.Or(attribute(TaskFilter.Field.DONE, "true"), attribute(TaskFilter.Field.TAG, "rare")));
+        for (Condition query : queries) {
+            assertMatchesScan(tasks, query, tasks.planQuery(query));
+        }
+    }
+
+    /**
+     * Returns tasks of every type: one in 50 mentions an audit, one in 100 is tagged rare,
+     * and deadlines and events are spread over 100 days.
+     */
+    private static TaskList sampleList(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = (i % 50 == 0 ? "audit " : "task ") + i;
+            LocalDateTime time = DAY.plusDays(i % 100 - 50).atTime(9, 0);
+            Task task;
+            switch (i % 4) {
+            case 0:
+                task = new Todos(description);
+                break;
+            case 1:
+                task = new Deadlines(description, time);
+                break;
+            case 2:
+                task = new Events(description, time, time.plusDays(i % 3));
+                break;
+            default:
+                task = new Recurring(new Deadlines(description, time),
+                        new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, 1, null));
+                break;
+            }
+            if (i % 100 == 7) {
+                task.setTags(List.of("rare"));
+            }
+            if (i % 3 == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return new TaskList(tasks);
+    }
+
+    private static void assertMatchesScan(TaskList tasks, Condition query, QueryPlan plan) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (query.matches(tasks.get(i))) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, plan.execute());
+    }
+
+    private static Condition keyword(String word) {
+        return new Condition.Keyword(word);
+    }
+
+    private static Condition attribute(TaskFilter.Field field, String... values) {
+        return new Condition.Attribute(new TaskFilter.Term(field, List.of(values), false));
+    }
+}
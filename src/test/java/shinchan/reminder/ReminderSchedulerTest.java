@@ -0,0 +1,101 @@
+package shinchan.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.TaskList;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link ReminderScheduler}.
+ */
+public class ReminderSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    @Test
+    public void advance_firesLeadTimeBeforeDeadline() {
+        TaskList tasks = new TaskList();
+        ReminderScheduler reminders = new ReminderScheduler(Duration.ofMinutes(15), NOW);
+        reminders.attach(tasks);
+
+        tasks.add(new Todos("read"));
+        tasks.add(new Deadlines("submit", NOW.plusHours(1)));
+        tasks.add(new Deadlines("overdue", NOW.minusHours(1)));
+
+        assertEquals(1, reminders.size());
+        assertTrue(reminders.advance(NOW.plusMinutes(44)).isEmpty());
+
+        List<String> fired = reminders.advance(NOW.plusMinutes(45));
+        assertEquals(1, fired.size());
+        assertTrue(fired.get(0).contains("submit"));
+        assertEquals(0, reminders.size());
+    }
+
+    @Test
+    public void markAndDelete_cancelReminders() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Deadlines("submit", NOW.plusHours(1)));
+        tasks.add(new Events("meeting", NOW.plusHours(2), NOW.plusHours(3)));
+
+        ReminderScheduler reminders = new ReminderScheduler(Duration.ofMinutes(15), NOW);
+        reminders.attach(tasks);
+        assertEquals(2, reminders.size());
+
+        tasks.markAsDone(0);
+        tasks.remove(1);
+        assertEquals(0, reminders.size());
+
+        tasks.markAsUndone(0);
+        assertEquals(1, reminders.size());
+    }
+
+    @Test
+    public void recurring_schedulesNextPendingOccurrenceAfterFiring() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Recurring(new Deadlines("standup", NOW.plusMinutes(30)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null)));
+
+        ReminderScheduler reminders = new ReminderScheduler(Duration.ofMinutes(15), NOW);
+        reminders.attach(tasks);
+
+        assertEquals(1, reminders.advance(NOW.plusMinutes(15)).size());
+        assertEquals(1, reminders.size());
+
+        // Completing tomorrow's occurrence moves the reminder to the day after
+        tasks.markOccurrence(0, 1, true);
+        assertTrue(reminders.advance(NOW.plusDays(1).plusMinutes(15)).isEmpty());
+        assertEquals(1, reminders.advance(NOW.plusDays(2).plusMinutes(15)).size());
+    }
+
+    @Test
+    public void recurring_readsOccurrencesAsOfLastNotification() {
+        Recurring standup = new Recurring(new Deadlines("standup", NOW.plusHours(1)),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+        TaskList tasks = new TaskList();
+        tasks.add(standup);
+        ReminderScheduler reminders = new ReminderScheduler(Duration.ofMinutes(15), NOW);
+        reminders.attach(tasks);
+
+        // A change the list was not told about is not seen by the scheduler
+        standup.setOccurrenceDone(0, true);
+        assertEquals(1, reminders.advance(NOW.plusMinutes(45)).size());
+
+        tasks.markOccurrence(0, 1, true);
+        tasks.setTags(0, List.of("work"));
+        assertTrue(reminders.advance(NOW.plusDays(1).plusMinutes(45)).isEmpty());
+        List<String> fired = reminders.advance(NOW.plusDays(2).plusMinutes(45));
+        assertEquals(1, fired.size());
+        assertTrue(fired.get(0).contains("standup"));
+    }
+}
@@ -0,0 +1,80 @@
+package shinchan.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TimingWheel}.
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void advanceTo_expiresValuesAtTheirDeadlines() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000);
+        wheel.schedule("far", 1000 + 70_000);
+        wheel.schedule("near", 1005);
+        wheel.schedule("middle", 1000 + 300);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(1004, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(1000 + 300, expired::add);
+        assertEquals(List.of("near", "middle"), expired);
+
+        wheel.advanceTo(1000 + 69_999, expired::add);
+        assertEquals(2, expired.size());
+        wheel.advanceTo(1000 + 70_000, expired::add);
+        assertEquals(List.of("near", "middle", "far"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancel_preventsExpiry() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 10);
+
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(20, expired::add);
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public void schedule_pastDeadline_expiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(500);
+        wheel.schedule("late", 100);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(501, expired::add);
+
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    public void advanceTo_randomDeadlines_expireInOrder() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 1 + random.nextInt(1_000_000);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advanceTo(1_000_000, deadline -> {
+            assertEquals(deadline.longValue(), wheel.getCurrentTick());
+            expired.add(deadline);
+        });
+
+        assertEquals(2000, expired.size());
+    }
+}
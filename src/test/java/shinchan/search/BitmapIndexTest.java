@@ -0,0 +1,106 @@
+package shinchan.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.TaskList;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link BitmapIndex} through {@link TaskList#filter(TaskFilter)}.
+ */
+public class BitmapIndexTest {
+    private static final LocalDateTime DUE = LocalDateTime.of(2026, 3, 2, 18, 0);
+
+    @Test
+    public void filter_combinesTermsWithAndOrAndNot() {
+        TaskList tasks = new TaskList(List.of(
+                tagged(new Todos("buy milk"), "home"),
+                tagged(new Deadlines("report", DUE), "work"),
+                tagged(new Deadlines("slides", DUE), "work", "urgent"),
+                new Events("party", DUE, DUE.plusHours(2)),
+                tagged(new Recurring(new Deadlines("timesheet", DUE),
+                        new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null)), "work")));
+        tasks.markAsDone(1);
+
+        assertEquals(List.of(2), tasks.filter(filter(term(TaskFilter.Field.TYPE, "D"),
+                term(TaskFilter.Field.DONE, "false"), term(TaskFilter.Field.TAG, "work"))));
+        assertEquals(List.of(0, 3), tasks.filter(filter(term(TaskFilter.Field.TYPE, "T", "E"))));
+        assertEquals(List.of(1, 4), tasks.filter(filter(term(TaskFilter.Field.TAG, "work"),
+                new TaskFilter.Term(TaskFilter.Field.TAG, List.of("urgent"), true))));
+        assertEquals(List.of(1), tasks.filter(filter(term(TaskFilter.Field.DONE, "true"))));
+        assertEquals(List.of(0, 1, 2, 3, 4), tasks.filter(filter()));
+        assertEquals(List.of(), tasks.filter(filter(term(TaskFilter.Field.TAG, "missing"))));
+    }
+
+    @Test
+    public void filter_followsListChanges() {
+        TaskList tasks = new TaskList(List.of(new Todos("a"), tagged(new Todos("b"), "x"), new Todos("c")));
+        TaskFilter taggedX = filter(term(TaskFilter.Field.TAG, "x"));
+        TaskFilter notDone = filter(term(TaskFilter.Field.DONE, "false"));
+        assertEquals(List.of(1), tasks.filter(taggedX));
+
+        tasks.remove(0);
+        tasks.add(tagged(new Todos("d"), "x"));
+        tasks.setTags(1, List.of("x", "y"));
+        tasks.setTags(0, List.of());
+        tasks.markAsDone(2);
+
+        assertEquals(List.of(1, 2), tasks.filter(taggedX));
+        assertEquals(List.of(0, 1), tasks.filter(notDone));
+        assertEquals(List.of(1), tasks.filter(filter(term(TaskFilter.Field.TAG, "y"))));
+    }
+
+    @Test
+    public void filter_manyRemovals_keepsPositionsInListOrder() {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            initial.add(i % 2 == 0 ? tagged(new Todos("task " + i), "even") : new Todos("task " + i));
+        }
+        TaskList tasks = new TaskList(initial);
+        TaskFilter even = filter(term(TaskFilter.Field.TAG, "even"));
+        tasks.filter(even);
+
+        // Removing most tasks makes the index renumber its ids
+        for (int i = 0; i < 9_000; i++) {
+            tasks.remove(0);
+        }
+        tasks.add(tagged(new Todos("last"), "even"));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).hasTag("even")) {
+                expected.add(i);
+            }
+        }
+        assertEquals(501, expected.size());
+        assertEquals(expected, tasks.filter(even));
+        assertEquals(List.of(1000), tasks.filter(filter(term(TaskFilter.Field.TAG, "even"),
+                new TaskFilter.Term(TaskFilter.Field.TYPE, List.of("D"), true),
+                new TaskFilter.Term(TaskFilter.Field.DONE, List.of("false"), false)))
+                .subList(500, 501));
+    }
+
+    private static Task tagged(Task task, String... tags) {
+        task.setTags(List.of(tags));
+        return task;
+    }
+
+    private static TaskFilter.Term term(TaskFilter.Field field, String... values) {
+        return new TaskFilter.Term(field, List.of(values), false);
+    }
+
+    private static TaskFilter filter(TaskFilter.Term... terms) {
+        return new TaskFilter(List.of(terms));
+    }
+}
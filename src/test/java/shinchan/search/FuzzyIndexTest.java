@@ -0,0 +1,68 @@
+package shinchan.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link FuzzyIndex} and {@link BkTree}.
+ */
+public class FuzzyIndexTest {
+
+    @Test
+    public void distance_countsEdits() {
+        assertEquals(0, BkTree.distance("meeting", "meeting"));
+        assertEquals(1, BkTree.distance("meetng", "meeting"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "book"));
+    }
+
+    @Test
+    public void search_returnsOnlyWordsWithinDistance() {
+        BkTree tree = new BkTree();
+        for (String word : List.of("book", "books", "boo", "cook", "cake", "read")) {
+            tree.add(word);
+        }
+        assertEquals(6, tree.size());
+
+        List<String> matches = new ArrayList<>();
+        tree.search("bok", 1, (word, distance) -> matches.add(word));
+
+        matches.sort(null);
+        assertEquals(List.of("boo", "book"), matches);
+    }
+
+    @Test
+    public void find_typo_ranksByDistanceThenInsertionOrder() {
+        Task meeting = new Todos("team meeting");
+        Task meetings = new Todos("plan meetings");
+        Task meeting2 = new Todos("Meeting notes");
+        FuzzyIndex index = new FuzzyIndex(List.of(meeting, meetings, new Todos("buy milk"), meeting2));
+
+        assertEquals(List.of(meeting, meeting2, meetings), index.find("meetng", FuzzyIndex.AUTO));
+        assertEquals(List.of(meeting, meeting2), index.find("meetng", 1));
+        assertEquals(List.of(meeting), index.find("meetng tean", FuzzyIndex.AUTO));
+    }
+
+    @Test
+    public void taskRemoved_dropsTaskFromResults() {
+        Task milk = new Todos("buy milk");
+        Task silk = new Todos("buy silk");
+        FuzzyIndex index = new FuzzyIndex(List.of(milk, silk));
+
+        index.taskRemoved(0, milk);
+        index.taskRemoved(0, silk);
+        assertTrue(index.find("milk", 1).isEmpty());
+
+        Task newMilk = new Todos("milk again");
+        index.taskAdded(0, newMilk);
+        assertEquals(List.of(newMilk), index.find("mik", 1));
+    }
+}
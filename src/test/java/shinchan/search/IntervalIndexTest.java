@@ -0,0 +1,63 @@
+package shinchan.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.TaskList;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.Task;
+
+/**
+ * Tests for {@link IntervalIndex}.
+ */
+public class IntervalIndexTest {
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Test
+    public void findOverlapping_excludesEventsThatOnlyTouch() {
+        Events first = new Events("first", NINE, NINE.plusHours(1));
+        Events second = new Events("second", NINE.plusHours(1), NINE.plusHours(2));
+        Events instant = new Events("instant", NINE.plusMinutes(90), NINE.plusMinutes(90));
+        IntervalIndex index = new IntervalIndex(List.of(first, new Deadlines("d", NINE), second, instant));
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(first), index.findOverlapping(NINE.minusHours(1), NINE.plusHours(1)));
+        assertEquals(List.of(second, instant), index.findOverlapping(NINE.plusHours(1), NINE.plusHours(3)));
+        assertEquals(List.of(first, second), index.findOverlapping(NINE.plusMinutes(30), NINE.plusMinutes(75)));
+    }
+
+    @Test
+    public void findOverlapping_matchesScanAfterRandomChanges() {
+        Random random = new Random(47);
+        TaskList tasks = new TaskList();
+        IntervalIndex index = new IntervalIndex(tasks.asUnmodifiableList());
+        tasks.addListener(index);
+        for (int step = 0; step < 3000; step++) {
+            if (random.nextInt(3) > 0 || tasks.size() == 0) {
+                LocalDateTime start = NINE.plusMinutes(15L * random.nextInt(2000));
+                tasks.add(new Events("e" + step, start, start.plusMinutes(15L * random.nextInt(20))));
+            } else {
+                tasks.remove(random.nextInt(tasks.size()));
+            }
+
+            LocalDateTime from = NINE.plusMinutes(15L * random.nextInt(2000));
+            LocalDateTime to = from.plusMinutes(15L * random.nextInt(20));
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks.asUnmodifiableList()) {
+                Events event = (Events) task;
+                if (event.getStartDateTime().isBefore(to) && event.getEndDateTime().isAfter(from)) {
+                    expected.add(event);
+                }
+            }
+            expected.sort((a, b) -> ((Events) a).getStartDateTime().compareTo(((Events) b).getStartDateTime()));
+            assertEquals(expected, index.findOverlapping(from, to));
+        }
+    }
+}
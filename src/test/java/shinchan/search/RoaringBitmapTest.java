@@ -0,0 +1,127 @@
+package shinchan.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RoaringBitmap}, checked against {@link BitSet}.
+ */
+public class RoaringBitmapTest {
+
+    @Test
+    public void addAndRemove_sparseAndDenseChunks_matchBitSet() {
+        Random random = new Random(7);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+
+        // Dense values in the first chunk force a bitmap container, sparse ones elsewhere stay arrays
+        for (int i = 0; i < 20_000; i++) {
+            int value = i % 3 == 0 ? random.nextInt(300_000) : random.nextInt(10_000);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        for (int i = 0; i < 15_000; i++) {
+            int value = random.nextInt(10_000);
+            bitmap.remove(value);
+            expected.clear(value);
+        }
+
+        assertEquals(expected.cardinality(), bitmap.cardinality());
+        assertEquals(toList(expected), toList(bitmap));
+        for (int value = 0; value < 300_000; value += 997) {
+            assertEquals(expected.get(value), bitmap.contains(value));
+        }
+    }
+
+    @Test
+    public void rank_countsValuesUpToAndIncluding() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+        for (int value = 0; value < 200_000; value += 3) {
+            bitmap.add(value);
+            expected.set(value);
+        }
+
+        for (int value : new int[] {0, 1, 3, 65_535, 65_536, 65_537, 131_071, 199_998, 250_000}) {
+            assertEquals(expected.get(0, value + 1).cardinality(), bitmap.rank(value));
+        }
+    }
+
+    @Test
+    public void setOperations_mixedContainers_matchBitSet() {
+        Random random = new Random(11);
+        RoaringBitmap dense = new RoaringBitmap();
+        RoaringBitmap sparse = new RoaringBitmap();
+        BitSet denseBits = new BitSet();
+        BitSet sparseBits = new BitSet();
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(140_000);
+            dense.add(value);
+            denseBits.set(value);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(200_000);
+            sparse.add(value);
+            sparseBits.set(value);
+        }
+
+        assertEquals(toList(and(denseBits, sparseBits)), toList(dense.and(sparse)));
+        assertEquals(toList(and(denseBits, denseBits)), toList(dense.and(dense)));
+        assertEquals(toList(or(denseBits, sparseBits)), toList(sparse.or(dense)));
+        assertEquals(toList(andNot(denseBits, sparseBits)), toList(dense.andNot(sparse)));
+        assertEquals(toList(andNot(sparseBits, denseBits)), toList(sparse.andNot(dense)));
+        assertTrue(dense.andNot(dense).isEmpty());
+        // Operands are left unchanged
+        assertEquals(toList(denseBits), toList(dense));
+    }
+
+    @Test
+    public void remove_lastValueOfChunk_dropsChunk() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(70_000);
+        bitmap.remove(70_000);
+        bitmap.remove(5);
+
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(70_000));
+        assertEquals(0, bitmap.rank(100_000));
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static BitSet or(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    private static BitSet andNot(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.andNot(b);
+        return result;
+    }
+
+    private static List<Integer> toList(BitSet bits) {
+        List<Integer> values = new ArrayList<>();
+        bits.stream().forEach(values::add);
+        return values;
+    }
+
+    private static List<Integer> toList(RoaringBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,69 @@
+package shinchan.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link ArchiveStorage}.
+ */
+public class ArchiveStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void find_missingArchive_returnsEmptyList() throws ShinchanException {
+        ArchiveStorage archive = new ArchiveStorage(tempDir.resolve("archive.gz").toString());
+
+        assertTrue(archive.find("book").isEmpty());
+    }
+
+    @Test
+    public void appendTwice_findSearchesAllAppendedTasks() throws ShinchanException {
+        ArchiveStorage archive = new ArchiveStorage(tempDir.resolve("archive.gz").toString());
+
+        Task first = new Todos("read book");
+        first.markAsDone();
+        Task second = new Todos("return book");
+        second.markAsDone();
+
+        archive.append(List.of(first, new Todos("buy milk")));
+        archive.append(List.of(second));
+
+        List<Task> matches = archive.find("BOOK");
+
+        assertEquals(2, matches.size());
+        assertEquals(first.toString(), matches.get(0).toString());
+        assertEquals(second.toString(), matches.get(1).toString());
+    }
+
+    @Test
+    public void find_truncatedLastMember_returnsEarlierTasks() throws Exception {
+        Path file = tempDir.resolve("archive.gz");
+        ArchiveStorage archive = new ArchiveStorage(file.toString());
+
+        archive.append(List.of(new Todos("read book")));
+        long firstMemberSize = Files.size(file);
+        archive.append(List.of(new Todos("return book")));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(firstMemberSize + 12);
+        }
+
+        List<Task> matches = archive.find("book");
+
+        assertEquals(1, matches.size());
+        assertEquals("read book", matches.get(0).getDescription());
+    }
+}
@@ -0,0 +1,133 @@
+package shinchan.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link IcsImporter}.
+ */
+public class IcsImporterTest {
+    private static final ZoneId SINGAPORE = ZoneId.of("Asia/Singapore");
+
+    @TempDir
+    Path tempDir;
+
+    private List<Task> importLines(String... lines) throws IOException, ShinchanException {
+        Path path = tempDir.resolve("calendar.ics");
+        Files.writeString(path, String.join("\r\n", lines) + "\r\n", StandardCharsets.UTF_8);
+        List<Task> tasks = new ArrayList<>();
+        assertEquals(new IcsImporter(path.toString(), SINGAPORE).importTasks(tasks::add), tasks.size());
+        return tasks;
+    }
+
+    @Test
+    public void importTasks_eventWithFoldedSummaryAndAlarm_readsEvent() throws Exception {
+        List<Task> tasks = importLines("BEGIN:VCALENDAR", "BEGIN:VEVENT",
+                "SUMMARY:Design review\\, part one",
+                "  and two",
+                "DTSTART;TZID=Europe/London:20260302T090000",
+                "DTEND:20260302T100000Z",
+                "BEGIN:VALARM", "SUMMARY:Ignored", "END:VALARM",
+                "END:VEVENT", "END:VCALENDAR");
+
+        assertEquals(1, tasks.size());
+        assertInstanceOf(Events.class, tasks.get(0));
+        Events event = (Events) tasks.get(0);
+        assertEquals("Design review, part one and two", event.getDescription());
+        assertEquals(LocalDateTime.of(2026, 3, 2, 17, 0), event.getStartDateTime());
+        assertEquals(LocalDateTime.of(2026, 3, 2, 18, 0), event.getEndDateTime());
+    }
+
+    @Test
+    public void importTasks_allDayEventAndTodos_readsWholeDaysAndDueDates() throws Exception {
+        List<Task> tasks = importLines("BEGIN:VCALENDAR",
+                "BEGIN:VEVENT", "SUMMARY:Retreat", "DTSTART;VALUE=DATE:20260302", "DTEND;VALUE=DATE:20260304",
+                "END:VEVENT",
+                "BEGIN:VTODO", "SUMMARY:Report", "DUE;VALUE=DATE:20260305", "STATUS:COMPLETED", "END:VTODO",
+                "BEGIN:VTODO", "SUMMARY:Someday", "END:VTODO",
+                "BEGIN:VEVENT", "SUMMARY:Off", "STATUS:CANCELLED", "DTSTART:20260306T090000", "END:VEVENT",
+                "END:VCALENDAR");
+
+        assertEquals(3, tasks.size());
+        Events retreat = (Events) tasks.get(0);
+        assertEquals(LocalDateTime.of(2026, 3, 2, 0, 0), retreat.getStartDateTime());
+        assertEquals(LocalDateTime.of(2026, 3, 3, 23, 59), retreat.getEndDateTime());
+        Deadlines report = (Deadlines) tasks.get(1);
+        assertEquals(LocalDateTime.of(2026, 3, 5, 23, 59), report.getDueDateTime());
+        assertTrue(report.isDone());
+        assertInstanceOf(Todos.class, tasks.get(2));
+    }
+
+    @Test
+    public void importTasks_simpleRule_readsRecurringTask() throws Exception {
+        List<Task> tasks = importLines("BEGIN:VEVENT", "SUMMARY:Standup", "DTSTART:20260302T093000",
+                "DURATION:PT15M", "RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3", "END:VEVENT",
+                "BEGIN:VEVENT", "SUMMARY:Gym", "DTSTART:20260302T180000",
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,WE", "END:VEVENT");
+
+        assertInstanceOf(Recurring.class, tasks.get(0));
+        Recurring standup = (Recurring) tasks.get(0);
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, standup.getRule().getFrequency());
+        assertEquals(LocalDate.of(2026, 3, 16), standup.getRule().getUntil());
+        assertEquals(LocalDateTime.of(2026, 3, 2, 9, 45), ((Events) standup.getTemplate()).getEndDateTime());
+        assertInstanceOf(Events.class, tasks.get(1));
+    }
+
+    @Test
+    public void importTasks_completedRecurringTodo_marksFirstOccurrence() throws Exception {
+        List<Task> tasks = importLines("BEGIN:VTODO", "SUMMARY:Timesheet", "DUE:20260306T170000",
+                "RRULE:FREQ=WEEKLY", "STATUS:COMPLETED", "END:VTODO");
+
+        Recurring timesheet = (Recurring) tasks.get(0);
+        assertFalse(timesheet.isDone());
+        assertTrue(timesheet.isOccurrenceDone(0));
+        assertFalse(timesheet.isOccurrenceDone(1));
+    }
+
+    @Test
+    public void importTasks_invalidDate_throwsWithEntryNumber() throws Exception {
+        ShinchanException e = assertThrows(ShinchanException.class, () -> importLines(
+                "BEGIN:VEVENT", "SUMMARY:a", "DTSTART:20260302T090000", "END:VEVENT",
+                "BEGIN:VEVENT", "SUMMARY:b", "DTSTART:2026-03-02", "END:VEVENT"));
+        assertEquals("Entry 2 of the calendar file is invalid.", e.getMessage());
+        assertThrows(ShinchanException.class, () -> importLines("BEGIN:VEVENT", "SUMMARY:a", "END:VEVENT"));
+    }
+
+    @Test
+    public void getDuplicateKey_ignoresStatusButNotTimes() {
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        Task done = new Deadlines("report", nine);
+        done.markAsDone();
+
+        assertEquals(IcsImporter.getDuplicateKey(new Deadlines("report", nine)), IcsImporter.getDuplicateKey(done));
+        assertNotEquals(IcsImporter.getDuplicateKey(new Deadlines("report", nine)),
+                IcsImporter.getDuplicateKey(new Deadlines("report", nine.plusHours(1))));
+        assertNotEquals(IcsImporter.getDuplicateKey(new Deadlines("report", nine)),
+                IcsImporter.getDuplicateKey(new Events("report", nine, nine)));
+    }
+}
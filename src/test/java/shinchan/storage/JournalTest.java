@@ -0,0 +1,94 @@
+package shinchan.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link Journal}.
+ */
+public class JournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void appendThenReadFrom_returnsOnlyNewEntries() throws ShinchanException {
+        Journal journal = new Journal(tempDir.resolve("data.txt.journal").toString());
+        journal.open();
+        long start = journal.size();
+
+        Task task = new Todos("read book");
+        task.markAsDone(LocalDate.of(2026, 1, 10));
+        long end = journal.append(List.of(JournalEntry.add(0, task), JournalEntry.statusChanged(0, task)));
+
+        List<JournalEntry> entries = new ArrayList<>();
+        assertEquals(end, journal.readFrom(start, entries::add));
+
+        assertEquals(2, entries.size());
+        assertEquals(JournalEntry.Type.ADD, entries.get(0).getType());
+        assertEquals(task.toString(), entries.get(0).getTask().toString());
+        assertEquals(JournalEntry.Type.MARK, entries.get(1).getType());
+        assertEquals(LocalDate.of(2026, 1, 10), entries.get(1).getDoneDate());
+    }
+
+    @Test
+    public void appendAndRead_tagsChanged_roundTrip() throws ShinchanException {
+        Journal journal = new Journal(tempDir.resolve("data.txt.journal").toString());
+        journal.open();
+        long start = journal.size();
+
+        journal.append(List.of(JournalEntry.tagsChanged(2, List.of("work", "urgent")),
+                JournalEntry.tagsChanged(3, List.of())));
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.readFrom(start, entries::add);
+
+        assertEquals(JournalEntry.Type.TAGS, entries.get(0).getType());
+        assertEquals(2, entries.get(0).getIndex());
+        assertEquals(List.of("work", "urgent"), entries.get(0).getTags());
+        assertEquals(List.of(), entries.get(1).getTags());
+    }
+
+    @Test
+    public void readFrom_partialLine_isLeftForLater() throws ShinchanException, IOException {
+        Path path = tempDir.resolve("data.txt.journal");
+        Journal journal = new Journal(path.toString());
+        journal.open();
+        long start = journal.size();
+
+        Files.write(path, "R 0\nR 1".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        List<JournalEntry> entries = new ArrayList<>();
+        long end = journal.readFrom(start, entries::add);
+
+        assertEquals(1, entries.size());
+        assertEquals(start + 4, end);
+    }
+
+    @Test
+    public void reset_startsNewGeneration() throws ShinchanException {
+        Journal journal = new Journal(tempDir.resolve("data.txt.journal").toString());
+        long generation = journal.open();
+
+        journal.append(List.of(JournalEntry.remove(0)));
+
+        assertEquals(generation, journal.readGeneration());
+        assertNotEquals(generation, journal.reset());
+    }
+}
@@ -1,14 +1,26 @@
 package shinchan.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
 import shinchan.task.Task;
 import shinchan.task.Todos;
 
@@ -33,4 +45,181 @@ public class StorageTest {
         assertEquals(1, loaded.size());
         assertEquals(task.toString(), loaded.get(0).toString());
     }
+
+    @Test
+    public void saveAndLoad_completedTask_preservesDoneDate() throws ShinchanException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+
+        Task task = new Todos("read book");
+        task.markAsDone(LocalDate.of(2026, 1, 10));
+        storage.save(List.of(task));
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(LocalDate.of(2026, 1, 10), loaded.get(0).getDoneDate());
+    }
+
+    @Test
+    public void saveAndLoad_recurringTask_preservesRuleAndCompletedOccurrences() throws ShinchanException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+
+        Recurring task = new Recurring(new Deadlines("report", LocalDateTime.of(2026, 1, 9, 17, 0)),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, LocalDate.of(2026, 6, 30)));
+        for (int occurrence : new int[] {0, 1, 2, 5}) {
+            task.setOccurrenceDone(occurrence, true);
+        }
+        storage.save(List.of(task));
+
+        Recurring loaded = (Recurring) storage.load().get(0);
+
+        assertEquals(task.toString(), loaded.toString());
+        assertEquals(task.getCompletedOccurrences(), loaded.getCompletedOccurrences());
+    }
+
+    @Test
+    public void saveAndLoad_tags_arePreserved() throws ShinchanException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+
+        Task todo = new Todos("#not a tag");
+        todo.setTags(List.of("work", "home"));
+        Task done = new Todos("read book");
+        done.markAsDone(LocalDate.of(2026, 1, 10));
+        done.setTags(List.of("reading"));
+        Recurring recurring = new Recurring(new Deadlines("report", LocalDateTime.of(2026, 1, 9, 17, 0)),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null));
+        recurring.setTags(List.of("work"));
+        storage.save(List.of(todo, done, recurring));
+
+        List<Task> loaded = storage.load();
+
+        assertEquals("#not a tag", loaded.get(0).getDescription());
+        assertEquals(List.of("work", "home"), loaded.get(0).getTags());
+        assertEquals(LocalDate.of(2026, 1, 10), loaded.get(1).getDoneDate());
+        assertEquals(List.of("reading"), loaded.get(1).getTags());
+        assertEquals(List.of("work"), loaded.get(2).getTags());
+        assertEquals(List.of(), ((Recurring) loaded.get(2)).getTemplate().getTags());
+        assertEquals(recurring.toString(), loaded.get(2).toString());
+    }
+
+    @Test
+    public void saveAndLoad_descriptionWithSeparator_isPreserved() throws ShinchanException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+
+        Task task = new Deadlines("a | b \\ c\nd", LocalDateTime.of(2026, 1, 9, 17, 0));
+        storage.save(List.of(task));
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(task.getDescription(), loaded.get(0).getDescription());
+        assertEquals(task.toString(), loaded.get(0).toString());
+    }
+
+    @Test
+    public void load_tornRecordAfterSync_truncatesItAndKeepsEarlierTasks() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+        storage.save(List.of(new Todos("one"), new Todos("two")));
+        long savedSize = Files.size(file);
+
+        // A later save that was cut off part way through its next record
+        Files.writeString(file, "0badc0de T | 0 | thr", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(20, storage.getDiscardedBytes());
+        assertEquals(savedSize, Files.size(file));
+        assertEquals(2, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    public void load_checksumMismatchInLastRecord_truncatesIt() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+        storage.save(List.of(new Todos("one"), new Todos("two"), new Todos("three")));
+        Files.delete(tempDir.resolve("test.txt.sync"));
+
+        String text = Files.readString(file, StandardCharsets.UTF_8);
+        Files.writeString(file, text.replace("three", "threx"), StandardCharsets.UTF_8);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(text.lastIndexOf('\n', text.indexOf("three")) + 1, Files.size(file));
+    }
+
+    @Test
+    public void load_checksumMismatchBeforeIntactRecords_throwsAndKeepsFile() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+        storage.save(List.of(new Todos("one"), new Todos("two"), new Todos("three")));
+        Files.delete(tempDir.resolve("test.txt.sync"));
+
+        String text = Files.readString(file, StandardCharsets.UTF_8);
+        String edited = text.replace("two", "twx");
+        Files.writeString(file, edited, StandardCharsets.UTF_8);
+
+        assertThrows(ShinchanException.class, storage::load);
+        assertEquals(edited, Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void load_fileWithoutChecksums_isReadAsBefore() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Files.writeString(file, "T | 1 | read book | 2026-01-10\nD | 0 | report | 2026-01-09T17:00\n",
+                StandardCharsets.UTF_8);
+
+        List<Task> loaded = new Storage(file.toString()).load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(LocalDate.of(2026, 1, 10), loaded.get(0).getDoneDate());
+    }
+
+    @Test
+    public void preserveUnreadable_corruptFile_movesItAside() throws IOException {
+        Path file = tempDir.resolve("test.txt");
+        Files.writeString(file, "not a task\n", StandardCharsets.UTF_8);
+        Storage storage = new Storage(file.toString());
+
+        assertThrows(ShinchanException.class, storage::load);
+        String keptAs = storage.preserveUnreadable();
+
+        assertFalse(Files.exists(file));
+        assertTrue(Files.readString(Path.of(keptAs), StandardCharsets.UTF_8).startsWith("not a task"));
+    }
+
+    @Test
+    public void save_failedSnapshot_leavesPreviousFileInPlace() throws ShinchanException, IOException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+        storage.save(List.of(new Todos("kept")));
+
+        assertThrows(ShinchanException.class, () -> storage.save(List.of(new Todos("new"), new Task("plain"))));
+
+        assertEquals("kept", storage.load().get(0).getDescription());
+        assertFalse(Files.exists(tempDir.resolve("test.txt.tmp")));
+    }
+
+    @Test
+    public void saveAndLoad_largeAndNonAsciiRecords_roundTrip() throws ShinchanException {
+        Path file = tempDir.resolve("test.txt");
+        Storage storage = new Storage(file.toString());
+
+        List<Task> tasks = List.of(new Todos("x".repeat(100_000)), new Todos("\u8aad\u66f8 \u2615"),
+                new Deadlines("precise", LocalDateTime.of(2026, 1, 9, 17, 0, 30)));
+        storage.save(tasks);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+        assertEquals(LocalDateTime.of(2026, 1, 9, 17, 0, 30), ((Deadlines) loaded.get(2)).getDueDateTime());
+        assertEquals(0, storage.getDiscardedBytes());
+    }
 }
@@ -0,0 +1,60 @@
+package shinchan.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SyncCheckpoint}.
+ */
+public class SyncCheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_afterAppend_keepsSyncedPrefix() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Files.writeString(file, "x".repeat(10000), StandardCharsets.UTF_8);
+        SyncCheckpoint checkpoint = new SyncCheckpoint(file);
+        checkpoint.write(10000);
+
+        Files.writeString(file, "appended\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        assertEquals(10000, checkpoint.read());
+    }
+
+    @Test
+    public void read_prefixRewrittenWithSameSize_isRejected() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Files.writeString(file, "one\ntwo\n", StandardCharsets.UTF_8);
+        SyncCheckpoint checkpoint = new SyncCheckpoint(file);
+        checkpoint.write(8);
+        FileTime modified = Files.getLastModifiedTime(file);
+
+        Files.writeString(file, "one\ntwx\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, modified);
+
+        assertEquals(0, checkpoint.read());
+    }
+
+    @Test
+    public void read_fileShorterThanCheckpoint_isRejected() throws Exception {
+        Path file = tempDir.resolve("test.txt");
+        Files.writeString(file, "one\ntwo\n", StandardCharsets.UTF_8);
+        SyncCheckpoint checkpoint = new SyncCheckpoint(file);
+        checkpoint.write(8);
+
+        Files.writeString(file, "one\n", StandardCharsets.UTF_8);
+
+        assertEquals(0, checkpoint.read());
+    }
+}
@@ -0,0 +1,108 @@
+package shinchan.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import shinchan.exception.ShinchanException;
+import shinchan.task.Deadlines;
+import shinchan.task.Events;
+import shinchan.task.RecurrenceRule;
+import shinchan.task.Recurring;
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link TaskExporter} and {@link TaskImporter}.
+ */
+public class TaskTransferTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> sampleTasks() {
+        Task todo = new Todos("buy \"milk\", eggs");
+        todo.markAsDone(LocalDate.of(2026, 1, 10));
+        Task deadline = new Deadlines("line one\nline two | three", LocalDateTime.of(2026, 1, 9, 17, 0));
+        Task event = new Events("conf", LocalDateTime.of(2026, 2, 1, 9, 0), LocalDateTime.of(2026, 2, 1, 17, 0));
+        Recurring recurring = new Recurring(new Deadlines("report", LocalDateTime.of(2026, 1, 9, 17, 0)),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, LocalDate.of(2026, 6, 30)));
+        recurring.setOccurrenceDone(1, true);
+        return List.of(todo, deadline, event, recurring);
+    }
+
+    private List<Task> roundTrip(TransferFormat format, String fileName) throws ShinchanException {
+        String path = tempDir.resolve(fileName).toString();
+        List<Task> tasks = sampleTasks();
+        assertEquals(tasks.size(), new TaskExporter(path, format).export(tasks));
+
+        List<Task> imported = new ArrayList<>();
+        assertEquals(tasks.size(), new TaskImporter(path, format).importTasks(imported::add));
+        return imported;
+    }
+
+    private static void assertSameTasks(List<Task> expected, List<Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getDoneDate(), actual.get(i).getDoneDate());
+        }
+    }
+
+    @Test
+    public void exportAndImport_csv_roundTripsQuotesCommasAndLineBreaks() throws ShinchanException {
+        assertSameTasks(sampleTasks(), roundTrip(TransferFormat.CSV, "tasks.csv"));
+    }
+
+    @Test
+    public void exportAndImport_jsonLines_roundTripsAllTaskTypes() throws ShinchanException {
+        assertSameTasks(sampleTasks(), roundTrip(TransferFormat.JSONL, "tasks.jsonl"));
+    }
+
+    @Test
+    public void importTasks_csvWithReorderedHeader_mapsColumnsByName() throws Exception {
+        Path file = tempDir.resolve("other.csv");
+        Files.writeString(file, "description,type,start\n\"call, mum\",D,2026-03-01T10:00\n",
+                StandardCharsets.UTF_8);
+
+        List<Task> imported = new ArrayList<>();
+        new TaskImporter(file.toString(), TransferFormat.CSV).importTasks(imported::add);
+
+        assertEquals(1, imported.size());
+        assertEquals("call, mum", imported.get(0).getDescription());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 0), ((Deadlines) imported.get(0)).getDueDateTime());
+    }
+
+    @Test
+    public void importTasks_invalidRecord_reportsRecordNumber() throws IOException {
+        Path file = tempDir.resolve("bad.jsonl");
+        Files.writeString(file, "{\"type\":\"T\",\"description\":\"ok\"}\n{\"type\":\"D\",\"description\":\"x\"}\n",
+                StandardCharsets.UTF_8);
+
+        ShinchanException e = assertThrows(ShinchanException.class, () ->
+                new TaskImporter(file.toString(), TransferFormat.JSONL).importTasks(task -> { }));
+        assertEquals("Record 2 of the import file is invalid.", e.getMessage());
+    }
+
+    @Test
+    public void importTasks_csvRecordWithTooManyFields_reportsRecordNumber() throws IOException {
+        Path file = tempDir.resolve("wide.csv");
+        Files.writeString(file, "T,false,ok\nT,false,read book,,,,,,,extra\n", StandardCharsets.UTF_8);
+
+        ShinchanException e = assertThrows(ShinchanException.class, () ->
+                new TaskImporter(file.toString(), TransferFormat.CSV).importTasks(task -> { }));
+        assertEquals("Record 2 of the import file is invalid.", e.getMessage());
+    }
+}
@@ -0,0 +1,94 @@
+package shinchan.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Recurring} and {@link RecurrenceRule}.
+ */
+public class RecurringTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2026, 1, 5, 9, 30);
+
+    private static Recurring weeklyStandup(LocalDate until) {
+        return new Recurring(new Deadlines("standup", FIRST),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, until));
+    }
+
+    @Test
+    public void getFirstOnOrAfter_monthlyOnThe31st_clampsToShortMonths() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, 1, null);
+        LocalDateTime first = LocalDateTime.of(2026, 1, 31, 9, 0);
+
+        int occurrence = rule.getFirstOnOrAfter(first, LocalDate.of(2026, 2, 28));
+
+        assertEquals(1, occurrence);
+        assertEquals(LocalDateTime.of(2026, 2, 28, 9, 0), rule.getOccurrence(first, occurrence));
+    }
+
+    @Test
+    public void getOccurrencesBetween_returnsOnlyOccurrencesInRange() {
+        Recurring standup = weeklyStandup(null);
+
+        List<Task> occurrences = standup.getOccurrencesBetween(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 26));
+
+        assertEquals(3, occurrences.size());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 9, 30), ((Deadlines) occurrences.get(0)).getDueDateTime());
+        assertEquals(LocalDateTime.of(2026, 1, 26, 9, 30), ((Deadlines) occurrences.get(2)).getDueDateTime());
+    }
+
+    @Test
+    public void getOccurrencesBetween_multiDayEvent_includesOverlappingOccurrence() {
+        Recurring camp = new Recurring(new Events("camp", FIRST, FIRST.plusDays(2)),
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null));
+
+        List<Task> occurrences = camp.getOccurrencesBetween(LocalDate.of(2026, 1, 13), LocalDate.of(2026, 1, 13));
+
+        assertEquals(1, occurrences.size());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 9, 30), ((Events) occurrences.get(0)).getStartDateTime());
+        assertEquals(1, camp.findOccurrence(LocalDate.of(2026, 1, 14)));
+        assertEquals(-1, camp.findOccurrence(LocalDate.of(2026, 1, 15)));
+    }
+
+    @Test
+    public void until_stopsOccurrences() {
+        Recurring standup = weeklyStandup(LocalDate.of(2026, 1, 19));
+
+        assertEquals(3, standup.getOccurrencesBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)).size());
+        assertEquals(-1, standup.getNextPending(LocalDate.of(2026, 1, 20)));
+    }
+
+    @Test
+    public void markedOccurrences_areSkippedWhenPending() {
+        Recurring standup = weeklyStandup(null);
+        standup.setOccurrenceDone(0, true);
+        standup.setOccurrenceDone(1, true);
+
+        assertTrue(standup.getOccurrence(1).isDone());
+        assertEquals(2, standup.getNextPending(LocalDate.of(2026, 1, 1)));
+        assertEquals(1, standup.getLastCompleted());
+        assertFalse(standup.isDone());
+
+        Iterator<Task> pending = standup.getPendingFrom(LocalDate.of(2026, 1, 1));
+        assertEquals(LocalDateTime.of(2026, 1, 19, 9, 30), ((Deadlines) pending.next()).getDueDateTime());
+        assertEquals(LocalDateTime.of(2026, 1, 26, 9, 30), ((Deadlines) pending.next()).getDueDateTime());
+    }
+
+    @Test
+    public void toString_showsRuleAndCompletedCount() {
+        Recurring standup = new Recurring(new Deadlines("standup", FIRST),
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 2, LocalDate.of(2026, 12, 31)));
+        standup.setOccurrenceDone(0, true);
+
+        assertEquals("[R]" + new Deadlines("standup", FIRST) + " (every 2 days until Dec 31 2026, 1 done)",
+                standup.toString());
+    }
+}
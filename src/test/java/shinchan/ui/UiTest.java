@@ -0,0 +1,104 @@
+package shinchan.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import shinchan.task.Task;
+import shinchan.task.Todos;
+
+/**
+ * Tests for {@link Ui}.
+ */
+public class UiTest {
+
+    /**
+     * Records how many times output is written and flushed.
+     */
+    private static final class CountingStream extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int writes;
+        private int flushes;
+
+        @Override
+        public void write(int b) {
+            writes++;
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) {
+            writes++;
+            bytes.write(data, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    private static Ui createUi(OutputStream out) {
+        return new Ui(new ByteArrayInputStream(new byte[0]), new PrintStream(out, false, StandardCharsets.UTF_8));
+    }
+
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Todos("task " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void flush_smallResponse_writesOnce() {
+        CountingStream stream = new CountingStream();
+        Ui ui = createUi(stream);
+
+        ui.showTaskList(createTasks(3));
+        assertEquals(0, stream.bytes.size());
+
+        ui.flush();
+        String output = stream.bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("3. [T][ ] task 2"));
+        assertEquals(1, stream.writes);
+        assertEquals(1, stream.flushes);
+    }
+
+    @Test
+    public void showTaskList_hugeResponse_writesInChunks() {
+        CountingStream stream = new CountingStream();
+        Ui ui = createUi(stream);
+
+        ui.showTaskList(createTasks(20_000));
+        int writtenBeforeFlush = stream.bytes.size();
+        ui.flush();
+
+        String output = stream.bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(writtenBeforeFlush >= Ui.CHUNK_SIZE);
+        assertTrue(output.length() - writtenBeforeFlush < Ui.CHUNK_SIZE);
+        assertTrue(output.contains("20000. [T][ ] task 19999"));
+        assertEquals(1, stream.flushes);
+    }
+
+    @Test
+    public void capture_returnsOutputWithoutWriting() {
+        CountingStream stream = new CountingStream();
+        Ui ui = createUi(stream);
+
+        String captured = ui.capture(() -> ui.showTaskList(createTasks(20_000)));
+        ui.flush();
+
+        assertTrue(captured.contains("20000. [T][ ] task 19999"));
+        assertEquals(0, stream.bytes.size());
+    }
+}
@@ -6,8 +6,17 @@ if not exist ..\bin mkdir ..\bin
 REM delete output from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
 
+REM delete data saved by the previous run, so every run starts with an empty list
+if exist data rmdir /s /q data
+
+REM list the CLI sources (everything except the JavaFX GUI)
+if exist sources.txt del sources.txt
+for /r ..\src\main\java %%f in (*.java) do (
+    findstr /m /c:"javafx" "%%f" >nul || echo "%%f">>sources.txt
+)
+
 REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+javac -Xlint:none -d ..\bin @sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
@@ -15,7 +24,7 @@ IF ERRORLEVEL 1 (
 REM no error here, errorlevel == 0
 
 REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Shinchan < input.txt > ACTUAL.TXT
+java -classpath ..\bin -Dshinchan.dataFile=data\shinchan.txt shinchan.Shinchan < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
@@ -12,19 +12,21 @@ then
     rm ACTUAL.TXT
 fi
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# delete data saved by the previous run, so every run starts with an empty list
+rm -rf ./data
+
+# compile the CLI (everything except the JavaFX GUI) into the bin folder, terminates if error occurred
+if ! javac -Xlint:none -d ../bin $(grep -L 'javafx' $(find ../src/main/java -name '*.java'))
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Duke < input.txt > ACTUAL.TXT
+java -classpath ../bin -Dshinchan.dataFile=./data/shinchan.txt shinchan.Shinchan < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
-cp EXPECTED.TXT EXPECTED-UNIX.TXT
-dos2unix ACTUAL.TXT EXPECTED-UNIX.TXT
+tr -d '\r' < EXPECTED.TXT > EXPECTED-UNIX.TXT
 
 # compare the output to the expected output
 diff ACTUAL.TXT EXPECTED-UNIX.TXT